@@ -0,0 +1,340 @@
+package StudentManagmentSystem;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ograničeni (bounded) pool dugoživućih JDBC konekcija prema SQLite bazi.
+ * Repozitorijumi i dalje koriste obrazac {@code try (Connection c = DbConnection.getConnection())},
+ * ali poziv {@code close()} ne zatvara fizičku konekciju, nego je vraća u pool.
+ * PRAGMA postavke se izvršavaju samo jednom, u trenutku kreiranja fizičke konekcije.
+ */
+public class ConnectionPool {
+
+    private final String jdbcUrl;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final List<String> connectionPragmas;
+
+    /** Slobodne fizičke konekcije spremne za ponovnu upotrebu. */
+    private final BlockingQueue<PooledEntry> idle;
+
+    /** Dozvole koje ograničavaju broj istovremeno izdatih konekcija. */
+    private final Semaphore permits;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong discardedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Kreira novi pool. Fizičke konekcije se otvaraju lijeno, po potrebi.
+     *
+     * @param jdbcUrl JDBC URL baze podataka.
+     * @param maxSize Maksimalan broj fizičkih konekcija.
+     * @param borrowTimeoutMillis Koliko dugo se čeka na slobodnu konekciju prije greške.
+     * @param validationIntervalMillis Konekcija koja je bila neaktivna duže od ovog intervala
+     *                                 se provjerava prije ponovnog izdavanja.
+     * @param connectionPragmas PRAGMA naredbe koje se izvršavaju nad svakom novom konekcijom.
+     */
+    public ConnectionPool(String jdbcUrl, int maxSize, long borrowTimeoutMillis,
+                          long validationIntervalMillis, List<String> connectionPragmas) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Veličina pool-a mora biti najmanje 1.");
+        }
+        this.jdbcUrl = jdbcUrl;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.connectionPragmas = List.copyOf(connectionPragmas);
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Izdaje konekciju iz pool-a. Vraćeni objekat se mora zatvoriti (najbolje kroz
+     * try-with-resources) kako bi se fizička konekcija vratila u pool.
+     *
+     * @return Logička konekcija vezana za jednu fizičku konekciju iz pool-a.
+     * @throws SQLException Ako je pool zatvoren, ako istekne vrijeme čekanja ili konekcija ne uspije.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool konekcija je zatvoren.");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Isteklo vrijeme čekanja na slobodnu konekciju (" + borrowTimeoutMillis + " ms).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Čekanje na konekciju je prekinuto.", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - start);
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                entry = new PooledEntry(openPhysical());
+            }
+            borrowCount.incrementAndGet();
+            return wrap(entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Uzima slobodnu konekciju iz reda, preskačući one koje više nisu ispravne.
+     */
+    private PooledEntry takeValidIdle() {
+        PooledEntry entry;
+        while ((entry = idle.poll()) != null) {
+            boolean stale = System.currentTimeMillis() - entry.lastReturned > validationIntervalMillis;
+            if (!stale || isUsable(entry.physical)) {
+                return entry;
+            }
+            discard(entry.physical);
+        }
+        return null;
+    }
+
+    /**
+     * Otvara novu fizičku konekciju i primjenjuje PRAGMA postavke (samo jednom po konekciji).
+     */
+    private Connection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(jdbcUrl);
+        try (Statement stmt = physical.createStatement()) {
+            for (String pragma : connectionPragmas) {
+                stmt.execute(pragma);
+            }
+        } catch (SQLException e) {
+            physical.close();
+            throw e;
+        }
+        openConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return physical;
+    }
+
+    /**
+     * Vraća fizičku konekciju u pool nakon što je logička konekcija zatvorena.
+     * Nezavršene transakcije se poništavaju kako sljedeći korisnik ne bi naslijedio stanje.
+     */
+    private void release(PooledEntry entry) {
+        try {
+            Connection physical = entry.physical;
+            if (closed || physical.isClosed()) {
+                discard(physical);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            entry.lastReturned = System.currentTimeMillis();
+            if (!idle.offer(entry)) {
+                discard(physical);
+            }
+        } catch (SQLException e) {
+            discard(entry.physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isUsable(Connection physical) {
+        try {
+            return !physical.isClosed() && physical.isValid(1);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Connection physical) {
+        try {
+            physical.close();
+        } catch (SQLException ignored) {
+            // Konekcija se ionako odbacuje
+        }
+        openConnections.decrementAndGet();
+        discardedCount.incrementAndGet();
+    }
+
+    /**
+     * Zatvara sve slobodne konekcije i onemogućava dalje izdavanje.
+     * Konekcije koje su trenutno izdate biće zatvorene prilikom vraćanja.
+     */
+    public void shutdown() {
+        closed = true;
+        PooledEntry entry;
+        while ((entry = idle.poll()) != null) {
+            discard(entry.physical);
+        }
+    }
+
+    /**
+     * Vraća trenutni presjek metrika pool-a.
+     *
+     * @return {@link Stats} objekat sa brojačima.
+     */
+    public Stats getStats() {
+        long borrows = borrowCount.get();
+        return new Stats(
+                maxSize,
+                openConnections.get(),
+                idle.size(),
+                maxSize - permits.availablePermits(),
+                permits.getQueueLength(),
+                borrows,
+                createdCount.get(),
+                discardedCount.get(),
+                timeoutCount.get(),
+                borrows == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / borrows
+        );
+    }
+
+    /**
+     * Kreira dinamički proxy oko fizičke konekcije.
+     * Poziv {@code close()} vraća konekciju u pool, a svaki naredni poziv nad
+     * zatvorenom logičkom konekcijom baca {@link SQLException}.
+     */
+    private Connection wrap(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean logicallyClosed = false;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!logicallyClosed) {
+                            logicallyClosed = true;
+                            release(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return logicallyClosed || entry.physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + entry.physical + "]";
+                    default:
+                        if (logicallyClosed) {
+                            throw new SQLException("Konekcija je već vraćena u pool.");
+                        }
+                        try {
+                            return method.invoke(entry.physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    /**
+     * Fizička konekcija zajedno sa vremenom posljednjeg vraćanja u pool.
+     */
+    private static final class PooledEntry {
+        private final Connection physical;
+        private volatile long lastReturned = System.currentTimeMillis();
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+    }
+
+    /**
+     * Nepromjenjiv presjek metrika pool-a u jednom trenutku.
+     */
+    public static final class Stats {
+        private final int maxSize;
+        private final int openConnections;
+        private final int idleConnections;
+        private final int activeConnections;
+        private final int waitingThreads;
+        private final long borrowCount;
+        private final long createdCount;
+        private final long discardedCount;
+        private final long timeoutCount;
+        private final double averageWaitMillis;
+
+        private Stats(int maxSize, int openConnections, int idleConnections, int activeConnections,
+                      int waitingThreads, long borrowCount, long createdCount, long discardedCount,
+                      long timeoutCount, double averageWaitMillis) {
+            this.maxSize = maxSize;
+            this.openConnections = openConnections;
+            this.idleConnections = idleConnections;
+            this.activeConnections = activeConnections;
+            this.waitingThreads = waitingThreads;
+            this.borrowCount = borrowCount;
+            this.createdCount = createdCount;
+            this.discardedCount = discardedCount;
+            this.timeoutCount = timeoutCount;
+            this.averageWaitMillis = averageWaitMillis;
+        }
+
+        /** @return Maksimalan broj fizičkih konekcija. */
+        public int getMaxSize() { return maxSize; }
+
+        /** @return Broj trenutno otvorenih fizičkih konekcija. */
+        public int getOpenConnections() { return openConnections; }
+
+        /** @return Broj konekcija koje čekaju u pool-u. */
+        public int getIdleConnections() { return idleConnections; }
+
+        /** @return Broj trenutno izdatih konekcija. */
+        public int getActiveConnections() { return activeConnections; }
+
+        /** @return Broj niti koje čekaju na slobodnu konekciju. */
+        public int getWaitingThreads() { return waitingThreads; }
+
+        /** @return Ukupan broj izdavanja konekcija od pokretanja. */
+        public long getBorrowCount() { return borrowCount; }
+
+        /** @return Ukupan broj otvorenih fizičkih konekcija od pokretanja. */
+        public long getCreatedCount() { return createdCount; }
+
+        /** @return Broj odbačenih (neispravnih ili viška) konekcija. */
+        public long getDiscardedCount() { return discardedCount; }
+
+        /** @return Broj neuspjelih izdavanja zbog isteka vremena čekanja. */
+        public long getTimeoutCount() { return timeoutCount; }
+
+        /** @return Prosječno vrijeme čekanja na konekciju u milisekundama. */
+        public double getAverageWaitMillis() { return averageWaitMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("Pool: otvoreno %d/%d | aktivno %d | slobodno %d | čeka %d | izdato %d | kreirano %d | odbačeno %d | timeout %d | prosj. čekanje %.3f ms",
+                    openConnections, maxSize, activeConnections, idleConnections, waitingThreads,
+                    borrowCount, createdCount, discardedCount, timeoutCount, averageWaitMillis);
+        }
+    }
+}
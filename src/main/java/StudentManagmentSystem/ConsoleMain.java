@@ -1,5 +1,6 @@
 package StudentManagmentSystem;
 
+import StudentManagmentSystem.events.EventBus;
 import StudentManagmentSystem.repository.implementations.*;
 import StudentManagmentSystem.repository.interfaces.*;
 import StudentManagmentSystem.services.*;
@@ -16,16 +17,19 @@ public class ConsoleMain {
         EnrollmentInterface enrollmentRepo = new EnrollmentRepository();
         ReferentInterface referentRepo = new ReferentRepository();
 
-        // 3. Servisi
-        StudentService studentService = new StudentService(studentRepo);
-        CourseService courseService = new CourseService(courseRepo);
+        // 3. Servisi (izmjene objavljuju na zajedničku magistralu događaja)
+        EventBus eventBus = new EventBus();
+        StudentService studentService = new StudentService(studentRepo, eventBus);
+        CourseService courseService = new CourseService(courseRepo, eventBus);
         EnrollmentService enrollmentService = new EnrollmentService(
-                (EnrollmentRepository) enrollmentRepo, studentService, courseService);
+                (EnrollmentRepository) enrollmentRepo, studentService, courseService, eventBus);
         ReferentService referentService = new ReferentService(referentRepo);
+        ImportService importService = new ImportService(studentService, courseService, enrollmentService);
+        ExportService exportService = new ExportService(studentRepo, courseRepo, enrollmentRepo);
 
         // 4. Pokretanje Konzole
         System.out.println("Sistem se pokrece u KONZOLNOM modu...");
-        ConsoleUI ui = new ConsoleUI(studentService, courseService, enrollmentService, referentService);
+        ConsoleUI ui = new ConsoleUI(studentService, courseService, enrollmentService, referentService, importService, exportService);
         ui.start();
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package StudentManagmentSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * "Performance profil" SQLite baze podataka.
+ * Objedinjuje PRAGMA postavke koje se primjenjuju pri pokretanju aplikacije:
+ * način vođenja žurnala (WAL), nivo sinhronizacije, memorijsko mapiranje fajla,
+ * veličinu keša stranica i lokaciju privremenih struktura.
+ *
+ * Svaka vrijednost se može promijeniti sistemskim svojstvom, npr.
+ * {@code -Dsms.db.journalMode=DELETE} ili {@code -Dsms.db.cacheSize=-64000}.
+ */
+public class DatabaseProfile {
+
+    private final String journalMode;
+    private final String synchronous;
+    private final long mmapSize;
+    private final int cacheSize;
+    private final String tempStore;
+    private final int busyTimeoutMillis;
+
+    /**
+     * Konstruktor sa eksplicitnim vrijednostima svih postavki.
+     *
+     * @param journalMode Način vođenja žurnala (npr. "WAL", "DELETE").
+     * @param synchronous Nivo sinhronizacije diska ("OFF", "NORMAL", "FULL", "EXTRA").
+     * @param mmapSize Maksimalan broj bajtova fajla koji se memorijski mapira (0 isključuje mapiranje).
+     * @param cacheSize Veličina keša stranica; negativna vrijednost je u KiB, pozitivna u broju stranica.
+     * @param tempStore Lokacija privremenih tabela i indeksa ("DEFAULT", "FILE", "MEMORY").
+     * @param busyTimeoutMillis Koliko dugo konekcija čeka na zaključanu bazu prije greške.
+     */
+    public DatabaseProfile(String journalMode, String synchronous, long mmapSize,
+                           int cacheSize, String tempStore, int busyTimeoutMillis) {
+        this.journalMode = requireKeyword(journalMode, "journalMode");
+        this.synchronous = requireKeyword(synchronous, "synchronous");
+        this.mmapSize = mmapSize;
+        this.cacheSize = cacheSize;
+        this.tempStore = requireKeyword(tempStore, "tempStore");
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    /**
+     * Kreira profil na osnovu sistemskih svojstava, uz podrazumijevane vrijednosti
+     * prilagođene istovremenom čitanju i upisu ocjena.
+     *
+     * @return Profil spreman za primjenu.
+     */
+    public static DatabaseProfile fromSystemProperties() {
+        return new DatabaseProfile(
+                System.getProperty("sms.db.journalMode", "WAL"),
+                System.getProperty("sms.db.synchronous", "NORMAL"),
+                Long.getLong("sms.db.mmapSize", 256L * 1024 * 1024),
+                Integer.getInteger("sms.db.cacheSize", -32_000),
+                System.getProperty("sms.db.tempStore", "MEMORY"),
+                Integer.getInteger("sms.db.busyTimeoutMs", 5_000)
+        );
+    }
+
+    /**
+     * PRAGMA naredbe koje važe samo za jednu konekciju i zato se izvršavaju nad svakom
+     * novom fizičkom konekcijom. {@code foreign_keys} je uvijek uključen.
+     *
+     * @return Lista SQL naredbi.
+     */
+    public List<String> connectionPragmas() {
+        List<String> pragmas = new ArrayList<>();
+        pragmas.add("PRAGMA foreign_keys = ON;");
+        pragmas.add("PRAGMA busy_timeout = " + busyTimeoutMillis + ";");
+        pragmas.add("PRAGMA synchronous = " + synchronous + ";");
+        pragmas.add("PRAGMA cache_size = " + cacheSize + ";");
+        pragmas.add("PRAGMA mmap_size = " + mmapSize + ";");
+        pragmas.add("PRAGMA temp_store = " + tempStore + ";");
+        return pragmas;
+    }
+
+    /**
+     * PRAGMA za način vođenja žurnala. Za razliku od ostalih postavki, WAL mod se trajno
+     * upisuje u fajl baze, pa je dovoljno izvršiti ga jednom pri pokretanju.
+     *
+     * @return SQL naredba za postavljanje žurnala.
+     */
+    public String journalModePragma() {
+        return "PRAGMA journal_mode = " + journalMode + ";";
+    }
+
+    /** @return Traženi način vođenja žurnala. */
+    public String getJournalMode() { return journalMode; }
+
+    /** @return Nivo sinhronizacije diska. */
+    public String getSynchronous() { return synchronous; }
+
+    /** @return Veličina memorijski mapiranog dijela fajla u bajtovima. */
+    public long getMmapSize() { return mmapSize; }
+
+    /** @return Veličina keša stranica. */
+    public int getCacheSize() { return cacheSize; }
+
+    /** @return Lokacija privremenih struktura. */
+    public String getTempStore() { return tempStore; }
+
+    /** @return Vrijeme čekanja na zaključanu bazu u milisekundama. */
+    public int getBusyTimeoutMillis() { return busyTimeoutMillis; }
+
+    /**
+     * Dozvoljava samo jednostavne ključne riječi kako se vrijednosti iz sistemskih
+     * svojstava ne bi mogle iskoristiti za ubacivanje proizvoljnog SQL-a.
+     */
+    private static String requireKeyword(String value, String name) {
+        if (value == null || !value.matches("[A-Za-z]+")) {
+            throw new IllegalArgumentException("Neispravna vrijednost za " + name + ": " + value);
+        }
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "journal_mode=" + journalMode + ", synchronous=" + synchronous +
+                ", mmap_size=" + mmapSize + ", cache_size=" + cacheSize +
+                ", temp_store=" + tempStore + ", busy_timeout=" + busyTimeoutMillis;
+    }
+}
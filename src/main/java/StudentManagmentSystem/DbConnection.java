@@ -1,110 +1,148 @@
 package StudentManagmentSystem;
 
+import StudentManagmentSystem.migrations.FtsIndexVerifier;
+import StudentManagmentSystem.migrations.MigrationRunner;
+import StudentManagmentSystem.migrations.QueryPlanVerifier;
+import StudentManagmentSystem.migrations.SchemaMigrations;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
 /**
  * Infrastrukturna klasa zadužena za upravljanje konekcijom sa SQLite bazom podataka.
- * Klasa implementira Singleton-like pristup dobavljanju konekcije i
- * sadrži logiku za inicijalno kreiranje šeme baze podataka (DDL skripte).
+ * Konekcije se izdaju iz ograničenog {@link ConnectionPool}-a koji se kreira pri prvom pozivu,
+ * a klasa pri pokretanju primjenjuje migracije šeme baze podataka ({@link SchemaMigrations}).
+ *
+ * Veličina i ponašanje pool-a mogu se podesiti sistemskim svojstvima:
+ * {@code sms.db.pool.size}, {@code sms.db.pool.timeoutMs} i {@code sms.db.pool.validationMs}.
+ * PRAGMA postavke same baze opisuje {@link DatabaseProfile}.
  */
 public class DbConnection {
 
     /** Putanja do SQLite fajla baze podataka unutar resursa projekta. */
     private static final String JDBC_URL = "jdbc:sqlite:resources/database.db";
 
+    private static final int DEFAULT_POOL_SIZE = 8;
+    private static final long DEFAULT_BORROW_TIMEOUT_MS = 10_000;
+    private static final long DEFAULT_VALIDATION_INTERVAL_MS = 30_000;
+
+    /** Performance profil čije se PRAGMA postavke primjenjuju na svaku novu konekciju. */
+    private static final DatabaseProfile PROFILE = DatabaseProfile.fromSystemProperties();
+
+    private static volatile ConnectionPool pool;
+
+    static {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError("SQLite JDBC drajver nije pronađen.");
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(DbConnection::shutdown, "db-pool-shutdown"));
+    }
+
     /**
-     * Uspostavlja konekciju sa bazom podataka.
-     * Prije uspostavljanja konekcije, provjerava dostupnost SQLite JDBC drajvera.
+     * Izdaje konekciju iz pool-a.
+     * Pozivalac je dužan zatvoriti konekciju, čime se ona vraća u pool na ponovnu upotrebu.
      * * @return {@link Connection} objekat spreman za SQL operacije.
-     * @throws SQLException Ukoliko drajver nije pronađen ili konekcija ne uspije.
+     * @throws SQLException Ukoliko nema slobodne konekcije u zadatom roku ili konekcija ne uspije.
      */
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("SQLite JDBC drajver nije pronađen.", e);
+        return getPool().borrow();
+    }
+
+    /**
+     * Vraća metrike pool-a konekcija (broj otvorenih, aktivnih, čekanja...).
+     *
+     * @return Presjek metrika u trenutku poziva.
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    /**
+     * Vraća performance profil koji se primjenjuje na bazu.
+     *
+     * @return Aktivni {@link DatabaseProfile}.
+     */
+    public static DatabaseProfile getProfile() {
+        return PROFILE;
+    }
+
+    /**
+     * Zatvara sve konekcije u pool-u. Poziva se automatski pri gašenju JVM-a.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Lijeno kreira pool pri prvoj upotrebi (double-checked locking).
+     */
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DbConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(
+                            JDBC_URL,
+                            Integer.getInteger("sms.db.pool.size", DEFAULT_POOL_SIZE),
+                            Long.getLong("sms.db.pool.timeoutMs", DEFAULT_BORROW_TIMEOUT_MS),
+                            Long.getLong("sms.db.pool.validationMs", DEFAULT_VALIDATION_INTERVAL_MS),
+                            PROFILE.connectionPragmas());
+                    pool = current;
+                }
+            }
         }
-        return DriverManager.getConnection(JDBC_URL);
+        return current;
     }
 
     /**
-     * Inicijalizuje bazu podataka kreiranjem svih potrebnih tabela ukoliko one ne postoje.
+     * Inicijalizuje bazu podataka: postavlja način žurnala, primjenjuje sve migracije
+     * šeme koje još nisu izvršene i provjerava da planer koristi sekundarne indekse,
+     * a FTS indeksi odgovaraju sadržaju tabela ({@link FtsIndexVerifier}).
      * Tabele su strukturirane tako da podržavaju audit trail (trag o izmjenama) i
-     * referencijalni integritet putem stranih ključeva.
-     * * Redoslijed kreiranja:
-     * 1. Referent (nema zavisnosti)
-     * 2. Student & Predmet (zavise od Referenta)
-     * 3. Upis (zavisi od Studenta, Predmeta i Referenta)
+     * referencijalni integritet putem stranih ključeva (vidi {@link SchemaMigrations}).
+     * Prije migracija baza se prebacuje u način žurnala iz {@link DatabaseProfile}-a (WAL),
+     * kako bi čitanje (statistika, izvještaji) moglo teći paralelno sa upisom ocjena.
      */
     public static void initializeDatabase() {
-        // SQL za tabelu Referent - osnova sistema autentifikacije
-        String sqlReferent = "CREATE TABLE IF NOT EXISTS Referent (" +
-                "sifraReferenta TEXT PRIMARY KEY NOT NULL, " +
-                "password TEXT NOT NULL, " +
-                "ime TEXT NOT NULL, " +
-                "prezime TEXT NOT NULL, " +
-                "datumKreiranja TEXT DEFAULT (datetime('now','localtime')));";
-
-        // SQL za tabelu Student - uključuje audit polja i vezu sa referentom
-        String sqlStudent = "CREATE TABLE IF NOT EXISTS Student (" +
-                "brojIndeksa TEXT PRIMARY KEY NOT NULL, " +
-                "sifra TEXT NOT NULL, " +
-                "ime TEXT NOT NULL, " +
-                "prezime TEXT NOT NULL, " +
-                "studijskiProgram TEXT NOT NULL, " +
-                "godinaUpisa INTEGER NOT NULL, " +
-                "datumKreiranja TEXT DEFAULT (datetime('now','localtime')), " +
-                "datumAzuriranja TEXT, " +
-                "referentKojiJeDodao TEXT, " +
-                "FOREIGN KEY (referentKojiJeDodao) REFERENCES Referent(sifraReferenta));";
-
-        // SQL za tabelu Predmet - sadrži ECTS bodove i semestar
-        String sqlPredmet = "CREATE TABLE IF NOT EXISTS Predmet (" +
-                "sifraPredmeta TEXT PRIMARY KEY NOT NULL, " +
-                "naziv TEXT NOT NULL, " +
-                "ects INTEGER NOT NULL, " +
-                "semestar INTEGER NOT NULL, " +
-                "referentId TEXT, " +
-                "datumKreiranja TEXT DEFAULT (datetime('now','localtime')), " +
-                "datumAzuriranja TEXT, " +
-                "FOREIGN KEY (referentId) REFERENCES Referent(sifraReferenta));";
-
-        // SQL za tabelu Upis - veza N:M između Studenta i Predmeta sa dodatnim atributima (ocjena)
-        String sqlUpis = "CREATE TABLE IF NOT EXISTS Upis (" +
-                "brojIndeksa TEXT NOT NULL, " +
-                "sifraPredmeta TEXT NOT NULL, " +
-                "akademskaGodina TEXT NOT NULL, " +
-                "ocjena INTEGER, " +
-                "datumOcjene TEXT, " +
-                "razlogIzmjeneOcjene TEXT, " +
-                "datumIzmjene TEXT, " +
-                "referentKojiJeDodao TEXT, " +
-                "referentKojiJeIzmijenio TEXT, " +
-                "PRIMARY KEY (brojIndeksa, sifraPredmeta, akademskaGodina), " +
-                "FOREIGN KEY (brojIndeksa) REFERENCES Student(brojIndeksa) ON DELETE CASCADE, " +
-                "FOREIGN KEY (sifraPredmeta) REFERENCES Predmet(sifraPredmeta) ON DELETE CASCADE, " +
-                "FOREIGN KEY (referentKojiJeDodao) REFERENCES Referent(sifraReferenta), " +
-                "FOREIGN KEY (referentKojiJeIzmijenio) REFERENCES Referent(sifraReferenta));";
-
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement()) {
 
-            // Eksplicitno omogućavanje provjere stranih ključeva (SQLite specifičnost)
-            stmt.execute("PRAGMA foreign_keys = ON;");
+            applyJournalMode(stmt);
 
-            stmt.execute(sqlReferent);
-            stmt.execute(sqlStudent);
-            stmt.execute(sqlPredmet);
-            stmt.execute(sqlUpis);
+            new MigrationRunner(SchemaMigrations.all()).migrate(conn);
+            QueryPlanVerifier.verify(conn);
+            FtsIndexVerifier.verifyAndRepair(conn);
 
-            System.out.println("Sistem: Baza podataka je uspješno inicijalizovana.");
+            System.out.println("Sistem: Baza podataka je uspješno inicijalizovana (verzija šeme " +
+                    MigrationRunner.currentVersion(conn) + ").");
 
         } catch (SQLException e) {
             System.err.println("GREŠKA pri inicijalizaciji: " + e.getMessage());
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Postavlja način vođenja žurnala i provjerava da ga je SQLite zaista prihvatio
+     * (npr. baze u memoriji ne podržavaju WAL).
+     */
+    private static void applyJournalMode(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(PROFILE.journalModePragma())) {
+            String mode = rs.next() ? rs.getString(1) : null;
+            if (mode == null || !mode.equalsIgnoreCase(PROFILE.getJournalMode())) {
+                System.err.println("UPOZORENJE: Traženi journal_mode " + PROFILE.getJournalMode() +
+                        " nije primijenjen (aktivno: " + mode + ").");
+            } else {
+                System.out.println("Sistem: Performance profil baze: " + PROFILE + ".");
+            }
+        }
+    }
+}
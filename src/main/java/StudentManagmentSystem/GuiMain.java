@@ -1,5 +1,6 @@
 package StudentManagmentSystem;
 
+import StudentManagmentSystem.events.EventBus;
 import StudentManagmentSystem.repository.implementations.*;
 import StudentManagmentSystem.repository.interfaces.*;
 import StudentManagmentSystem.services.*;
@@ -16,19 +17,30 @@ public class GuiMain {
         CourseInterface courseRepo = new CourseRepository();
         EnrollmentInterface enrollmentRepo = new EnrollmentRepository();
         ReferentInterface referentRepo = new ReferentRepository();
+        StatisticsInterface statisticsRepo = new StatisticsRepository();
 
-        // 3. Servisi
-        StudentService studentService = new StudentService(studentRepo);
-        CourseService courseService = new CourseService(courseRepo);
+        // 3. Servisi (izmjene objavljuju na zajedničku magistralu događaja)
+        EventBus eventBus = new EventBus();
+        StudentService studentService = new StudentService(studentRepo, eventBus);
+        CourseService courseService = new CourseService(courseRepo, eventBus);
         EnrollmentService enrollmentService = new EnrollmentService(
-                (EnrollmentRepository) enrollmentRepo, studentService, courseService);
+                (EnrollmentRepository) enrollmentRepo, studentService, courseService, eventBus);
         ReferentService referentService = new ReferentService(referentRepo);
+        StatisticsService statisticsService = new StatisticsService(statisticsRepo);
+
+        // Indeksi za pretragu se grade u pozadini; do tada pretraga studenata ide direktno u bazu
+        Thread indexBuilder = new Thread(() -> {
+            studentService.rebuildSearchIndex();
+            courseService.rebuildSearchIndex();
+        }, "sms-search-index");
+        indexBuilder.setDaemon(true);
+        indexBuilder.start();
 
         // 4. Pokretanje GUI-a
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-                LoginFrame login = new LoginFrame(studentService, courseService, enrollmentService, referentService);
+                LoginFrame login = new LoginFrame(studentService, courseService, enrollmentService, referentService, statisticsService, eventBus);
                 login.setVisible(true);
             } catch (Exception e) {
                 e.printStackTrace();
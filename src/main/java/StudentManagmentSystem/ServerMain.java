@@ -0,0 +1,52 @@
+package StudentManagmentSystem;
+
+import StudentManagmentSystem.api.ApiServer;
+import StudentManagmentSystem.events.EventBus;
+import StudentManagmentSystem.repository.implementations.*;
+import StudentManagmentSystem.repository.interfaces.*;
+import StudentManagmentSystem.services.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+public class ServerMain {
+    public static void main(String[] args) throws IOException {
+        // 1. Baza
+        DbConnection.initializeDatabase();
+
+        // 2. Repozitorijumi
+        StudentInterface studentRepo = new StudentRepository();
+        CourseInterface courseRepo = new CourseRepository();
+        EnrollmentInterface enrollmentRepo = new EnrollmentRepository();
+        ReferentInterface referentRepo = new ReferentRepository();
+
+        // 3. Servisi (izmjene objavljuju na zajedničku magistralu događaja)
+        EventBus eventBus = new EventBus();
+        StudentService studentService = new StudentService(studentRepo, eventBus);
+        CourseService courseService = new CourseService(courseRepo, eventBus);
+        EnrollmentService enrollmentService = new EnrollmentService(
+                (EnrollmentRepository) enrollmentRepo, studentService, courseService, eventBus);
+        ReferentService referentService = new ReferentService(referentRepo);
+
+        Thread indexBuilder = new Thread(() -> {
+            studentService.rebuildSearchIndex();
+            courseService.rebuildSearchIndex();
+        }, "sms-search-index");
+        indexBuilder.setDaemon(true);
+        indexBuilder.start();
+
+        // 4. Pokretanje HTTP servera (JDK server po defaultu drži samo 200 neaktivnih keep-alive konekcija)
+        System.getProperties().putIfAbsent("sun.net.httpserver.maxIdleConnections", "1000");
+        String host = System.getProperty("sms.api.host", "127.0.0.1");
+        int port = Integer.getInteger("sms.api.port", 8080);
+        ApiServer server = new ApiServer(new InetSocketAddress(host, port),
+                studentService, courseService, enrollmentService, referentService);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            eventBus.close();
+        }, "sms-api-shutdown"));
+
+        System.out.println("Sistem se pokrece u SERVER modu na http://" + host + ":" + server.getAddress().getPort() + "/api ...");
+    }
+}
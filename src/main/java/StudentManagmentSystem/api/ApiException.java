@@ -0,0 +1,27 @@
+package StudentManagmentSystem.api;
+
+/**
+ * Greška koja se klijentu vraća sa zadatim HTTP statusom (npr. 404 za nepostojeći resurs).
+ * Greške servisa se mapiraju automatski: {@link IllegalArgumentException} u 400,
+ * a {@link IllegalStateException} u 409.
+ */
+class ApiException extends RuntimeException {
+
+    private final int status;
+
+    /**
+     * @param status HTTP status odgovora.
+     * @param message Poruka za klijenta.
+     */
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * @return HTTP status odgovora.
+     */
+    int getStatus() {
+        return status;
+    }
+}
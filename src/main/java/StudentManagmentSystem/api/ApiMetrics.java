@@ -0,0 +1,123 @@
+package StudentManagmentSystem.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrike zahtjeva API servera, po ruti (npr. "GET /api/students/{index}/report").
+ * Za svaku rutu se broje zahtjevi i greške, i bilježi trajanje u histogramu sa
+ * eksponencijalnim granicama, iz kojeg se procjenjuju percentili (p50, p95, p99).
+ *
+ * Bilježenje je bez zaključavanja ({@link LongAdder}, atomski nizovi), pa metrike
+ * ne usporavaju obradu ni pri velikom broju istovremenih zahtjeva.
+ */
+class ApiMetrics {
+
+    /** Gornje granice korpi histograma u mikrosekundama; posljednja korpa je neograničena. */
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Bilježi početak zahtjeva.
+     */
+    void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Bilježi završen zahtjev.
+     *
+     * @param route Naziv rute.
+     * @param status HTTP status odgovora.
+     * @param elapsedNanos Trajanje obrade u nanosekundama.
+     */
+    void requestFinished(String route, int status, long elapsedNanos) {
+        inFlight.decrementAndGet();
+        routes.computeIfAbsent(route, r -> new RouteMetrics()).record(status, elapsedNanos);
+    }
+
+    /**
+     * @return Presjek metrika pogodan za JSON prikaz.
+     */
+    Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("uptimeSeconds", (System.currentTimeMillis() - startedAtMillis) / 1000);
+        result.put("inFlight", inFlight.get());
+        Map<String, Object> perRoute = new TreeMap<>();
+        routes.forEach((route, metrics) -> perRoute.put(route, metrics.snapshot()));
+        result.put("routes", perRoute);
+        return result;
+    }
+
+    private static final class RouteMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+
+        private void record(int status, long elapsedNanos) {
+            long micros = elapsedNanos / 1_000;
+            count.increment();
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+            buckets.incrementAndGet(bucketOf(micros));
+        }
+
+        private Map<String, Object> snapshot() {
+            long n = count.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", n);
+            result.put("clientErrors", clientErrors.sum());
+            result.put("serverErrors", serverErrors.sum());
+            result.put("avgMillis", n == 0 ? 0.0 : totalMicros.sum() / 1000.0 / n);
+            result.put("p50Millis", percentileMillis(n, 0.50));
+            result.put("p95Millis", percentileMillis(n, 0.95));
+            result.put("p99Millis", percentileMillis(n, 0.99));
+            result.put("maxMillis", maxMicros.get() / 1000.0);
+            return result;
+        }
+
+        /**
+         * Procjena percentila: gornja granica korpe u kojoj se nalazi traženi zahtjev.
+         */
+        private double percentileMillis(long n, double percentile) {
+            if (n == 0) return 0.0;
+            long target = (long) Math.ceil(n * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    long bound = i < BUCKET_BOUNDS_MICROS.length ? BUCKET_BOUNDS_MICROS[i] : maxMicros.get();
+                    return bound / 1000.0;
+                }
+            }
+            return maxMicros.get() / 1000.0;
+        }
+
+        private static int bucketOf(long micros) {
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                if (micros <= BUCKET_BOUNDS_MICROS[i]) return i;
+            }
+            return BUCKET_BOUNDS_MICROS.length;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package StudentManagmentSystem.api;
+
+import StudentManagmentSystem.models.Referent;
+import StudentManagmentSystem.services.ReferentService;
+import StudentManagmentSystem.session.Session;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Zahtjev koji ruter predaje krajnjoj tački: parametri iz putanje i upita, tijelo
+ * i (po potrebi) sesija autentifikovanog referenta. Krajnja tačka može promijeniti status
+ * uspješnog odgovora (npr. 201 pri kreiranju).
+ */
+class ApiRequest {
+
+    private final String method;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> queryParams;
+    private String body; // postavlja se tek nakon provjere rute i prijave
+    private final String authorization;
+    private final ReferentService referentService;
+    private int status = 200;
+    private Session session; // utvrđena pri prvom pozivu requireSession()
+
+    ApiRequest(String method, Map<String, String> pathParams, String rawQuery,
+               String authorization, ReferentService referentService) {
+        this.method = method;
+        this.pathParams = pathParams;
+        this.queryParams = parseQuery(rawQuery);
+        this.authorization = authorization;
+        this.referentService = referentService;
+    }
+
+    /** @return HTTP metoda zahtjeva. */
+    String method() { return method; }
+
+    /**
+     * @param name Naziv parametra iz šablona putanje (npr. "index" za "{index}").
+     * @return Dekodirana vrijednost parametra.
+     */
+    String pathParam(String name) {
+        return pathParams.get(name);
+    }
+
+    /**
+     * @param name Naziv parametra upita.
+     * @param defaultValue Vrijednost ako parametar nije naveden.
+     * @return Dekodirana vrijednost parametra.
+     */
+    String query(String name, String defaultValue) {
+        return queryParams.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * @param name Naziv cjelobrojnog parametra upita.
+     * @param defaultValue Vrijednost ako parametar nije naveden.
+     * @return Vrijednost parametra.
+     * @throws IllegalArgumentException Ako vrijednost nije cijeli broj.
+     */
+    int queryInt(String name, int defaultValue) {
+        String value = queryParams.get(name);
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parametar '" + name + "' mora biti cijeli broj.");
+        }
+    }
+
+    /**
+     * @return Polja JSON objekta iz tijela zahtjeva.
+     * @throws IllegalArgumentException Ako tijelo nedostaje ili nije ispravan JSON objekat.
+     */
+    Map<String, Object> jsonBody() {
+        if (body == null || body.isBlank()) {
+            throw new IllegalArgumentException("Tijelo zahtjeva (JSON objekat) je obavezno.");
+        }
+        return Json.parseObject(body);
+    }
+
+    /**
+     * Utvrđuje sesiju referenta koji šalje zahtjev. Podržane su dvije šeme:
+     * {@code Bearer <token>} sa tokenom dobijenim od {@code POST /api/sessions}, i
+     * {@code Basic} (ID i lozinka uz svaki zahtjev), za koju se kreira sesija samo za taj zahtjev.
+     * Ni jedna ni druga ne koriste globalno stanje, pa zahtjevi različitih referenata
+     * ne utiču jedan na drugi. Sesija se utvrđuje jednom po zahtjevu i zatim pamti.
+     *
+     * @return Sesija autentifikovanog referenta.
+     * @throws ApiException Sa statusom 401 ako podaci nedostaju, nisu ispravni ili je sesija istekla.
+     */
+    Session requireSession() {
+        if (session == null) {
+            session = resolveSession();
+        }
+        return session;
+    }
+
+    private Session resolveSession() {
+        if (authorization != null && authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return referentService.findSession(authorization.substring(7).trim())
+                    .orElseThrow(() -> new ApiException(401, "Sesija ne postoji ili je istekla."));
+        }
+        String[] credentials = basicCredentials();
+        Optional<Referent> referent;
+        try {
+            referent = referentService.authenticate(credentials[0], credentials[1]);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(401, e.getMessage());
+        }
+        return referent.map(Session::transientFor)
+                .orElseThrow(() -> new ApiException(401, "Pogrešan Referent ID ili lozinka."));
+    }
+
+    /**
+     * @return ID i lozinka iz HTTP Basic zaglavlja.
+     * @throws ApiException Sa statusom 401 ako zaglavlje nedostaje ili nije ispravno.
+     */
+    String[] basicCredentials() {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+            throw new ApiException(401, "Potrebna je prijava referenta (HTTP Basic ili Bearer token).");
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(authorization.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(401, "Neispravno zaglavlje Authorization.");
+        }
+        int colon = decoded.indexOf(':');
+        if (colon < 0) {
+            throw new ApiException(401, "Neispravno zaglavlje Authorization.");
+        }
+        return new String[] { decoded.substring(0, colon), decoded.substring(colon + 1) };
+    }
+
+    /**
+     * @param body Pročitano tijelo zahtjeva (prazno ako ga nema).
+     */
+    void body(String body) { this.body = body; }
+
+    /** @return Status uspješnog odgovora. */
+    int status() { return status; }
+
+    /**
+     * @param status Status uspješnog odgovora (npr. 201).
+     */
+    void status(int status) { this.status = status; }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) return Collections.emptyMap();
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
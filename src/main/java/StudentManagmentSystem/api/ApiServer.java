@@ -0,0 +1,455 @@
+package StudentManagmentSystem.api;
+
+import StudentManagmentSystem.concurrent.TaskExecutors;
+import StudentManagmentSystem.models.Course;
+import StudentManagmentSystem.models.Enrollment;
+import StudentManagmentSystem.models.Student;
+import StudentManagmentSystem.models.StudentReport;
+import StudentManagmentSystem.services.CourseService;
+import StudentManagmentSystem.services.EnrollmentService;
+import StudentManagmentSystem.services.ReferentService;
+import StudentManagmentSystem.services.StudentService;
+import StudentManagmentSystem.session.Session;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP/JSON API nad postojećim servisima, zasnovan na ugrađenom JDK HTTP serveru.
+ * Omogućava da više radnih mjesta koristi jedan proces (i jedan pool konekcija prema
+ * SQLite bazi), umjesto da svako otvara bazu iz svog JVM-a i nadmeće se za zaključavanja.
+ *
+ * Krajnje tačke (sve osim provjere rada i prijave zahtijevaju sesiju referenta,
+ * Bearer token ili HTTP Basic, jer vraćaju lične podatke i ocjene studenata):
+ * - {@code GET  /api/health} - provjera rada servera (javno),
+ * - {@code GET  /api/students?q=&limit=} - pretraga studenata (bez upita: prva stranica),
+ * - {@code GET  /api/students/{index}} i {@code GET /api/students/{index}/report} - student i njegov karton,
+ * - {@code GET  /api/courses?q=&limit=} i {@code GET /api/courses/{code}} - predmeti,
+ * - {@code POST /api/sessions} i {@code DELETE /api/sessions/current} - prijava (javno, vraća token) i odjava referenta,
+ * - {@code POST /api/enrollments} - upis studenta na predmet,
+ * - {@code POST /api/grades} - unos ili izmjena ocjene,
+ * - {@code GET  /metrics} - broj zahtjeva, greške i trajanje po ruti.
+ *
+ * Svaki zahtjev se obrađuje na virtuelnoj niti kada ih JVM podržava (Java 21+), a inače na
+ * pool-u platformskih niti ({@code sms.api.threads}). Odgovori uvijek imaju poznatu dužinu,
+ * pa klijent može koristiti istu (keep-alive) konekciju za više zahtjeva.
+ *
+ * Tijelo zahtjeva je ograničeno na {@code sms.api.maxBodyBytes} bajtova (podrazumijevano 64 KiB);
+ * veće tijelo se odbija statusom 413 bez učitavanja u memoriju. Tijelo se čita tek nakon što su
+ * ruta i prijava provjereni, pa neprijavljeni klijent ne može natjerati server da ga učitava.
+ */
+public class ApiServer {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_BODY_BYTES = Integer.getInteger("sms.api.maxBodyBytes", 64 * 1024);
+    /** Koliko se prevelikog tijela najviše preskoči (bez čuvanja) da bi klijent dobio odgovor 413. */
+    private static final long MAX_DISCARD_BYTES = 1024 * 1024;
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final ReferentService referentService;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ApiMetrics metrics = new ApiMetrics();
+    private final List<Route> routes = new ArrayList<>();
+
+    /**
+     * Kreira server vezan za datu adresu; obrada počinje tek pozivom {@link #start()}.
+     *
+     * @param address Adresa i port (port 0 bira slobodan port).
+     * @param studentService Servis studenata.
+     * @param courseService Servis predmeta.
+     * @param enrollmentService Servis upisa.
+     * @param referentService Servis za provjeru pristupnih podataka referenata.
+     * @throws IOException Ako se port ne može zauzeti.
+     */
+    public ApiServer(InetSocketAddress address, StudentService studentService, CourseService courseService,
+                     EnrollmentService enrollmentService, ReferentService referentService) throws IOException {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.referentService = referentService;
+
+        registerRoutes();
+        this.executor = createExecutor();
+        this.server = HttpServer.create(address, Integer.getInteger("sms.api.backlog", 1_024));
+        this.server.createContext("/", this::dispatch);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Pokreće prijem zahtjeva.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Zaustavlja server, čekajući najviše zadati broj sekundi da se završe zahtjevi u toku.
+     *
+     * @param delaySeconds Najduže čekanje u sekundama.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * @return Adresa na kojoj server prima zahtjeve (sa stvarnim portom).
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void registerRoutes() {
+        publicRoute("GET", "/api/health", req -> Map.of("status", "ok"));
+        route("GET", "/metrics", req -> metrics.snapshot());
+
+        route("GET", "/api/students", req -> {
+            List<Object> result = new ArrayList<>();
+            for (Student s : studentService.lookupStudents(req.query("q", ""), req.queryInt("limit", DEFAULT_LIMIT))) {
+                result.add(studentJson(s));
+            }
+            return result;
+        });
+        route("GET", "/api/students/{index}", req -> studentService.getStudentByIndex(req.pathParam("index"))
+                .map(ApiServer::studentJson)
+                .orElseThrow(() -> new ApiException(404, "Student sa indeksom '" + req.pathParam("index") + "' ne postoji.")));
+        route("GET", "/api/students/{index}/report", req -> {
+            String index = req.pathParam("index");
+            if (studentService.getStudentByIndex(index).isEmpty()) {
+                throw new ApiException(404, "Student sa indeksom '" + index + "' ne postoji.");
+            }
+            return reportJson(enrollmentService.generateStudentReport(index));
+        });
+
+        route("GET", "/api/courses", req -> {
+            List<Object> result = new ArrayList<>();
+            for (Course c : courseService.lookupCourses(req.query("q", ""), req.queryInt("limit", DEFAULT_LIMIT))) {
+                result.add(courseJson(c));
+            }
+            return result;
+        });
+        route("GET", "/api/courses/{code}", req -> courseService.getCourseByCode(req.pathParam("code"))
+                .map(ApiServer::courseJson)
+                .orElseThrow(() -> new ApiException(404, "Predmet sa šifrom '" + req.pathParam("code") + "' ne postoji.")));
+
+        publicRoute("POST", "/api/sessions", req -> {
+            String[] credentials = req.basicCredentials();
+            Session session;
+            try {
+                session = referentService.login(credentials[0], credentials[1])
+                        .orElseThrow(() -> new ApiException(401, "Pogrešan Referent ID ili lozinka."));
+            } catch (IllegalArgumentException e) {
+                // Prazan ID ili lozinka su neuspjela prijava, kao i kod HTTP Basic provjere ostalih ruta
+                throw new ApiException(401, e.getMessage());
+            }
+            req.status(201);
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("token", session.getToken());
+            json.put("referentId", session.getReferentId());
+            return json;
+        });
+        route("DELETE", "/api/sessions/current", req -> {
+            referentService.logout(req.requireSession());
+            return Map.of("status", "ok");
+        });
+
+        route("POST", "/api/enrollments", req -> {
+            Session session = req.requireSession();
+            Map<String, Object> body = req.jsonBody();
+            Enrollment created = enrollmentService.registerNewEnrollment(new Enrollment(
+                    requiredString(body, "studentIndexNumber"), requiredString(body, "courseCode"),
+                    requiredString(body, "academicYear"), session.getReferentId()));
+            req.status(201);
+            return enrollmentJson(created);
+        });
+        route("POST", "/api/grades", req -> {
+            Session session = req.requireSession();
+            Map<String, Object> body = req.jsonBody();
+            String index = requiredString(body, "studentIndexNumber");
+            String code = requiredString(body, "courseCode");
+            String year = requiredString(body, "academicYear");
+            Object grade = body.get("grade");
+            if (grade != null && !(grade instanceof Long)) {
+                throw new IllegalArgumentException("Polje 'grade' mora biti cijeli broj ili null.");
+            }
+            boolean updated = enrollmentService.enterOrUpdateGrade(index, code, year,
+                    grade == null ? null : ((Long) grade).intValue(),
+                    optionalString(body, "reason"), session.getReferentId());
+            if (!updated) {
+                throw new IllegalStateException("Ocjena nije sačuvana; upis je u međuvremenu izmijenjen ili obrisan.");
+            }
+            return enrollmentService.getEnrollment(index, code, year)
+                    .map(ApiServer::enrollmentJson)
+                    .orElseThrow(() -> new ApiException(404, "Upis ne postoji."));
+        });
+    }
+
+    /**
+     * Registruje rutu koja zahtijeva sesiju referenta; ruter je provjerava prije poziva krajnje tačke.
+     */
+    private void route(String method, String template, Endpoint endpoint) {
+        routes.add(new Route(method, template, endpoint, true));
+    }
+
+    /**
+     * Registruje rutu dostupnu bez prijave.
+     */
+    private void publicRoute(String method, String template, Endpoint endpoint) {
+        routes.add(new Route(method, template, endpoint, false));
+    }
+
+    /**
+     * Pronalazi rutu za zahtjev, izvršava je i šalje JSON odgovor. Sve greške se vraćaju
+     * kao JSON objekat {@code {"error": "..."}} sa odgovarajućim statusom.
+     */
+    private void dispatch(HttpExchange exchange) throws IOException {
+        long started = System.nanoTime();
+        metrics.requestStarted();
+        String routeName = exchange.getRequestMethod() + " (nepoznata ruta)";
+        int status = 500;
+        try {
+            Object result;
+            try {
+                String[] segments = splitPath(exchange.getRequestURI().getRawPath());
+                Route matched = null;
+                Map<String, String> pathParams = null;
+                boolean pathKnown = false;
+                for (Route route : routes) {
+                    Map<String, String> params = route.match(segments);
+                    if (params == null) continue;
+                    pathKnown = true;
+                    if (route.method.equals(exchange.getRequestMethod())) {
+                        matched = route;
+                        pathParams = params;
+                        break;
+                    }
+                }
+                if (matched == null) {
+                    throw new ApiException(pathKnown ? 405 : 404, pathKnown ? "Metoda nije podržana." : "Nepoznata putanja.");
+                }
+                routeName = matched.method + " " + matched.template;
+
+                ApiRequest request = new ApiRequest(exchange.getRequestMethod(), pathParams,
+                        exchange.getRequestURI().getRawQuery(),
+                        exchange.getRequestHeaders().getFirst("Authorization"), referentService);
+                if (matched.authenticated) {
+                    request.requireSession();
+                }
+                request.body(readBody(exchange));
+                result = matched.endpoint.handle(request);
+                status = request.status();
+            } catch (ApiException e) {
+                status = e.getStatus();
+                if (status == 401) {
+                    exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"sms\"");
+                } else if (status == 413) {
+                    // Nepročitani ostatak tijela ne smije se tumačiti kao sljedeći zahtjev
+                    exchange.getResponseHeaders().set("Connection", "close");
+                }
+                result = Map.of("error", e.getMessage());
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                result = Map.of("error", String.valueOf(e.getMessage()));
+            } catch (IllegalStateException e) {
+                status = 409;
+                result = Map.of("error", String.valueOf(e.getMessage()));
+            } catch (RuntimeException e) {
+                status = 500;
+                System.err.println("GREŠKA u API zahtjevu " + routeName + ": " + e.getMessage());
+                result = Map.of("error", "Interna greška servera.");
+            }
+
+            byte[] response = Json.write(result).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } finally {
+            exchange.close();
+            metrics.requestFinished(routeName, status, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Čita tijelo zahtjeva, najviše {@code MAX_BODY_BYTES} bajtova. Tijelo se inače čita
+     * do kraja kako bi konekcija mogla ostati otvorena za sljedeći zahtjev.
+     *
+     * @throws ApiException Sa statusom 413 ako je tijelo veće od dozvoljenog.
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            long declared;
+            try {
+                declared = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Neispravno zaglavlje Content-Length.");
+            }
+            if (declared > MAX_BODY_BYTES) {
+                throw bodyTooLarge(exchange.getRequestBody());
+            }
+        }
+        // Bez Content-Length (npr. chunked) veličina se provjerava tokom čitanja
+        InputStream in = exchange.getRequestBody();
+        byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw bodyTooLarge(in);
+        }
+        in.close();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Preskače ostatak prevelikog tijela (najviše {@code MAX_DISCARD_BYTES}, bez čuvanja u memoriji).
+     * Zatvaranje konekcije sa nepročitanim podacima šalje klijentu TCP reset, pa on ne bi
+     * vidio odgovor 413; za još veća tijela se to ipak prihvata.
+     */
+    private static ApiException bodyTooLarge(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        long discarded = 0;
+        int n;
+        while (discarded < MAX_DISCARD_BYTES && (n = in.read(buffer)) > 0) {
+            discarded += n;
+        }
+        return new ApiException(413, "Tijelo zahtjeva je veće od " + MAX_BODY_BYTES + " bajtova.");
+    }
+
+    private static String[] splitPath(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/")) {
+            if (segment.isEmpty()) continue;
+            // '+' je u putanji običan znak, a ne razmak kao u upitu
+            segments.add(URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8));
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static String requiredString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String) || ((String) value).isBlank()) {
+            throw new IllegalArgumentException("Polje '" + field + "' je obavezno.");
+        }
+        return ((String) value).trim();
+    }
+
+    private static String optionalString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("Polje '" + field + "' mora biti tekst ili null.");
+        }
+        return (String) value;
+    }
+
+    // --- Prevođenje modela u JSON objekte (lozinke se nikada ne vraćaju) ---
+
+    private static Map<String, Object> studentJson(Student s) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("indexNumber", s.getIndexNumber());
+        json.put("firstName", s.getFirstName());
+        json.put("lastName", s.getLastName());
+        json.put("studyProgram", s.getStudyProgram());
+        json.put("enrollmentYear", s.getEnrollmentYear());
+        return json;
+    }
+
+    private static Map<String, Object> courseJson(Course c) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("courseCode", c.getCourseCode());
+        json.put("name", c.getName());
+        json.put("ects", c.getEcts());
+        json.put("semester", c.getSemester());
+        return json;
+    }
+
+    private static Map<String, Object> enrollmentJson(Enrollment e) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("studentIndexNumber", e.getStudentIndexNumber());
+        json.put("courseCode", e.getCourseCode());
+        json.put("academicYear", e.getAcademicYear());
+        json.put("grade", e.getGrade());
+        json.put("gradeDate", e.getGradeDate());
+        return json;
+    }
+
+    private static Map<String, Object> reportJson(StudentReport report) {
+        List<Object> enrollments = new ArrayList<>();
+        for (Enrollment e : report.getEnrollments()) {
+            enrollments.add(enrollmentJson(e));
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("student", studentJson(report.getStudent()));
+        json.put("enrollments", enrollments);
+        json.put("totalEcts", report.getTotalEcts());
+        json.put("averageGrade", report.getAverageGrade());
+        return json;
+    }
+
+    /**
+     * Virtuelne niti ako ih JVM podržava, a inače pool platformskih niti veličine {@code sms.api.threads}.
+     */
+    private static ExecutorService createExecutor() {
+        return TaskExecutors.virtualThreadsOr(() -> Executors.newFixedThreadPool(
+                Integer.getInteger("sms.api.threads", Math.max(16, Runtime.getRuntime().availableProcessors() * 4)),
+                TaskExecutors.namedThreads("sms-api", false)));
+    }
+
+    /** Krajnja tačka API-ja; vraćena vrijednost se upisuje kao JSON. */
+    @FunctionalInterface
+    private interface Endpoint {
+        Object handle(ApiRequest request) throws IOException;
+    }
+
+    /**
+     * Ruta sa šablonom putanje; segmenti oblika {@code {naziv}} se vežu za parametre.
+     */
+    private static final class Route {
+        private final String method;
+        private final String template;
+        private final String[] segments;
+        private final Endpoint endpoint;
+        private final boolean authenticated;
+
+        private Route(String method, String template, Endpoint endpoint, boolean authenticated) {
+            this.method = method;
+            this.template = template;
+            this.segments = splitPath(template);
+            this.endpoint = endpoint;
+            this.authenticated = authenticated;
+        }
+
+        /**
+         * @return Parametri putanje ako se putanja poklapa sa šablonom, inače {@code null}.
+         */
+        private Map<String, String> match(String[] path) {
+            if (path.length != segments.length) return null;
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    params.put(segment.substring(1, segment.length() - 1), path[i]);
+                } else if (!segment.equals(path[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+}
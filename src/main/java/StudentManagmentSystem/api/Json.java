@@ -0,0 +1,216 @@
+package StudentManagmentSystem.api;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimalna JSON podrška za API, bez vanjskih biblioteka.
+ *
+ * Upis podržava {@code null}, brojeve, logičke vrijednosti, tekst, mape (objekti) i kolekcije
+ * (nizovi); sve ostalo se upisuje kao tekst dobijen iz {@code toString()}.
+ * Čitanje podržava samo ravan objekat čije su vrijednosti tekst, brojevi, logičke vrijednosti
+ * ili {@code null}, što je dovoljno za tijela zahtjeva ovog API-ja.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * @param value Vrijednost za upis.
+     * @return JSON zapis vrijednosti.
+     */
+    static String write(Object value) {
+        StringBuilder out = new StringBuilder(256);
+        writeValue(out, value);
+        return out.toString();
+    }
+
+    private static void writeValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            out.append(Double.isFinite(d) ? String.valueOf(d) : "null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                writeString(out, String.valueOf(entry.getKey()));
+                out.append(':');
+                writeValue(out, entry.getValue());
+            }
+            out.append('}');
+        } else if (value instanceof Collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : (Collection<?>) value) {
+                if (!first) out.append(',');
+                first = false;
+                writeValue(out, item);
+            }
+            out.append(']');
+        } else {
+            writeString(out, value.toString());
+        }
+    }
+
+    /**
+     * Upisuje tekst pod navodnicima, uz escape kontrolnih znakova prema JSON specifikaciji.
+     */
+    private static void writeString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Čita ravan JSON objekat. Brojevi bez decimala se vraćaju kao {@link Long}, ostali kao {@link Double}.
+     *
+     * @param text JSON tekst.
+     * @return Polja objekta, redoslijedom iz teksta.
+     * @throws IllegalArgumentException Ako tekst nije ispravan ravan JSON objekat.
+     */
+    static Map<String, Object> parseObject(String text) {
+        return new Parser(text).parseObject();
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos = 0;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return finish(result);
+            }
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                result.put(key, parseValue());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') return finish(result);
+                if (c != ',') throw error("očekivan ',' ili '}'");
+            }
+        }
+
+        private Map<String, Object> finish(Map<String, Object> result) {
+            skipWhitespace();
+            if (pos != text.length()) throw error("višak teksta nakon objekta");
+            return result;
+        }
+
+        private Object parseValue() {
+            char c = peek();
+            if (c == '"') return parseString();
+            if (text.startsWith("null", pos)) { pos += 4; return null; }
+            if (text.startsWith("true", pos)) { pos += 4; return Boolean.TRUE; }
+            if (text.startsWith("false", pos)) { pos += 5; return Boolean.FALSE; }
+            if (c == '-' || (c >= '0' && c <= '9')) return parseNumber();
+            throw error("nepodržana vrijednost");
+        }
+
+        private Object parseNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) pos++;
+            String number = text.substring(start, pos);
+            try {
+                if (number.matches("-?\\d+")) return Long.parseLong(number);
+                return Double.parseDouble(number);
+            } catch (NumberFormatException e) {
+                throw error("neispravan broj");
+            }
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"', '\\', '/' -> sb.append(escaped);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) throw error("neispravan \\u escape");
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            // Character.digit, a ne Integer.parseInt, koji bi prihvatio i predznak ("\\u+041")
+                            int digit = Character.digit(text.charAt(pos + i), 16);
+                            if (digit < 0) throw error("neispravan \\u escape");
+                            code = code * 16 + digit;
+                        }
+                        sb.append((char) code);
+                        pos += 4;
+                    }
+                    default -> throw error("neispravan escape");
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+
+        private char peek() {
+            if (pos >= text.length()) throw error("neočekivan kraj teksta");
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) throw error("očekivan '" + expected + "'");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Neispravan JSON (pozicija " + pos + "): " + message);
+        }
+    }
+}
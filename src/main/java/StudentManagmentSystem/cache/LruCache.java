@@ -0,0 +1,247 @@
+package StudentManagmentSystem.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Thread-safe keš ograničene veličine sa LRU (least recently used) izbacivanjem
+ * i vremenom važenja (TTL) za svaki unos.
+ * Kada se dostigne maksimalna veličina, izbacuje se unos koji najduže nije korišten;
+ * unos stariji od TTL-a se tretira kao promašaj i uklanja pri sljedećem pristupu.
+ *
+ * Vrijednost pročitana iz izvora (npr. baze) upisuje se preko
+ * {@link #putIfNotInvalidatedSince(Object, Object, long)}: čitalac uzme {@link #readStamp()} prije
+ * čitanja, a upis se odbija ako je ključ u međuvremenu poništen. Tako istovremeno čitanje
+ * ne može vratiti u keš obrisanu ili zastarjelu vrijednost.
+ *
+ * @param <K> Tip ključa.
+ * @param <V> Tip vrijednosti.
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /** Brojač poništavanja; svako {@link #invalidate(Object)} ga povećava. */
+    private long generation;
+    /** Generacija posljednjeg poništavanja po ključu (ograničeno na {@code maxSize} ključeva). */
+    private final LinkedHashMap<K, Long> invalidatedAt;
+    /** Najveća generacija izbačena iz {@code invalidatedAt}; za starije čitaoce se ne zna da li je ključ poništen. */
+    private long forgottenGeneration;
+
+    /**
+     * @param maxSize Maksimalan broj unosa u kešu.
+     * @param ttlMillis Vrijeme važenja unosa u milisekundama.
+     * @throws IllegalArgumentException Ako je veličina ili TTL manji od 1.
+     */
+    public LruCache(int maxSize, long ttlMillis) {
+        if (maxSize < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Veličina keša i TTL moraju biti pozitivni.");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        // accessOrder = true: svaki get pomjera unos na kraj liste (najskorije korišten)
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.invalidatedAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    forgottenGeneration = Math.max(forgottenGeneration, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Vraća keširanu vrijednost ako postoji i nije istekla.
+     *
+     * @param key Ključ.
+     * @return {@link Optional} sa vrijednošću ili prazan u slučaju promašaja.
+     */
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Upisuje vrijednost u keš, po potrebi izbacujući najstariji unos.
+     *
+     * @param key Ključ.
+     * @param value Vrijednost (ne smije biti null).
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Vraća oznaku trenutka koju čitalac uzima prije čitanja vrijednosti iz izvora.
+     *
+     * @return Oznaka za {@link #putIfNotInvalidatedSince(Object, Object, long)}.
+     */
+    public synchronized long readStamp() {
+        return generation;
+    }
+
+    /**
+     * Upisuje vrijednost pročitanu iz izvora samo ako ključ nije poništen nakon uzimanja oznake.
+     *
+     * @param key Ključ.
+     * @param value Vrijednost (ne smije biti null).
+     * @param stamp Oznaka dobijena iz {@link #readStamp()} prije čitanja vrijednosti.
+     * @return {@code true} ako je vrijednost upisana.
+     */
+    public synchronized boolean putIfNotInvalidatedSince(K key, V value, long stamp) {
+        Long invalidated = invalidatedAt.get(key);
+        if ((invalidated != null && invalidated > stamp) || forgottenGeneration > stamp) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * Uklanja unos iz keša (npr. nakon izmjene ili brisanja u bazi).
+     * Poziva se tek nakon što je izmjena u izvoru potvrđena.
+     *
+     * @param key Ključ koji se uklanja.
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        invalidatedAt.remove(key);
+        invalidatedAt.put(key, ++generation);
+    }
+
+    /**
+     * Prazni cijeli keš.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        invalidatedAt.clear();
+        forgottenGeneration = ++generation;
+    }
+
+    /**
+     * Uklanja sve istekle unose. Nije neophodno za ispravnost (istekli unosi se ionako
+     * ne vraćaju), ali oslobađa memoriju kod rijetko korištenih ključeva.
+     *
+     * @return Broj uklonjenih unosa.
+     */
+    public synchronized int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                removed++;
+            }
+        }
+        expirations += removed;
+        return removed;
+    }
+
+    /**
+     * @return Trenutni presjek statistike keša.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(entries.size(), maxSize, hits, misses, evictions, expirations);
+    }
+
+    /**
+     * Vrijednost zajedno sa trenutkom isteka.
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * Nepromjenjiv presjek statistike keša u jednom trenutku.
+     */
+    public static final class Stats {
+        private final int size;
+        private final int maxSize;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+
+        private Stats(int size, int maxSize, long hits, long misses, long evictions, long expirations) {
+            this.size = size;
+            this.maxSize = maxSize;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+
+        /** @return Trenutni broj unosa. */
+        public int getSize() { return size; }
+
+        /** @return Maksimalan broj unosa. */
+        public int getMaxSize() { return maxSize; }
+
+        /** @return Broj pogodaka. */
+        public long getHits() { return hits; }
+
+        /** @return Broj promašaja (uključujući istekle unose). */
+        public long getMisses() { return misses; }
+
+        /** @return Broj unosa izbačenih zbog ograničenja veličine. */
+        public long getEvictions() { return evictions; }
+
+        /** @return Broj unosa uklonjenih zbog isteka TTL-a. */
+        public long getExpirations() { return expirations; }
+
+        /** @return Udio pogodaka u ukupnom broju čitanja (0.0 - 1.0). */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Keš: %d/%d | pogoci %d | promašaji %d | stopa pogodaka %.1f%% | izbačeno %d | isteklo %d",
+                    size, maxSize, hits, misses, getHitRate() * 100, evictions, expirations);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package StudentManagmentSystem.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Zajednička pravila za izvršioce pozadinskih zadataka (API server, učitavanje panela).
+ * Virtuelne niti (Java 21+) se traže refleksijom, jer se projekat prevodi i za Javu 17;
+ * na starijem JVM-u se koristi izvršilac koji zada pozivalac.
+ */
+public final class TaskExecutors {
+
+    private TaskExecutors() {
+    }
+
+    /**
+     * Vraća {@code Executors.newVirtualThreadPerTaskExecutor()} ako postoji u JVM-u.
+     *
+     * @param fallback Kreira izvršilac ako virtuelne niti nisu dostupne.
+     * @return Izvršilac sa virtuelnom niti po zadatku, ili izvršilac iz {@code fallback}.
+     */
+    public static ExecutorService virtualThreadsOr(Supplier<ExecutorService> fallback) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return fallback.get();
+        }
+    }
+
+    /**
+     * Fabrika niti sa imenima oblika {@code <prefiks>-1}, {@code <prefiks>-2}...
+     *
+     * @param prefix Prefiks imena niti.
+     * @param daemon {@code true} ako niti ne smiju sprečavati gašenje aplikacije.
+     * @return Fabrika niti.
+     */
+    public static ThreadFactory namedThreads(String prefix, boolean daemon) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread t = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(daemon);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package StudentManagmentSystem.events;
+
+import StudentManagmentSystem.models.Course;
+
+/**
+ * Predmet je dodat u katalog.
+ */
+public final class CourseAdded extends CourseEvent {
+
+    private final Course course;
+
+    /**
+     * @param course Dodati predmet.
+     */
+    public CourseAdded(Course course) {
+        super(course.getCourseCode());
+        this.course = course;
+    }
+
+    /**
+     * @return Dodati predmet.
+     */
+    public Course getCourse() { return course; }
+}
@@ -0,0 +1,14 @@
+package StudentManagmentSystem.events;
+
+/**
+ * Predmet je obrisan iz kataloga.
+ */
+public final class CourseDeleted extends CourseEvent {
+
+    /**
+     * @param courseCode Šifra obrisanog predmeta.
+     */
+    public CourseDeleted(String courseCode) {
+        super(courseCode);
+    }
+}
@@ -0,0 +1,28 @@
+package StudentManagmentSystem.events;
+
+import java.util.List;
+
+/**
+ * Događaj o izmjeni jednog predmeta.
+ */
+public abstract class CourseEvent extends DomainEvent {
+
+    private final String courseCode;
+
+    /**
+     * @param courseCode Šifra predmeta na koji se događaj odnosi.
+     */
+    protected CourseEvent(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    /**
+     * @return Šifra predmeta.
+     */
+    public String getCourseCode() { return courseCode; }
+
+    @Override
+    public Object coalesceKey() {
+        return List.of(CourseEvent.class, courseCode);
+    }
+}
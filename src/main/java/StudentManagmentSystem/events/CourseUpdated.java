@@ -0,0 +1,25 @@
+package StudentManagmentSystem.events;
+
+import StudentManagmentSystem.models.Course;
+
+/**
+ * Podaci predmeta su izmijenjeni.
+ */
+public final class CourseUpdated extends CourseEvent {
+
+    private final Course course;
+
+    /**
+     * @param courseCode Šifra izmijenjenog predmeta.
+     * @param course Novo stanje predmeta.
+     */
+    public CourseUpdated(String courseCode, Course course) {
+        super(courseCode);
+        this.course = course;
+    }
+
+    /**
+     * @return Novo stanje predmeta.
+     */
+    public Course getCourse() { return course; }
+}
@@ -0,0 +1,22 @@
+package StudentManagmentSystem.events;
+
+/**
+ * Zajednička osnova za događaje o izmjeni podataka koje servisi objavljuju na {@link EventBus}
+ * nakon što je izmjena uspješno snimljena u bazu.
+ *
+ * Događaji su nepromjenjivi. Događaj koji se odnosi na jedan zapis vraća ključ spajanja
+ * ({@link #coalesceKey()}): ako pretplatnik još nije obradio raniji događaj za isti zapis,
+ * raniji se zamjenjuje novijim, pa pretplatnik vidi samo posljednje stanje zapisa.
+ */
+public abstract class DomainEvent {
+
+    /**
+     * Ključ zapisa na koji se događaj odnosi, za spajanje uzastopnih događaja u redu pretplatnika.
+     * Ključevi različitih vrsta zapisa se ne smiju poklapati.
+     *
+     * @return Ključ zapisa ili {@code null} ako se događaj ne smije spajati sa drugim.
+     */
+    public Object coalesceKey() {
+        return null;
+    }
+}
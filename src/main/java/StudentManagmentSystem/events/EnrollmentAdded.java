@@ -0,0 +1,24 @@
+package StudentManagmentSystem.events;
+
+import StudentManagmentSystem.models.Enrollment;
+
+/**
+ * Student je upisan na predmet.
+ */
+public final class EnrollmentAdded extends EnrollmentEvent {
+
+    private final Enrollment enrollment;
+
+    /**
+     * @param enrollment Novi upis.
+     */
+    public EnrollmentAdded(Enrollment enrollment) {
+        super(enrollment.getStudentIndexNumber(), enrollment.getCourseCode(), enrollment.getAcademicYear());
+        this.enrollment = enrollment;
+    }
+
+    /**
+     * @return Novi upis.
+     */
+    public Enrollment getEnrollment() { return enrollment; }
+}
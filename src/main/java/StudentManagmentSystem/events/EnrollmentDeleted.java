@@ -0,0 +1,16 @@
+package StudentManagmentSystem.events;
+
+/**
+ * Upis je obrisan.
+ */
+public final class EnrollmentDeleted extends EnrollmentEvent {
+
+    /**
+     * @param studentIndexNumber Broj indeksa studenta.
+     * @param courseCode Šifra predmeta.
+     * @param academicYear Akademska godina upisa.
+     */
+    public EnrollmentDeleted(String studentIndexNumber, String courseCode, String academicYear) {
+        super(studentIndexNumber, courseCode, academicYear);
+    }
+}
@@ -0,0 +1,39 @@
+package StudentManagmentSystem.events;
+
+import java.util.List;
+
+/**
+ * Događaj o izmjeni jednog upisa, identifikovanog kompozitnim ključem
+ * (broj indeksa, šifra predmeta, akademska godina).
+ */
+public abstract class EnrollmentEvent extends DomainEvent {
+
+    private final String studentIndexNumber;
+    private final String courseCode;
+    private final String academicYear;
+
+    /**
+     * @param studentIndexNumber Broj indeksa studenta.
+     * @param courseCode Šifra predmeta.
+     * @param academicYear Akademska godina upisa.
+     */
+    protected EnrollmentEvent(String studentIndexNumber, String courseCode, String academicYear) {
+        this.studentIndexNumber = studentIndexNumber;
+        this.courseCode = courseCode;
+        this.academicYear = academicYear;
+    }
+
+    /** @return Broj indeksa studenta. */
+    public String getStudentIndexNumber() { return studentIndexNumber; }
+
+    /** @return Šifra predmeta. */
+    public String getCourseCode() { return courseCode; }
+
+    /** @return Akademska godina upisa. */
+    public String getAcademicYear() { return academicYear; }
+
+    @Override
+    public Object coalesceKey() {
+        return List.of(EnrollmentEvent.class, studentIndexNumber, courseCode, academicYear);
+    }
+}
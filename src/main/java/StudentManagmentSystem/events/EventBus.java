@@ -0,0 +1,321 @@
+package StudentManagmentSystem.events;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asinhrona magistrala događaja unutar procesa. Servisi objavljuju događaje nakon uspješno
+ * snimljene izmjene, a pretplatnici (keševi, modeli tabela, statistika) ih primaju bez
+ * potrebe da ponovo učitavaju cijele tabele.
+ *
+ * Objavljivanje nikada ne blokira: svaki pretplatnik ima svoj ograničeni red, a događaji
+ * se isporučuju na izvršiocu pretplatnika (podrazumijevano dijeljeni pool daemon niti,
+ * a za Swing npr. {@code SwingUtilities::invokeLater}). Jednom pretplatniku se događaji
+ * isporučuju redom, jedan po jedan.
+ *
+ * Dok događaj čeka u redu, noviji događaj za isti zapis ga zamjenjuje: raniji se uklanja, a
+ * noviji se stavlja na kraj reda, pa se nikada ne isporučuje prije događaja koji su objavljeni
+ * između njih (npr. ponovni upis studenta ne preteče njegovo brisanje). Ako se red ipak
+ * napuni, njegov sadržaj se odbacuje i pretplatniku se javlja {@link EventSubscriber#onEventsDropped()};
+ * do tada pristigli događaji se takođe odbacuju jer ih ponovno učitavanje već obuhvata.
+ *
+ * Kapacitet reda se podešava svojstvom {@code sms.events.queueCapacity}.
+ *
+ * Aplikacija kreira jednu magistralu i dijeli je između svih servisa i pretplatnika.
+ * Podrazumijevani pool niti se pokreće tek pri prvoj pretplati bez zadatog izvršioca,
+ * a gasi se pozivom {@link #close()}.
+ */
+public class EventBus implements AutoCloseable {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = Integer.getInteger("sms.events.queueCapacity", 10_000);
+
+    /** Najviše događaja koje jedna isporuka obradi prije nego što ustupi izvršioca drugima. */
+    private static final int MAX_BATCH = 256;
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final int queueCapacity;
+    private ExecutorService defaultExecutor; // pod zaključavanjem magistrale, kreira se po potrebi
+    private boolean closed = false;
+
+    /**
+     * Kreira magistralu sa podrazumijevanim kapacitetom reda.
+     */
+    public EventBus() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity Najveći broj događaja koji čekaju na isporuku jednom pretplatniku.
+     */
+    public EventBus(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Kapacitet reda mora biti pozitivan.");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Pretplaćuje slušaoca na događaje datog tipa (i njegovih podtipova), sa isporukom
+     * na dijeljenom pool-u niti.
+     *
+     * @param type Tip događaja, npr. {@code EnrollmentEvent.class} ili {@code DomainEvent.class} za sve.
+     * @param listener Slušalac.
+     * @param <E> Tip događaja.
+     * @return Pretplata; {@link Subscription#close()} je otkazuje.
+     */
+    public <E extends DomainEvent> Subscription<E> subscribe(Class<E> type, EventSubscriber<? super E> listener) {
+        return subscribe(type, listener, defaultExecutor());
+    }
+
+    /**
+     * Pretplaćuje slušaoca na događaje datog tipa, sa isporukom na zadatom izvršiocu.
+     *
+     * @param type Tip događaja.
+     * @param listener Slušalac.
+     * @param executor Izvršilac na kojem se slušalac poziva (npr. {@code SwingUtilities::invokeLater}).
+     * @param <E> Tip događaja.
+     * @return Pretplata; {@link Subscription#close()} je otkazuje.
+     * @throws IllegalStateException Ako je magistrala zatvorena.
+     */
+    public <E extends DomainEvent> Subscription<E> subscribe(Class<E> type, EventSubscriber<? super E> listener,
+                                                             Executor executor) {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Magistrala događaja je zatvorena.");
+            }
+        }
+        Subscription<E> subscription = new Subscription<>(this, type, listener, executor, queueCapacity);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Objavljuje događaj svim pretplatnicima čiji tip odgovara. Ne blokira i ne baca
+     * izuzetke pretplatnika; poziva se tek nakon što je izmjena snimljena.
+     *
+     * @param event Događaj.
+     */
+    public void publish(DomainEvent event) {
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Zatvara magistralu: otkazuje sve pretplate i gasi podrazumijevani pool niti.
+     * Događaji objavljeni nakon zatvaranja se odbacuju.
+     */
+    @Override
+    public void close() {
+        ExecutorService executor;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            executor = defaultExecutor;
+            defaultExecutor = null;
+        }
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.close();
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private synchronized ExecutorService defaultExecutor() {
+        if (closed) {
+            throw new IllegalStateException("Magistrala događaja je zatvorena.");
+        }
+        if (defaultExecutor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory daemonFactory = runnable -> {
+                Thread t = new Thread(runnable, "sms-events-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            defaultExecutor = Executors.newCachedThreadPool(daemonFactory);
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Pretplata jednog slušaoca, sa sopstvenim redom događaja koji čekaju na isporuku.
+     *
+     * @param <E> Tip događaja.
+     */
+    public static final class Subscription<E extends DomainEvent> implements AutoCloseable {
+
+        private final EventBus bus;
+        private final Class<E> type;
+        private final EventSubscriber<? super E> listener;
+        private final Executor executor;
+        private final int capacity;
+
+        // Stanje reda; sve pod zaključavanjem ove pretplate
+        private final ArrayDeque<Slot> queue = new ArrayDeque<>(); // sadrži i zamijenjena mjesta (event == null)
+        private final Map<Object, Slot> pendingByKey = new HashMap<>();
+        private int pendingCount = 0;
+        private boolean overflowed = false;
+        private boolean scheduled = false;
+        private volatile boolean closed = false;
+
+        private long coalescedCount = 0;
+        private long droppedCount = 0;
+
+        private Subscription(EventBus bus, Class<E> type, EventSubscriber<? super E> listener,
+                             Executor executor, int capacity) {
+            this.bus = bus;
+            this.type = type;
+            this.listener = listener;
+            this.executor = executor;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Otkazuje pretplatu; događaji koji još čekaju se odbacuju.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            bus.subscriptions.remove(this);
+            synchronized (this) {
+                queue.clear();
+                pendingByKey.clear();
+                pendingCount = 0;
+                overflowed = false;
+            }
+        }
+
+        /**
+         * @return Broj događaja koji su zamijenjeni novijim događajem za isti zapis.
+         */
+        public synchronized long getCoalescedCount() {
+            return coalescedCount;
+        }
+
+        /**
+         * @return Broj događaja odbačenih zbog punog reda.
+         */
+        public synchronized long getDroppedCount() {
+            return droppedCount;
+        }
+
+        private void offer(DomainEvent event) {
+            if (closed || !type.isInstance(event)) return;
+
+            boolean schedule;
+            synchronized (this) {
+                if (overflowed) {
+                    droppedCount++;
+                    return;
+                }
+                Object key = event.coalesceKey();
+                Slot pending = key == null ? null : pendingByKey.get(key);
+                if (pending != null && queue.peekLast() == pending) {
+                    pending.event = event;
+                    coalescedCount++;
+                } else {
+                    if (pending != null) {
+                        // Raniji događaj se uklanja sa svog mjesta, a noviji ide na kraj reda
+                        pending.event = null;
+                        pendingCount--;
+                        coalescedCount++;
+                    }
+                    if (pendingCount >= capacity) {
+                        droppedCount += pendingCount + 1;
+                        queue.clear();
+                        pendingByKey.clear();
+                        pendingCount = 0;
+                        overflowed = true;
+                    } else {
+                        if (queue.size() >= 2 * capacity) {
+                            queue.removeIf(slot -> slot.event == null);
+                        }
+                        Slot slot = new Slot(event, key);
+                        queue.add(slot);
+                        pendingCount++;
+                        if (key != null) pendingByKey.put(key, slot);
+                    }
+                }
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Izvršilac je ugašen zatvaranjem magistrale; preostali događaji se odbacuju
+                synchronized (this) {
+                    scheduled = false;
+                }
+            }
+        }
+
+        /**
+         * Isporučuje najviše {@value #MAX_BATCH} događaja, a ostatak ponovo zakazuje.
+         */
+        private void drain() {
+            for (int delivered = 0; delivered < MAX_BATCH; delivered++) {
+                DomainEvent event;
+                boolean dropped;
+                synchronized (this) {
+                    dropped = overflowed;
+                    overflowed = false;
+                    event = null;
+                    if (!dropped) {
+                        Slot slot;
+                        do {
+                            slot = queue.poll();
+                        } while (slot != null && slot.event == null);
+                        if (slot == null) {
+                            scheduled = false;
+                            return;
+                        }
+                        if (slot.key != null) pendingByKey.remove(slot.key);
+                        pendingCount--;
+                        event = slot.event;
+                    }
+                }
+                if (closed) return;
+                deliver(dropped, event);
+            }
+            scheduleDrain();
+        }
+
+        private void deliver(boolean dropped, DomainEvent event) {
+            try {
+                if (dropped) {
+                    listener.onEventsDropped();
+                } else {
+                    listener.onEvent(type.cast(event));
+                }
+            } catch (RuntimeException e) {
+                System.err.println("GREŠKA u pretplatniku na događaje (" + type.getSimpleName() + "): " + e.getMessage());
+            }
+        }
+
+        private static final class Slot {
+            private DomainEvent event;
+            private final Object key;
+
+            private Slot(DomainEvent event, Object key) {
+                this.event = event;
+                this.key = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package StudentManagmentSystem.events;
+
+/**
+ * Pretplatnik na događaje određenog tipa.
+ *
+ * Događaji za isti zapis se mogu spojiti (vidi {@link DomainEvent#coalesceKey()}), pa obrada
+ * treba da bude idempotentna: npr. dodavanje postojećeg zapisa ga zamjenjuje, a brisanje
+ * nepostojećeg se ignoriše.
+ *
+ * @param <E> Tip događaja.
+ */
+@FunctionalInterface
+public interface EventSubscriber<E extends DomainEvent> {
+
+    /**
+     * Obrađuje jedan događaj.
+     *
+     * @param event Događaj.
+     */
+    void onEvent(E event);
+
+    /**
+     * Poziva se umjesto događaja koji su odbačeni jer pretplatnik nije stizao da ih obradi
+     * (red je bio pun). Pretplatnik tada treba ponovo učitati stanje iz servisa.
+     * Podrazumijevano ne radi ništa.
+     */
+    default void onEventsDropped() {
+    }
+}
@@ -0,0 +1,24 @@
+package StudentManagmentSystem.events;
+
+import StudentManagmentSystem.models.Enrollment;
+
+/**
+ * Ocjena na upisu je unesena ili izmijenjena.
+ */
+public final class GradeChanged extends EnrollmentEvent {
+
+    private final Enrollment enrollment;
+
+    /**
+     * @param enrollment Upis sa novom ocjenom.
+     */
+    public GradeChanged(Enrollment enrollment) {
+        super(enrollment.getStudentIndexNumber(), enrollment.getCourseCode(), enrollment.getAcademicYear());
+        this.enrollment = enrollment;
+    }
+
+    /**
+     * @return Upis sa novom ocjenom.
+     */
+    public Enrollment getEnrollment() { return enrollment; }
+}
@@ -0,0 +1,24 @@
+package StudentManagmentSystem.events;
+
+import StudentManagmentSystem.models.Student;
+
+/**
+ * Student je dodat u sistem.
+ */
+public final class StudentAdded extends StudentEvent {
+
+    private final Student student;
+
+    /**
+     * @param student Dodati student.
+     */
+    public StudentAdded(Student student) {
+        super(student.getIndexNumber());
+        this.student = student;
+    }
+
+    /**
+     * @return Dodati student.
+     */
+    public Student getStudent() { return student; }
+}
@@ -0,0 +1,15 @@
+package StudentManagmentSystem.events;
+
+/**
+ * Student je obrisan. Brisanje se u bazi kaskadno prenosi na sve upise studenta,
+ * za koje se zasebni događaji ne objavljuju.
+ */
+public final class StudentDeleted extends StudentEvent {
+
+    /**
+     * @param indexNumber Broj indeksa obrisanog studenta.
+     */
+    public StudentDeleted(String indexNumber) {
+        super(indexNumber);
+    }
+}
@@ -0,0 +1,28 @@
+package StudentManagmentSystem.events;
+
+import java.util.List;
+
+/**
+ * Događaj o izmjeni jednog studenta.
+ */
+public abstract class StudentEvent extends DomainEvent {
+
+    private final String indexNumber;
+
+    /**
+     * @param indexNumber Broj indeksa studenta na kojeg se događaj odnosi.
+     */
+    protected StudentEvent(String indexNumber) {
+        this.indexNumber = indexNumber;
+    }
+
+    /**
+     * @return Broj indeksa studenta.
+     */
+    public String getIndexNumber() { return indexNumber; }
+
+    @Override
+    public Object coalesceKey() {
+        return List.of(StudentEvent.class, indexNumber);
+    }
+}
@@ -0,0 +1,41 @@
+package StudentManagmentSystem.events;
+
+import StudentManagmentSystem.models.Student;
+
+/**
+ * Podaci studenta su izmijenjeni. Broj indeksa se može promijeniti izmjenom,
+ * pa događaj nosi i raniji broj.
+ */
+public final class StudentUpdated extends StudentEvent {
+
+    private final String previousIndexNumber;
+    private final Student student;
+
+    /**
+     * @param previousIndexNumber Broj indeksa prije izmjene.
+     * @param student Novo stanje studenta.
+     */
+    public StudentUpdated(String previousIndexNumber, Student student) {
+        super(student.getIndexNumber());
+        this.previousIndexNumber = previousIndexNumber;
+        this.student = student;
+    }
+
+    /**
+     * @return Broj indeksa prije izmjene.
+     */
+    public String getPreviousIndexNumber() { return previousIndexNumber; }
+
+    /**
+     * @return Novo stanje studenta.
+     */
+    public Student getStudent() { return student; }
+
+    /**
+     * Izmjena broja indeksa se ne spaja, kako pretplatnik ne bi propustio uklanjanje starog ključa.
+     */
+    @Override
+    public Object coalesceKey() {
+        return previousIndexNumber.equals(getIndexNumber()) ? super.coalesceKey() : null;
+    }
+}
@@ -0,0 +1,105 @@
+package StudentManagmentSystem.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jednostavan čitač CSV fajlova koji vraća jedan zapis po pozivu.
+ * Fajl se nikada ne učitava cijeli u memoriju, pa je potrošnja memorije ista
+ * bez obzira na broj redova. Podržava polja pod navodnicima (uključujući
+ * separatore, nove redove i udvostručene navodnike {@code ""} unutar polja).
+ */
+public class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private long lineNumber = 0;
+
+    /**
+     * @param reader Izvor podataka.
+     * @param delimiter Separator kolona (najčešće {@code ','} ili {@code ';'}).
+     */
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Čita sljedeći zapis. Potpuno prazni redovi se preskaču.
+     *
+     * @return Lista vrijednosti kolona, ili {@code null} na kraju fajla.
+     * @throws IOException Ako čitanje ne uspije ili polje pod navodnicima nije zatvoreno.
+     */
+    public List<String> readRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) return null;
+            lineNumber++;
+        } while (line.isEmpty());
+
+        // Uklanjanje BOM oznake koju dodaju neki programi za tabele
+        if (lineNumber == 1 && line.charAt(0) == '\uFEFF') {
+            line = line.substring(1);
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+                // Polje pod navodnicima se nastavlja u sljedećem redu
+                String next = reader.readLine();
+                if (next == null) {
+                    throw new IOException("Nezatvoreni navodnici u CSV zapisu (red " + lineNumber + ").");
+                }
+                lineNumber++;
+                field.append('\n');
+                line = next;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * @return Broj posljednjeg pročitanog fizičkog reda u fajlu (počevši od 1).
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,77 @@
+package StudentManagmentSystem.io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pisač CSV fajlova koji zapise odmah prosljeđuje u izlazni tok.
+ * Polja koja sadrže separator, navodnike ili nove redove se stavljaju pod navodnike,
+ * a navodnici unutar polja se udvostručuju, kako bi ih {@link CsvReader} ispravno pročitao.
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+    private final char delimiter;
+
+    /**
+     * @param writer Odredište podataka.
+     * @param delimiter Separator kolona.
+     */
+    public CsvWriter(Writer writer, char delimiter) {
+        this.writer = (writer instanceof BufferedWriter) ? writer : new BufferedWriter(writer);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Upisuje jedan zapis. Vrijednost {@code null} se upisuje kao prazno polje.
+     *
+     * @param fields Vrijednosti kolona.
+     * @throws IOException Ako pisanje ne uspije.
+     */
+    public void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) writer.write(delimiter);
+            writeField(fields.get(i));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Upisuje jedan zapis.
+     *
+     * @param fields Vrijednosti kolona.
+     * @throws IOException Ako pisanje ne uspije.
+     */
+    public void writeRecord(String... fields) throws IOException {
+        writeRecord(Arrays.asList(fields));
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) return;
+
+        boolean needsQuotes = value.indexOf(delimiter) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,92 @@
+package StudentManagmentSystem.io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Pisač NDJSON formata (jedan JSON objekat po redu).
+ * Podržane vrijednosti su {@code null}, brojevi, logičke vrijednosti i tekst;
+ * sve ostalo se upisuje kao tekst dobijen iz {@code toString()}.
+ */
+public class NdjsonWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+
+    /**
+     * @param writer Odredište podataka.
+     */
+    public NdjsonWriter(Writer writer) {
+        this.writer = (writer instanceof BufferedWriter) ? writer : new BufferedWriter(writer);
+    }
+
+    /**
+     * Upisuje jedan objekat sa zadatim nazivima i vrijednostima polja.
+     *
+     * @param names Nazivi polja.
+     * @param values Vrijednosti polja, istim redoslijedom kao nazivi.
+     * @throws IOException Ako pisanje ne uspije.
+     * @throws IllegalArgumentException Ako se broj naziva i vrijednosti razlikuje.
+     */
+    public void writeRecord(List<String> names, List<?> values) throws IOException {
+        if (names.size() != values.size()) {
+            throw new IllegalArgumentException("Broj naziva i vrijednosti polja se ne poklapa.");
+        }
+        writer.write('{');
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) writer.write(',');
+            writeString(names.get(i));
+            writer.write(':');
+            writeValue(values.get(i));
+        }
+        writer.write("}\n");
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            writer.write(value.toString());
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    /**
+     * Upisuje tekst pod navodnicima, uz escape kontrolnih znakova prema JSON specifikaciji.
+     */
+    private void writeString(String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,50 @@
+package StudentManagmentSystem.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provjerava da FTS5 indeksi iz migracije 5 odgovaraju tabelama čiji tekst indeksiraju.
+ *
+ * {@code StudentFts} i {@code PredmetFts} su "external content" tabele vezane za implicitni
+ * {@code rowid} tabela {@code Student}/{@code Predmet}, čiji je primarni ključ tekstualan.
+ * {@code VACUUM} može te {@code rowid}-ove prenumerisati, a {@code INSERT OR REPLACE} zamjenjuje
+ * red bez okidača za brisanje; indeks bi tada tiho vraćao pogrešne redove. Zato se pri svakom
+ * pokretanju izvršava {@code 'integrity-check'} uz poređenje sa sadržajem tabele
+ * ({@code rank = 1}), a indeks koji ne odgovara se gradi iznova komandom {@code 'rebuild'}.
+ */
+public final class FtsIndexVerifier {
+
+    /** FTS tabele koje se provjeravaju. */
+    private static final String[] FTS_TABLES = {"StudentFts", "PredmetFts"};
+
+    private FtsIndexVerifier() {
+    }
+
+    /**
+     * Provjerava sve FTS indekse i ponovo gradi one koji ne odgovaraju sadržaju tabele.
+     *
+     * @param connection Otvorena konekcija (u auto-commit režimu).
+     * @return Lista FTS tabela koje su ponovo izgrađene (prazna ako je sve ispravno).
+     * @throws SQLException Ukoliko ponovna izgradnja indeksa ne uspije.
+     */
+    public static List<String> verifyAndRepair(Connection connection) throws SQLException {
+        List<String> rebuilt = new ArrayList<>();
+        try (Statement stmt = connection.createStatement()) {
+            for (String table : FTS_TABLES) {
+                try {
+                    stmt.execute("INSERT INTO " + table + "(" + table + ", rank) VALUES('integrity-check', 1)");
+                } catch (SQLException e) {
+                    System.err.println("UPOZORENJE: FTS indeks " + table + " ne odgovara sadržaju tabele (" +
+                            e.getMessage() + "); indeks se gradi iznova.");
+                    stmt.execute("INSERT INTO " + table + "(" + table + ") VALUES('rebuild')");
+                    rebuilt.add(table);
+                }
+            }
+        }
+        return rebuilt;
+    }
+}
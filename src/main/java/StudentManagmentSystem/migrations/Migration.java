@@ -0,0 +1,31 @@
+package StudentManagmentSystem.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Jedna numerisana izmjena šeme baze podataka.
+ * Migracije se izvršavaju redom, po rastućoj verziji, i svaka se izvršava tačno jednom;
+ * primijenjene verzije se bilježe u tabeli {@code schema_version}.
+ */
+public interface Migration {
+
+    /**
+     * @return Redni broj migracije (mora biti jedinstven i veći od nule).
+     */
+    int getVersion();
+
+    /**
+     * @return Kratak opis izmjene koji se upisuje u {@code schema_version}.
+     */
+    String getDescription();
+
+    /**
+     * Primjenjuje izmjenu nad bazom. Poziva se unutar transakcije koju otvara
+     * {@link MigrationRunner}, pa implementacija ne smije sama raditi commit.
+     *
+     * @param connection Konekcija sa isključenim auto-commit režimom.
+     * @throws SQLException Ukoliko neka od SQL naredbi ne uspije.
+     */
+    void apply(Connection connection) throws SQLException;
+}
@@ -0,0 +1,102 @@
+package StudentManagmentSystem.migrations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Izvršava migracije šeme koje još nisu primijenjene.
+ * Trenutna verzija šeme se čita iz tabele {@code schema_version}; svaka nova migracija
+ * se izvršava u zasebnoj transakciji zajedno sa upisom svoje verzije, tako da
+ * neuspjela migracija ne ostavlja bazu u polovičnom stanju.
+ */
+public class MigrationRunner {
+
+    private static final String SQL_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "verzija INTEGER PRIMARY KEY NOT NULL, " +
+            "opis TEXT NOT NULL, " +
+            "datumPrimjene TEXT DEFAULT (datetime('now','localtime')));";
+
+    private final List<Migration> migrations;
+
+    /**
+     * @param migrations Sve poznate migracije; redoslijed u listi nije bitan.
+     * @throws IllegalArgumentException Ako dvije migracije imaju istu verziju.
+     */
+    public MigrationRunner(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Dupla verzija migracije: " + sorted.get(i).getVersion());
+            }
+        }
+        this.migrations = sorted;
+    }
+
+    /**
+     * Dovodi šemu na najnoviju verziju.
+     *
+     * @param connection Konekcija nad kojom se izvršavaju migracije.
+     * @return Broj primijenjenih migracija (0 ako je šema već ažurna).
+     * @throws SQLException Ukoliko neka migracija ne uspije; ta migracija se poništava.
+     */
+    public int migrate(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(SQL_VERSION_TABLE);
+        }
+
+        int current = currentVersion(connection);
+        int applied = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            for (Migration migration : migrations) {
+                if (migration.getVersion() <= current) continue;
+                try {
+                    migration.apply(connection);
+                    recordVersion(connection, migration);
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw new SQLException("Migracija " + migration.getVersion() + " (" +
+                            migration.getDescription() + ") nije uspjela: " + e.getMessage(), e);
+                }
+                System.out.println("Sistem: Primijenjena migracija " + migration.getVersion() +
+                        " - " + migration.getDescription());
+                applied++;
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+
+    /**
+     * Vraća najveću primijenjenu verziju šeme.
+     *
+     * @param connection Otvorena konekcija.
+     * @return Verzija šeme ili 0 ako nijedna migracija nije primijenjena.
+     * @throws SQLException Ukoliko čitanje ne uspije.
+     */
+    public static int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(verzija), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void recordVersion(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO schema_version (verzija, opis) VALUES (?, ?)")) {
+            ps.setInt(1, migration.getVersion());
+            ps.setString(2, migration.getDescription());
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package StudentManagmentSystem.migrations;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provjerava putem {@code EXPLAIN QUERY PLAN} da SQLite planer zaista koristi
+ * indekse za najčešće upite repozitorijuma. Indeks koji postoji, ali ga planer
+ * ne bira (npr. zbog pogrešne kolacije), inače bi ostao neprimijećen.
+ */
+public final class QueryPlanVerifier {
+
+    /**
+     * Reprezentativni upit zajedno sa indeksom koji bi planer trebao izabrati.
+     * Vrijednosti su upisane kao literali jer SQLite optimizaciju {@code LIKE} prefiksa
+     * ne može primijeniti na nevezani parametar.
+     */
+    private static final String[][] EXPECTED_PLANS = {
+            {"CourseRepository.hasEnrollments",
+                    "SELECT COUNT(*) FROM Upis WHERE sifraPredmeta = 'X'", "idx_upis_predmet"},
+            {"CourseRepository.getCoursesByReferent",
+                    "SELECT * FROM Predmet WHERE referentId = 'X'", "idx_predmet_referent"},
+            {"CourseRepository.findCoursesByNamePrefix",
+                    "SELECT rowid FROM PredmetFts WHERE PredmetFts MATCH 'x*'", "VIRTUAL TABLE INDEX"},
+            {"StudentRepository.findByLastNamePrefix",
+                    "SELECT rowid FROM StudentFts WHERE StudentFts MATCH 'x*'", "VIRTUAL TABLE INDEX"},
+            {"StudentRepository.searchStudents (prezime)",
+                    "SELECT brojIndeksa FROM Student WHERE prezimeNormalizovano LIKE 'x%' ESCAPE '\\'", "idx_student_prezime_norm"},
+            {"StudentRepository.searchStudents (ime)",
+                    "SELECT brojIndeksa FROM Student WHERE imeNormalizovano LIKE 'x%' ESCAPE '\\'", "idx_student_ime_norm"},
+            {"StudentRepository.searchStudents (indeks)",
+                    "SELECT brojIndeksa FROM Student WHERE brojIndeksa LIKE 'X%' ESCAPE '\\'", "idx_student_indeks_nocase"},
+            {"EnrollmentRepository.findByStudentAndYear",
+                    "SELECT * FROM Upis WHERE brojIndeksa = 'X' AND akademskaGodina = 'Y'", "sqlite_autoindex_Upis_1"}
+    };
+
+    private QueryPlanVerifier() {
+    }
+
+    /**
+     * Izvršava provjeru i ispisuje upozorenje za svaki upit koji ne koristi očekivani indeks.
+     *
+     * @param connection Otvorena konekcija.
+     * @return Lista naziva upita koji ne koriste očekivani indeks (prazna ako je sve ispravno).
+     * @throws SQLException Ukoliko {@code EXPLAIN QUERY PLAN} ne uspije.
+     */
+    public static List<String> verify(Connection connection) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (Statement stmt = connection.createStatement()) {
+            for (String[] expected : EXPECTED_PLANS) {
+                String plan = explain(stmt, expected[1]);
+                if (!plan.contains(expected[2])) {
+                    problems.add(expected[0]);
+                    System.err.println("UPOZORENJE: Upit " + expected[0] + " ne koristi indeks " +
+                            expected[2] + ". Plan: " + plan);
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static String explain(Statement stmt, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                if (plan.length() > 0) plan.append(" | ");
+                plan.append(rs.getString("detail"));
+            }
+        }
+        return plan.toString();
+    }
+}
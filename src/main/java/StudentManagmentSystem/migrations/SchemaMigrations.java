@@ -0,0 +1,249 @@
+package StudentManagmentSystem.migrations;
+
+import java.util.List;
+
+/**
+ * Katalog svih migracija šeme baze podataka, poredanih po verziji.
+ * Nova izmjena šeme se dodaje isključivo kao nova migracija na kraj liste;
+ * postojeće migracije se nikada ne mijenjaju jer su već primijenjene na produkcijskim bazama.
+ */
+public final class SchemaMigrations {
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Migracija 1: osnovna šema.
+     * Tabele se kreiraju sa {@code IF NOT EXISTS}, pa je migracija bezbjedna i za baze
+     * kreirane prije uvođenja verzionisanja šeme.
+     * * Redoslijed kreiranja:
+     * 1. Referent (nema zavisnosti)
+     * 2. Student & Predmet (zavise od Referenta)
+     * 3. Upis (zavisi od Studenta, Predmeta i Referenta)
+     */
+    private static final Migration V1_INITIAL_SCHEMA = new SqlMigration(1, "Osnovna šema (Referent, Student, Predmet, Upis)",
+            // SQL za tabelu Referent - osnova sistema autentifikacije
+            "CREATE TABLE IF NOT EXISTS Referent (" +
+                    "sifraReferenta TEXT PRIMARY KEY NOT NULL, " +
+                    "password TEXT NOT NULL, " +
+                    "ime TEXT NOT NULL, " +
+                    "prezime TEXT NOT NULL, " +
+                    "datumKreiranja TEXT DEFAULT (datetime('now','localtime')));",
+
+            // SQL za tabelu Student - uključuje audit polja i vezu sa referentom
+            "CREATE TABLE IF NOT EXISTS Student (" +
+                    "brojIndeksa TEXT PRIMARY KEY NOT NULL, " +
+                    "sifra TEXT NOT NULL, " +
+                    "ime TEXT NOT NULL, " +
+                    "prezime TEXT NOT NULL, " +
+                    "studijskiProgram TEXT NOT NULL, " +
+                    "godinaUpisa INTEGER NOT NULL, " +
+                    "datumKreiranja TEXT DEFAULT (datetime('now','localtime')), " +
+                    "datumAzuriranja TEXT, " +
+                    "referentKojiJeDodao TEXT, " +
+                    "FOREIGN KEY (referentKojiJeDodao) REFERENCES Referent(sifraReferenta));",
+
+            // SQL za tabelu Predmet - sadrži ECTS bodove i semestar
+            "CREATE TABLE IF NOT EXISTS Predmet (" +
+                    "sifraPredmeta TEXT PRIMARY KEY NOT NULL, " +
+                    "naziv TEXT NOT NULL, " +
+                    "ects INTEGER NOT NULL, " +
+                    "semestar INTEGER NOT NULL, " +
+                    "referentId TEXT, " +
+                    "datumKreiranja TEXT DEFAULT (datetime('now','localtime')), " +
+                    "datumAzuriranja TEXT, " +
+                    "FOREIGN KEY (referentId) REFERENCES Referent(sifraReferenta));",
+
+            // SQL za tabelu Upis - veza N:M između Studenta i Predmeta sa dodatnim atributima (ocjena)
+            "CREATE TABLE IF NOT EXISTS Upis (" +
+                    "brojIndeksa TEXT NOT NULL, " +
+                    "sifraPredmeta TEXT NOT NULL, " +
+                    "akademskaGodina TEXT NOT NULL, " +
+                    "ocjena INTEGER, " +
+                    "datumOcjene TEXT, " +
+                    "razlogIzmjeneOcjene TEXT, " +
+                    "datumIzmjene TEXT, " +
+                    "referentKojiJeDodao TEXT, " +
+                    "referentKojiJeIzmijenio TEXT, " +
+                    "PRIMARY KEY (brojIndeksa, sifraPredmeta, akademskaGodina), " +
+                    "FOREIGN KEY (brojIndeksa) REFERENCES Student(brojIndeksa) ON DELETE CASCADE, " +
+                    "FOREIGN KEY (sifraPredmeta) REFERENCES Predmet(sifraPredmeta) ON DELETE CASCADE, " +
+                    "FOREIGN KEY (referentKojiJeDodao) REFERENCES Referent(sifraReferenta), " +
+                    "FOREIGN KEY (referentKojiJeIzmijenio) REFERENCES Referent(sifraReferenta));"
+    );
+
+    /**
+     * Migracija 2: sekundarni indeksi za upite koji su do sada skenirali cijelu tabelu.
+     * Primarni ključ tabele {@code Upis} već pokriva upite po broju indeksa, pa se dodaje
+     * samo indeks po predmetu. Indeksi nad nazivima koriste NOCASE kolaciju jer je SQLite
+     * {@code LIKE} podrazumijevano neosjetljiv na velika/mala slova i samo takav indeks
+     * može iskoristiti za pretragu po prefiksu.
+     */
+    private static final Migration V2_SECONDARY_INDEXES = new SqlMigration(2, "Sekundarni indeksi za Upis, Student i Predmet",
+            "CREATE INDEX IF NOT EXISTS idx_upis_predmet ON Upis(sifraPredmeta, akademskaGodina);",
+            "CREATE INDEX IF NOT EXISTS idx_student_prezime ON Student(prezime COLLATE NOCASE);",
+            "CREATE INDEX IF NOT EXISTS idx_predmet_naziv ON Predmet(naziv COLLATE NOCASE);",
+            "CREATE INDEX IF NOT EXISTS idx_predmet_referent ON Predmet(referentId);",
+            "ANALYZE;"
+    );
+
+    /**
+     * Migracija 3: tekuće sume i brojevi prolaznih ocjena (6-10) na nivou sistema,
+     * predmeta i akademske godine. Tabelu {@code StatistikaOcjena} održavaju okidači nad
+     * tabelom {@code Upis}, pa se svaka promjena ocjene (unos, izmjena, brisanje upisa,
+     * kaskadno brisanje studenta ili predmeta) primjenjuje kao razlika u istoj transakciji
+     * kao i sama izmjena. Postojeći podaci se jednom preračunavaju pri migraciji.
+     * * Vrste zapisa ({@code tip}):
+     * SISTEM  - jedan zapis sa praznim ključem
+     * PREDMET - ključ je šifra predmeta
+     * GODINA  - ključ je akademska godina
+     */
+    private static final Migration V3_GRADE_STATISTICS = new SqlMigration(3, "Inkrementalna statistika ocjena (StatistikaOcjena)",
+            "CREATE TABLE IF NOT EXISTS StatistikaOcjena (" +
+                    "tip TEXT NOT NULL, " +
+                    "kljuc TEXT NOT NULL, " +
+                    "sumaOcjena INTEGER NOT NULL DEFAULT 0, " +
+                    "brojOcjena INTEGER NOT NULL DEFAULT 0, " +
+                    "PRIMARY KEY (tip, kljuc)) WITHOUT ROWID;",
+
+            "DELETE FROM StatistikaOcjena;",
+            "INSERT INTO StatistikaOcjena (tip, kljuc, sumaOcjena, brojOcjena) " +
+                    "SELECT 'SISTEM', '', COALESCE(SUM(ocjena), 0), COUNT(ocjena) FROM Upis WHERE ocjena >= 6;",
+            "INSERT INTO StatistikaOcjena (tip, kljuc, sumaOcjena, brojOcjena) " +
+                    "SELECT 'PREDMET', sifraPredmeta, SUM(ocjena), COUNT(ocjena) FROM Upis WHERE ocjena >= 6 GROUP BY sifraPredmeta;",
+            "INSERT INTO StatistikaOcjena (tip, kljuc, sumaOcjena, brojOcjena) " +
+                    "SELECT 'GODINA', akademskaGodina, SUM(ocjena), COUNT(ocjena) FROM Upis WHERE ocjena >= 6 GROUP BY akademskaGodina;",
+
+            "CREATE TRIGGER IF NOT EXISTS trg_upis_statistika_insert AFTER INSERT ON Upis " +
+                    "WHEN NEW.ocjena >= 6 BEGIN " + addGrade("NEW") + " END;",
+            "CREATE TRIGGER IF NOT EXISTS trg_upis_statistika_delete AFTER DELETE ON Upis " +
+                    "WHEN OLD.ocjena >= 6 BEGIN " + removeGrade("OLD") + " END;",
+            "CREATE TRIGGER IF NOT EXISTS trg_upis_statistika_update " +
+                    "AFTER UPDATE OF ocjena, sifraPredmeta, akademskaGodina ON Upis " +
+                    "WHEN OLD.ocjena >= 6 OR NEW.ocjena >= 6 BEGIN " +
+                    removeGrade("OLD") + " " + addGrade("NEW") + " END;"
+    );
+
+    /**
+     * Migracija 4: indeksi za pretragu studenata po prefiksu imena i broja indeksa.
+     * Primarni ključ koristi BINARY kolaciju, pa ga {@code LIKE} (neosjetljiv na velika/mala
+     * slova) ne može koristiti; zato se dodaje i NOCASE indeks nad brojem indeksa.
+     */
+    private static final Migration V4_STUDENT_SEARCH_INDEXES = new SqlMigration(4, "Indeksi za pretragu studenata",
+            "CREATE INDEX IF NOT EXISTS idx_student_ime ON Student(ime COLLATE NOCASE);",
+            "CREATE INDEX IF NOT EXISTS idx_student_indeks_nocase ON Student(brojIndeksa COLLATE NOCASE);",
+            "ANALYZE Student;"
+    );
+
+    /**
+     * Migracija 5: FTS5 indeksi za pretragu po imenu i prezimenu studenta i po nazivu predmeta.
+     * Tabele su "external content": ne čuvaju kopiju teksta, nego čitaju kolone iz
+     * {@code Student}/{@code Predmet} preko {@code rowid}-a, a okidači ih održavaju u istoj
+     * transakciji kao i izmjenu. Tokenizator uklanja dijakritike ("mehic" pronalazi "Mehić"),
+     * a {@code prefix='2 3'} gradi dodatne indekse za kratke prefikse.
+     * Postojeći podaci se indeksiraju komandom {@code 'rebuild'}. Kako {@code VACUUM} može
+     * promijeniti {@code rowid} redova, {@link FtsIndexVerifier} pri svakom pokretanju provjerava
+     * indekse i po potrebi ih ponovo gradi.
+     */
+    private static final Migration V5_FULL_TEXT_SEARCH = new SqlMigration(5, "FTS5 pretraga studenata i predmeta",
+            "CREATE VIRTUAL TABLE IF NOT EXISTS StudentFts USING fts5(ime, prezime, " +
+                    "content='Student', content_rowid='rowid', " +
+                    "tokenize='unicode61 remove_diacritics 2', prefix='2 3');",
+            "INSERT INTO StudentFts(StudentFts) VALUES('rebuild');",
+            "CREATE TRIGGER IF NOT EXISTS trg_student_fts_insert AFTER INSERT ON Student BEGIN " +
+                    ftsInsert("StudentFts", "NEW", "ime", "prezime") + " END;",
+            "CREATE TRIGGER IF NOT EXISTS trg_student_fts_delete AFTER DELETE ON Student BEGIN " +
+                    ftsDelete("StudentFts", "OLD", "ime", "prezime") + " END;",
+            "CREATE TRIGGER IF NOT EXISTS trg_student_fts_update AFTER UPDATE OF ime, prezime ON Student BEGIN " +
+                    ftsDelete("StudentFts", "OLD", "ime", "prezime") + " " +
+                    ftsInsert("StudentFts", "NEW", "ime", "prezime") + " END;",
+
+            "CREATE VIRTUAL TABLE IF NOT EXISTS PredmetFts USING fts5(naziv, " +
+                    "content='Predmet', content_rowid='rowid', " +
+                    "tokenize='unicode61 remove_diacritics 2', prefix='2 3');",
+            "INSERT INTO PredmetFts(PredmetFts) VALUES('rebuild');",
+            "CREATE TRIGGER IF NOT EXISTS trg_predmet_fts_insert AFTER INSERT ON Predmet BEGIN " +
+                    ftsInsert("PredmetFts", "NEW", "naziv") + " END;",
+            "CREATE TRIGGER IF NOT EXISTS trg_predmet_fts_delete AFTER DELETE ON Predmet BEGIN " +
+                    ftsDelete("PredmetFts", "OLD", "naziv") + " END;",
+            "CREATE TRIGGER IF NOT EXISTS trg_predmet_fts_update AFTER UPDATE OF naziv ON Predmet BEGIN " +
+                    ftsDelete("PredmetFts", "OLD", "naziv") + " " +
+                    ftsInsert("PredmetFts", "NEW", "naziv") + " END;"
+    );
+
+    /**
+     * Naredba unutar okidača koja dodaje red {@code row} (NEW) u FTS tabelu.
+     */
+    private static String ftsInsert(String ftsTable, String row, String... columns) {
+        return "INSERT INTO " + ftsTable + "(rowid, " + String.join(", ", columns) + ") " +
+                "VALUES (" + row + ".rowid, " + prefixed(row, columns) + ");";
+    }
+
+    /**
+     * Naredba unutar okidača koja uklanja red {@code row} (OLD) iz FTS tabele.
+     * External content tabela zahtijeva stare vrijednosti kolona kako bi uklonila njihove tokene.
+     */
+    private static String ftsDelete(String ftsTable, String row, String... columns) {
+        return "INSERT INTO " + ftsTable + "(" + ftsTable + ", rowid, " + String.join(", ", columns) + ") " +
+                "VALUES ('delete', " + row + ".rowid, " + prefixed(row, columns) + ");";
+    }
+
+    private static String prefixed(String row, String... columns) {
+        StringBuilder sb = new StringBuilder();
+        for (String column : columns) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(row).append('.').append(column);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Naredbe unutar okidača koje dodaju ocjenu reda {@code row} (NEW ili OLD) u sva tri nivoa.
+     * Svaka naredba nosi uslov {@code ocjena >= 6}, pa se isti tekst može koristiti i u
+     * okidaču za izmjenu, gdje samo jedna od dvije verzije reda može biti prolazna.
+     */
+    private static String addGrade(String row) {
+        StringBuilder sql = new StringBuilder();
+        for (String[] scope : statisticScopes(row)) {
+            sql.append("INSERT OR IGNORE INTO StatistikaOcjena (tip, kljuc) SELECT '")
+                    .append(scope[0]).append("', ").append(scope[1])
+                    .append(" WHERE ").append(row).append(".ocjena >= 6; ");
+            sql.append("UPDATE StatistikaOcjena SET sumaOcjena = sumaOcjena + ").append(row).append(".ocjena, ")
+                    .append("brojOcjena = brojOcjena + 1 WHERE tip = '").append(scope[0])
+                    .append("' AND kljuc = ").append(scope[1])
+                    .append(" AND ").append(row).append(".ocjena >= 6; ");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Naredbe unutar okidača koje oduzimaju ocjenu reda {@code row} iz sva tri nivoa.
+     */
+    private static String removeGrade(String row) {
+        StringBuilder sql = new StringBuilder();
+        for (String[] scope : statisticScopes(row)) {
+            sql.append("UPDATE StatistikaOcjena SET sumaOcjena = sumaOcjena - ").append(row).append(".ocjena, ")
+                    .append("brojOcjena = brojOcjena - 1 WHERE tip = '").append(scope[0])
+                    .append("' AND kljuc = ").append(scope[1])
+                    .append(" AND ").append(row).append(".ocjena >= 6; ");
+        }
+        return sql.toString();
+    }
+
+    /** Parovi (tip, izraz ključa) za sve nivoe statistike. */
+    private static String[][] statisticScopes(String row) {
+        return new String[][]{
+                {"SISTEM", "''"},
+                {"PREDMET", row + ".sifraPredmeta"},
+                {"GODINA", row + ".akademskaGodina"}
+        };
+    }
+
+    /**
+     * @return Sve migracije, poredane po verziji.
+     */
+    public static List<Migration> all() {
+        return List.of(V1_INITIAL_SCHEMA, V2_SECONDARY_INDEXES, V3_GRADE_STATISTICS,
+                V4_STUDENT_SEARCH_INDEXES, V5_FULL_TEXT_SEARCH, new StudentSearchColumnsMigration());
+    }
+}
@@ -0,0 +1,42 @@
+package StudentManagmentSystem.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Migracija opisana nizom SQL naredbi koje se izvršavaju redom.
+ */
+public class SqlMigration implements Migration {
+
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+
+    /**
+     * @param version Redni broj migracije.
+     * @param description Opis izmjene.
+     * @param statements SQL naredbe (DDL ili DML) koje čine migraciju.
+     */
+    public SqlMigration(int version, String description, String... statements) {
+        this.version = version;
+        this.description = description;
+        this.statements = List.of(statements);
+    }
+
+    @Override
+    public int getVersion() { return version; }
+
+    @Override
+    public String getDescription() { return description; }
+
+    @Override
+    public void apply(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
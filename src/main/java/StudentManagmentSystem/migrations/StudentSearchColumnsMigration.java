@@ -0,0 +1,66 @@
+package StudentManagmentSystem.migrations;
+
+import StudentManagmentSystem.search.TextNormalizer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Migracija 6: normalizovane kolone {@code imeNormalizovano} i {@code prezimeNormalizovano}
+ * za pretragu studenata po prefiksu.
+ *
+ * SQLite {@code NOCASE} i {@code LIKE} izjednačavaju velika i mala slova samo za ASCII,
+ * pa "čol" ne pronalazi "Čolić". Kolone zato čuvaju vrijednost iz {@link TextNormalizer}
+ * (mala slova, bez dijakritika), koju repozitorijum upisuje pri svakom dodavanju i izmjeni.
+ * Normalizacija se radi u Javi, pa se postojeći redovi popunjavaju ovdje, a ne SQL naredbom.
+ */
+final class StudentSearchColumnsMigration implements Migration {
+
+    /** Broj izmjena koje se šalju bazi u jednom {@code executeBatch} pozivu. */
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    @Override
+    public int getVersion() { return 6; }
+
+    @Override
+    public String getDescription() { return "Normalizovane kolone za pretragu studenata"; }
+
+    @Override
+    public void apply(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE Student ADD COLUMN imeNormalizovano TEXT NOT NULL DEFAULT ''");
+            stmt.execute("ALTER TABLE Student ADD COLUMN prezimeNormalizovano TEXT NOT NULL DEFAULT ''");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT rowid, ime, prezime FROM Student");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE Student SET imeNormalizovano = ?, prezimeNormalizovano = ? WHERE rowid = ?")) {
+            int pending = 0;
+            while (rs.next()) {
+                update.setString(1, TextNormalizer.normalize(rs.getString("ime")));
+                update.setString(2, TextNormalizer.normalize(rs.getString("prezime")));
+                update.setLong(3, rs.getLong("rowid"));
+                update.addBatch();
+                if (++pending == UPDATE_BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            // Indeks iz migracije 4 služio je samo pretrazi po imenu, koja sada koristi novu kolonu
+            stmt.execute("DROP INDEX IF EXISTS idx_student_ime");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_student_ime_norm ON Student(imeNormalizovano COLLATE NOCASE)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_student_prezime_norm ON Student(prezimeNormalizovano COLLATE NOCASE)");
+            stmt.execute("ANALYZE Student");
+        }
+    }
+}
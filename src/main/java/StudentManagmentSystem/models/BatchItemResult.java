@@ -0,0 +1,70 @@
+package StudentManagmentSystem.models;
+
+/**
+ * Rezultat obrade jedne stavke u okviru grupne (batch) operacije.
+ * Grupne operacije ne prekidaju se na prvoj neispravnoj stavci, nego za svaku
+ * stavku vraćaju ovakav rezultat, redoslijedom kojim su stavke predate.
+ * * @param <T> Tip obrađene stavke (npr. {@link Enrollment}).
+ * @author Kenan Boračić
+ * @version 1.0
+ */
+public class BatchItemResult<T> {
+
+    /** Stavka na koju se rezultat odnosi */
+    private final T item;
+
+    /** Da li je stavka uspješno obrađena */
+    private final boolean success;
+
+    /** Razlog odbijanja stavke, ili {@code null} ako je obrada uspjela */
+    private final String errorMessage;
+
+    private BatchItemResult(T item, boolean success, String errorMessage) {
+        this.item = item;
+        this.success = success;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Kreira rezultat za uspješno obrađenu stavku.
+     *
+     * @param item Obrađena stavka.
+     * @param <T> Tip stavke.
+     * @return Uspješan rezultat.
+     */
+    public static <T> BatchItemResult<T> success(T item) {
+        return new BatchItemResult<>(item, true, null);
+    }
+
+    /**
+     * Kreira rezultat za odbijenu stavku.
+     *
+     * @param item Odbijena stavka.
+     * @param errorMessage Razlog odbijanja.
+     * @param <T> Tip stavke.
+     * @return Neuspješan rezultat.
+     */
+    public static <T> BatchItemResult<T> failure(T item, String errorMessage) {
+        return new BatchItemResult<>(item, false, errorMessage);
+    }
+
+    /** * Dohvata stavku na koju se rezultat odnosi.
+     * @return Obrađena stavka.
+     */
+    public T getItem() { return item; }
+
+    /** * Provjerava da li je stavka uspješno obrađena.
+     * @return {@code true} ako je obrada uspjela.
+     */
+    public boolean isSuccess() { return success; }
+
+    /** * Dohvata razlog odbijanja stavke.
+     * @return Poruka greške ili {@code null} za uspješne stavke.
+     */
+    public String getErrorMessage() { return errorMessage; }
+
+    @Override
+    public String toString() {
+        return (success ? "OK: " : "ODBIJENO: ") + item + (success ? "" : " (" + errorMessage + ")");
+    }
+}
@@ -71,6 +71,18 @@ public class Course {
         this.addedByReferentId = addedByReferentId;
     }
 
+    /**
+     * Konstruktor kopije.
+     * Koristi se kada servis vraća predmet iz keširanog kataloga, kako izmjene pozivaoca
+     * ne bi promijenile katalog.
+     *
+     * @param other Predmet čiji se podaci kopiraju.
+     */
+    public Course(Course other) {
+        this(other.courseCode, other.name, other.ects, other.semester,
+                other.createdAt, other.updatedAt, other.addedByReferentId);
+    }
+
     // --- GETTERS AND SETTERS ---
 
     /** * Dohvata jedinstvenu šifru kursa.
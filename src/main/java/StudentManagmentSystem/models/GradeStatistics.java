@@ -0,0 +1,50 @@
+package StudentManagmentSystem.models;
+
+/**
+ * Tekuća suma i broj prolaznih ocjena (6-10) za jedan nivo agregacije:
+ * cijeli sistem, jedan predmet ili jednu akademsku godinu.
+ * Vrijednosti se ne računaju pri čitanju, nego se održavaju pri svakoj promjeni ocjene.
+ * * @author Kenan Boračić
+ * @version 1.0
+ */
+public class GradeStatistics {
+
+    /** Suma svih prolaznih ocjena */
+    private final long gradeSum;
+
+    /** Broj prolaznih ocjena */
+    private final long gradeCount;
+
+    /**
+     * Konstruktor sa tekućim vrijednostima.
+     *
+     * @param gradeSum Suma prolaznih ocjena.
+     * @param gradeCount Broj prolaznih ocjena.
+     */
+    public GradeStatistics(long gradeSum, long gradeCount) {
+        this.gradeSum = gradeSum;
+        this.gradeCount = gradeCount;
+    }
+
+    /** * Dohvata sumu prolaznih ocjena.
+     * @return Suma ocjena.
+     */
+    public long getGradeSum() { return gradeSum; }
+
+    /** * Dohvata broj prolaznih ocjena.
+     * @return Broj položenih ispita.
+     */
+    public long getGradeCount() { return gradeCount; }
+
+    /** * Računa prosjek iz sume i broja ocjena.
+     * @return Prosjek ili 0.0 ako nema prolaznih ocjena.
+     */
+    public double getAverage() {
+        return gradeCount == 0 ? 0.0 : (double) gradeSum / gradeCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Položenih ispita: %d | Prosjek: %.2f", gradeCount, getAverage());
+    }
+}
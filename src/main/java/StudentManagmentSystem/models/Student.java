@@ -89,6 +89,18 @@ public class Student {
         this.addedByReferentId = addedByReferentId;
     }
 
+    /**
+     * Konstruktor kopije.
+     * Koristi se kada servis treba svoj primjerak studenta (npr. u kešu ili pri ažuriranju),
+     * kako izmjene pozivaoca ne bi uticale na njega i obrnuto.
+     *
+     * @param other Student čiji se podaci kopiraju.
+     */
+    public Student(Student other) {
+        this(other.indexNumber, other.password, other.firstName, other.lastName, other.studyProgram,
+                other.enrollmentYear, other.createdAt, other.updatedAt, other.addedByReferentId);
+    }
+
     // --- GETTERS AND SETTERS ---
 
     /** * Dohvata broj indeksa studenta.
@@ -0,0 +1,64 @@
+package StudentManagmentSystem.models;
+
+/**
+ * Sažeti pregled statistike na nivou cijele institucije.
+ * Vrijednosti se računaju agregatnim upitima u bazi, pa objekat ne nosi
+ * pojedinačne zapise nego samo gotove brojke za prikaz na kontrolnoj tabli.
+ * * @author Kenan Boračić
+ * @version 1.0
+ */
+public class SystemStatistics {
+
+    /** Ukupan broj studenata evidentiranih u sistemu */
+    private final long studentCount;
+
+    /** Ukupan broj predmeta u katalogu */
+    private final long courseCount;
+
+    /** Broj položenih ispita (ocjena 6-10) */
+    private final long passedExamCount;
+
+    /** Prosjek svih prolaznih ocjena, ili 0.0 ako nema položenih ispita */
+    private final double averageGrade;
+
+    /**
+     * Konstruktor sa svim agregiranim vrijednostima.
+     *
+     * @param studentCount Ukupan broj studenata.
+     * @param courseCount Ukupan broj predmeta.
+     * @param passedExamCount Broj položenih ispita.
+     * @param averageGrade Prosjek prolaznih ocjena.
+     */
+    public SystemStatistics(long studentCount, long courseCount, long passedExamCount, double averageGrade) {
+        this.studentCount = studentCount;
+        this.courseCount = courseCount;
+        this.passedExamCount = passedExamCount;
+        this.averageGrade = averageGrade;
+    }
+
+    /** * Dohvata ukupan broj studenata.
+     * @return Broj studenata.
+     */
+    public long getStudentCount() { return studentCount; }
+
+    /** * Dohvata ukupan broj predmeta.
+     * @return Broj predmeta.
+     */
+    public long getCourseCount() { return courseCount; }
+
+    /** * Dohvata broj položenih ispita.
+     * @return Broj prolaznih ocjena.
+     */
+    public long getPassedExamCount() { return passedExamCount; }
+
+    /** * Dohvata prosječnu prolaznu ocjenu na nivou sistema.
+     * @return Prosjek ili 0.0 ako nema ocjena.
+     */
+    public double getAverageGrade() { return averageGrade; }
+
+    @Override
+    public String toString() {
+        return String.format("Studenata: %d | Predmeta: %d | Položenih ispita: %d | Prosjek: %.2f",
+                studentCount, courseCount, passedExamCount, averageGrade);
+    }
+}
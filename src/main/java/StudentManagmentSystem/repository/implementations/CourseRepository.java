@@ -7,7 +7,13 @@ import StudentManagmentSystem.repository.interfaces.CourseInterface;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * SQL implementacija {@link CourseInterface} interfejsa.
@@ -16,6 +22,12 @@ import java.util.Optional;
  */
 public class CourseRepository implements CourseInterface {
 
+    /** Najveći broj parametara u jednoj {@code IN (...)} listi (SQLite ograničava broj parametara po upitu). */
+    private static final int IN_CHUNK_SIZE = 500;
+
+    /** Broj INSERT naredbi koje se šalju bazi u jednom {@code executeBatch} pozivu. */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     /**
      * Pomoćna metoda koja mapira trenutni red iz {@link ResultSet}-a u objekat {@link Course}.
      * * @param rs ResultSet koji se trenutno obrađuje.
@@ -173,18 +185,23 @@ public class CourseRepository implements CourseInterface {
     }
 
     /**
-     * Pretraga predmeta pomoću SQL operatora {@code LIKE}.
-     * * @param prefix Početak naziva predmeta.
-     * @return Lista predmeta koji odgovaraju pretrazi.
+     * Pretraga predmeta preko FTS5 tabele {@code PredmetFts} (prefiksni tokeni nad nazivom),
+     * uz rangiranje po BM25 relevantnosti.
+     * * @param prefix Početak naziva predmeta (jedna ili više riječi).
+     * @return Lista predmeta koji odgovaraju pretrazi, od najrelevantnijeg.
      */
     @Override
     public ArrayList<Course> findCoursesByNamePrefix(String prefix) {
-        String sql = "SELECT * FROM Predmet WHERE naziv LIKE ?";
         ArrayList<Course> courses = new ArrayList<>();
+        String match = FtsQuery.prefixMatch("naziv", prefix);
+        if (match == null) return courses;
+
+        String sql = "SELECT p.* FROM PredmetFts f JOIN Predmet p ON p.rowid = f.rowid " +
+                "WHERE PredmetFts MATCH ? ORDER BY bm25(PredmetFts)";
         try (Connection connection = DbConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
 
-            ps.setString(1, prefix + "%");
+            ps.setString(1, match);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) courses.add(mapRowToCourse(rs));
             }
@@ -195,13 +212,13 @@ public class CourseRepository implements CourseInterface {
     }
 
     /**
-     * Filtrira predmete na osnovu kolone {@code referentKojiJeDodao}.
+     * Filtrira predmete na osnovu kolone {@code referentId} (indeks {@code idx_predmet_referent}).
      * * @param referentId ID referenta.
      * @return Lista predmeta koje je kreirao određeni referent.
      */
     @Override
     public ArrayList<Course> getCoursesByReferent(String referentId) {
-        String sql = "SELECT * FROM Predmet WHERE referentKojiJeDodao = ?";
+        String sql = "SELECT * FROM Predmet WHERE referentId = ?";
         ArrayList<Course> courses = new ArrayList<>();
         try (Connection connection = DbConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -215,4 +232,115 @@ public class CourseRepository implements CourseInterface {
         }
         return courses;
     }
-}
\ No newline at end of file
+
+    /**
+     * Keyset paginacija nad primarnim ključem: {@code WHERE sifraPredmeta > ? ORDER BY sifraPredmeta}.
+     * * @param afterCourseCode Posljednja šifra sa prethodne stranice ili {@code null}.
+     * @param pageSize Veličina stranice.
+     * @return Lista predmeta na stranici.
+     */
+    @Override
+    public ArrayList<Course> getCoursesPage(String afterCourseCode, int pageSize) {
+        String sql = (afterCourseCode == null)
+                ? "SELECT * FROM Predmet ORDER BY sifraPredmeta LIMIT ?"
+                : "SELECT * FROM Predmet WHERE sifraPredmeta > ? ORDER BY sifraPredmeta LIMIT ?";
+        ArrayList<Course> courses = new ArrayList<>(pageSize);
+        try (Connection connection = DbConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+
+            int i = 1;
+            if (afterCourseCode != null) ps.setString(i++, afterCourseCode);
+            ps.setInt(i, pageSize);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) courses.add(mapRowToCourse(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri dohvatu stranice predmeta.", e);
+        }
+        return courses;
+    }
+
+    /**
+     * Provjerava postojanje predmeta upitom {@code sifraPredmeta IN (...)}.
+     * Lista se dijeli na dijelove od najviše {@value #IN_CHUNK_SIZE} šifri.
+     * * @param courseCodes Šifre predmeta koje treba provjeriti.
+     * @return Skup postojećih šifri.
+     */
+    @Override
+    public Set<String> findExistingCourseCodes(Collection<String> courseCodes) {
+        List<String> distinct = new ArrayList<>(new HashSet<>(courseCodes));
+        Set<String> existing = new HashSet<>();
+        try (Connection connection = DbConnection.getConnection()) {
+            for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+                List<String> chunk = distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size()));
+                String sql = "SELECT sifraPredmeta FROM Predmet WHERE sifraPredmeta IN (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) existing.add(rs.getString(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri provjeri postojanja predmeta!", e);
+        }
+        return existing;
+    }
+
+    /**
+     * Snima sve predmete jednom pripremljenom naredbom i {@code addBatch}/{@code executeBatch},
+     * unutar jedne transakcije.
+     * * @param courses Predmeti za unos.
+     * @throws RuntimeException Ako snimanje ne uspije; transakcija se tada poništava.
+     */
+    @Override
+    public void addCourses(List<Course> courses) {
+        if (courses.isEmpty()) return;
+
+        String sql = "INSERT INTO Predmet (sifraPredmeta, naziv, ects, semestar, referentId) VALUES (?, ?, ?, ?, ?)";
+        try (Connection connection = DbConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int pending = 0;
+                for (Course course : courses) {
+                    ps.setString(1, course.getCourseCode());
+                    ps.setString(2, course.getName());
+                    ps.setInt(3, course.getEcts());
+                    ps.setInt(4, course.getSemester());
+                    ps.setString(5, course.getAddedByReferentId());
+                    ps.addBatch();
+
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška u bazi pri grupnom dodavanju predmeta: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Otvara kursor nad tabelom {@code Predmet}.
+     * * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok predmeta.
+     */
+    @Override
+    public Stream<Course> streamCourses(int fetchSize) {
+        return ResultSetStream.open("SELECT * FROM Predmet ORDER BY sifraPredmeta", fetchSize, this::mapRowToCourse);
+    }
+}
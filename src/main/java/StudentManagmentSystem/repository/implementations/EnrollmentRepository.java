@@ -3,10 +3,16 @@ package StudentManagmentSystem.repository.implementations;
 import StudentManagmentSystem.DbConnection;
 import StudentManagmentSystem.repository.interfaces.EnrollmentInterface;
 import StudentManagmentSystem.models.Enrollment;
+import StudentManagmentSystem.models.Student;
+import StudentManagmentSystem.models.StudentReport;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * SQL implementacija {@link EnrollmentInterface} interfejsa.
@@ -15,6 +21,12 @@ import java.util.Optional;
  */
 public class EnrollmentRepository implements EnrollmentInterface {
 
+    /** Najveći broj parametara u jednoj {@code IN (...)} listi (SQLite ograničava broj parametara po upitu). */
+    private static final int IN_CHUNK_SIZE = 500;
+
+    /** Broj INSERT naredbi koje se šalju bazi u jednom {@code executeBatch} pozivu. */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     /**
      * Pomoćna metoda za transformaciju reda iz baze podataka u objekat {@link Enrollment}.
      * Posebno rukuje opcionim poljima kao što su ocjena i metapodaci o izmjenama.
@@ -148,6 +160,57 @@ public class EnrollmentRepository implements EnrollmentInterface {
         return Optional.empty();
     }
 
+    /**
+     * Provjerava postojanje položenog upisa za par student-predmet.
+     * {@code LIMIT 1} prekida pretragu na prvom pogotku unutar indeksa primarnog ključa.
+     *
+     * @param studentIndexNumber Indeks studenta.
+     * @param courseCode Šifra predmeta.
+     * @return {@code true} ako postoji upis sa ocjenom 6 ili većom.
+     */
+    @Override
+    public boolean hasPassedCourse(String studentIndexNumber, String courseCode) {
+        String sql = "SELECT 1 FROM Upis WHERE brojIndeksa = ? AND sifraPredmeta = ? AND ocjena >= 6 LIMIT 1";
+        try (Connection conn = DbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, studentIndexNumber);
+            stmt.setString(2, courseCode);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri provjeri položenog predmeta: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Provjerava postojanje upisa po kompozitnom ključu bez mapiranja cijelog reda.
+     *
+     * @param studentIndexNumber Indeks studenta.
+     * @param courseCode Šifra predmeta.
+     * @param academicYear Akademska godina.
+     * @return {@code true} ako upis postoji.
+     */
+    @Override
+    public boolean existsEnrollment(String studentIndexNumber, String courseCode, String academicYear) {
+        String sql = "SELECT 1 FROM Upis WHERE brojIndeksa = ? AND sifraPredmeta = ? AND akademskaGodina = ?";
+        try (Connection conn = DbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, studentIndexNumber);
+            stmt.setString(2, courseCode);
+            stmt.setString(3, academicYear);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri provjeri postojanja upisa: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Vraća listu upisa za određenog studenta u specifičnoj godini.
      *
@@ -218,4 +281,214 @@ public class EnrollmentRepository implements EnrollmentInterface {
         }
         return enrollments;
     }
-}
\ No newline at end of file
+
+    /**
+     * Otvara kursor nad tabelom {@code Upis} i vraća tok koji mapira red po red.
+     * Konekcija, naredba i {@code ResultSet} se zatvaraju pri zatvaranju toka
+     * ({@link Stream#close()}), kao i odmah nakon greške pri otvaranju.
+     *
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok svih upisa.
+     */
+    @Override
+    public Stream<Enrollment> streamAll(int fetchSize) {
+        return ResultSetStream.open("SELECT * FROM Upis", fetchSize, this::mapRow);
+    }
+
+    /**
+     * Otvara kursor nad upisima uz opcione filtere. Filter po studijskom programu se
+     * primjenjuje podupitom nad tabelom {@code Student}, pa se vraćaju samo kolone upisa.
+     *
+     * @param academicYear Akademska godina ili {@code null}.
+     * @param studyProgram Studijski program ili {@code null}.
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok filtriranih upisa, poredanih po primarnom ključu.
+     */
+    @Override
+    public Stream<Enrollment> streamFiltered(String academicYear, String studyProgram, int fetchSize) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM Upis WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (academicYear != null) {
+            sql.append(" AND akademskaGodina = ?");
+            params.add(academicYear);
+        }
+        if (studyProgram != null) {
+            sql.append(" AND brojIndeksa IN (SELECT brojIndeksa FROM Student WHERE studijskiProgram = ?)");
+            params.add(studyProgram);
+        }
+        sql.append(" ORDER BY brojIndeksa, sifraPredmeta, akademskaGodina");
+        return ResultSetStream.open(sql.toString(), fetchSize, this::mapRow, params.toArray());
+    }
+
+    /**
+     * Dohvata sve upise studenta spojene sa tabelom {@code Predmet} i istovremeno, putem
+     * window agregacija, računa ECTS bodove i zbir prolaznih ocjena. Upisi čiji predmet
+     * ne postoji ostaju u kartonu, ali se ne uračunavaju u bodove i prosjek.
+     *
+     * @param student Student za kojeg se generiše karton.
+     * @return Popunjen {@link StudentReport}.
+     */
+    @Override
+    public StudentReport findReportForStudent(Student student) {
+        String passed = "p.sifraPredmeta IS NOT NULL AND u.ocjena > 5";
+        String sql = "SELECT u.*, " +
+                "SUM(CASE WHEN " + passed + " THEN p.ects ELSE 0 END) OVER () AS ukupnoEcts, " +
+                "SUM(CASE WHEN " + passed + " THEN u.ocjena ELSE 0 END) OVER () AS sumaOcjena, " +
+                "COUNT(CASE WHEN " + passed + " THEN 1 END) OVER () AS brojOcjena " +
+                "FROM Upis u LEFT JOIN Predmet p ON p.sifraPredmeta = u.sifraPredmeta " +
+                "WHERE u.brojIndeksa = ? ORDER BY u.rowid";
+
+        List<Enrollment> enrollments = new ArrayList<>();
+        int totalEcts = 0;
+        int gradeSum = 0;
+        int gradedCount = 0;
+
+        try (Connection conn = DbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, student.getIndexNumber());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (enrollments.isEmpty()) {
+                        totalEcts = rs.getInt("ukupnoEcts");
+                        gradeSum = rs.getInt("sumaOcjena");
+                        gradedCount = rs.getInt("brojOcjena");
+                    }
+                    enrollments.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri generisanju kartona: " + e.getMessage(), e);
+        }
+
+        double averageGrade = (gradedCount > 0) ? (double) gradeSum / gradedCount : 5.0;
+        return new StudentReport(student, enrollments, totalEcts, averageGrade);
+    }
+
+    /**
+     * Keyset paginacija nad kompozitnim primarnim ključem.
+     * Poređenje torki {@code (a, b, c) > (?, ?, ?)} SQLite izvršava direktno nad indeksom
+     * primarnog ključa, pa svaka stranica košta isto bez obzira na poziciju u tabeli.
+     *
+     * @param after Posljednji upis sa prethodne stranice ili {@code null}.
+     * @param pageSize Veličina stranice.
+     * @return Lista upisa na stranici.
+     */
+    @Override
+    public List<Enrollment> findPage(Enrollment after, int pageSize) {
+        String order = " ORDER BY brojIndeksa, sifraPredmeta, akademskaGodina LIMIT ?";
+        String sql = (after == null)
+                ? "SELECT * FROM Upis" + order
+                : "SELECT * FROM Upis WHERE (brojIndeksa, sifraPredmeta, akademskaGodina) > (?, ?, ?)" + order;
+        List<Enrollment> enrollments = new ArrayList<>(pageSize);
+        try (Connection conn = DbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            if (after != null) {
+                stmt.setString(i++, after.getStudentIndexNumber());
+                stmt.setString(i++, after.getCourseCode());
+                stmt.setString(i++, after.getAcademicYear());
+            }
+            stmt.setInt(i, pageSize);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    enrollments.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri dohvatu stranice upisa: " + e.getMessage(), e);
+        }
+        return enrollments;
+    }
+
+    /**
+     * Dohvata upise za grupu studenata upitima {@code brojIndeksa IN (...)}, koji koriste
+     * prvu kolonu primarnog ključa. Lista se dijeli na dijelove od najviše
+     * {@value #IN_CHUNK_SIZE} indeksa.
+     *
+     * @param studentIndexNumbers Brojevi indeksa studenata.
+     * @return Svi upisi navedenih studenata.
+     */
+    @Override
+    public List<Enrollment> findByStudents(Collection<String> studentIndexNumbers) {
+        List<String> distinct = new ArrayList<>(new HashSet<>(studentIndexNumbers));
+        List<Enrollment> enrollments = new ArrayList<>();
+        try (Connection conn = DbConnection.getConnection()) {
+            for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+                List<String> chunk = distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size()));
+                String sql = "SELECT * FROM Upis WHERE brojIndeksa IN (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            enrollments.add(mapRow(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri dohvatu upisa za grupu studenata: " + e.getMessage(), e);
+        }
+        return enrollments;
+    }
+
+    /**
+     * Snima sve upise jednom pripremljenom naredbom i {@code addBatch}/{@code executeBatch},
+     * unutar jedne transakcije. Time se izbjegava po jedan commit (i sinhronizacija diska) po upisu.
+     *
+     * @param enrollments Upisi koje treba snimiti.
+     * @throws RuntimeException Ako snimanje ne uspije; transakcija se tada poništava.
+     */
+    @Override
+    public void createAll(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) return;
+
+        String sql = "INSERT INTO Upis (brojIndeksa, sifraPredmeta, akademskaGodina, ocjena, datumOcjene, " +
+                "razlogIzmjeneOcjene, datumIzmjene, referentKojiJeDodao) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int pending = 0;
+                for (Enrollment enrollment : enrollments) {
+                    stmt.setString(1, enrollment.getStudentIndexNumber());
+                    stmt.setString(2, enrollment.getCourseCode());
+                    stmt.setString(3, enrollment.getAcademicYear());
+                    if (enrollment.getGrade() != null) {
+                        stmt.setInt(4, enrollment.getGrade());
+                    } else {
+                        stmt.setNull(4, Types.INTEGER);
+                    }
+                    stmt.setString(5, enrollment.getGradeDate());
+                    stmt.setString(6, enrollment.getChangeReason());
+                    stmt.setString(7, enrollment.getChangeDate());
+                    stmt.setString(8, enrollment.getAddedByReferentId());
+                    stmt.addBatch();
+
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        stmt.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri grupnom kreiranju upisa: " + e.getMessage(), e);
+        }
+    }
+}
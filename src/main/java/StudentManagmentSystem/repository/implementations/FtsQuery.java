@@ -0,0 +1,35 @@
+package StudentManagmentSystem.repository.implementations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sastavlja FTS5 {@code MATCH} izraze od teksta koji je unio korisnik.
+ * Svaka riječ postaje prefiksni token pod navodnicima ({@code "meh"*}), pa specijalni znakovi
+ * FTS5 sintakse (AND, OR, NEAR, zagrade, zvjezdice) iz unosa nemaju posebno značenje.
+ */
+final class FtsQuery {
+
+    private FtsQuery() {
+    }
+
+    /**
+     * Izraz koji traži redove u kojima kolona sadrži riječi koje počinju svakom
+     * od riječi unosa (npr. "meh ba" -> {@code prezime : ("meh"* "ba"*)}).
+     *
+     * @param column Naziv kolone FTS tabele.
+     * @param text Tekst koji je unio korisnik.
+     * @return MATCH izraz, ili {@code null} ako unos ne sadrži nijednu riječ.
+     */
+    static String prefixMatch(String column, String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : text.trim().split("\\s+")) {
+            String cleaned = word.replace("\"", "");
+            if (!cleaned.isEmpty()) {
+                tokens.add("\"" + cleaned + "\"*");
+            }
+        }
+        if (tokens.isEmpty()) return null;
+        return column + " : (" + String.join(" ", tokens) + ")";
+    }
+}
@@ -0,0 +1,99 @@
+package StudentManagmentSystem.repository.implementations;
+
+import StudentManagmentSystem.DbConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pomoćna klasa repozitorijuma koja otvara kursor (forward-only {@link ResultSet})
+ * i izlaže ga kao {@link Stream}. Redovi se mapiraju tek kada ih potrošač zatraži,
+ * pa se tabela nikada ne učitava cijela u memoriju. Konekcija, naredba i
+ * {@code ResultSet} se zatvaraju pri zatvaranju toka.
+ */
+final class ResultSetStream {
+
+    /**
+     * Mapiranje jednog reda u objekat.
+     *
+     * @param <T> Tip objekta.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private ResultSetStream() {
+    }
+
+    /**
+     * Izvršava upit i vraća tok mapiranih redova.
+     *
+     * @param sql SQL upit.
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @param mapper Mapiranje reda u objekat.
+     * @param params Vrijednosti parametara upita, redom.
+     * @param <T> Tip objekta.
+     * @return Tok koji se mora zatvoriti (npr. u {@code try-with-resources} bloku).
+     * @throws RuntimeException Ako otvaranje kursora ne uspije.
+     */
+    static <T> Stream<T> open(String sql, int fetchSize, RowMapper<T> mapper, Object... params) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DbConnection.getConnection();
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(rs, stmt, conn);
+            throw new RuntimeException("Greška pri otvaranju kursora: " + e.getMessage(), e);
+        }
+
+        final ResultSet cursor = rs;
+        final PreparedStatement statement = stmt;
+        final Connection connection = conn;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException("Greška pri čitanju kursora: " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(cursor, statement, connection));
+    }
+
+    /**
+     * Zatvara JDBC resurse obrnutim redoslijedom otvaranja, ignorišući {@code null} vrijednosti i greške.
+     */
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) continue;
+            try {
+                resource.close();
+            } catch (Exception ignored) {
+                // Resurs se ionako napušta
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package StudentManagmentSystem.repository.implementations;
+
+import StudentManagmentSystem.DbConnection;
+import StudentManagmentSystem.models.GradeStatistics;
+import StudentManagmentSystem.models.SystemStatistics;
+import StudentManagmentSystem.repository.interfaces.StatisticsInterface;
+
+import java.sql.*;
+
+/**
+ * SQL implementacija {@link StatisticsInterface} interfejsa.
+ * Statistika ocjena se čita iz tabele {@code StatistikaOcjena}, koju okidači nad tabelom
+ * {@code Upis} održavaju pri svakoj promjeni, pa je čitanje jedan pristup po primarnom
+ * ključu bez obzira na broj upisa.
+ */
+public class StatisticsRepository implements StatisticsInterface {
+
+    /**
+     * Izvršava jedan upit sa skalarnim podupitima: broj studenata i predmeta te
+     * sistemski zapis iz {@code StatistikaOcjena}.
+     * Prolazne ocjene su one u opsegu 6-10, isto kao u studentskom kartonu.
+     * * @return Globalna statistika sistema.
+     * @throws RuntimeException Ukoliko dođe do greške pri radu sa bazom.
+     */
+    @Override
+    public SystemStatistics getSystemStatistics() {
+        String sql = "SELECT (SELECT COUNT(*) FROM Student) AS brojStudenata, " +
+                     "(SELECT COUNT(*) FROM Predmet) AS brojPredmeta, " +
+                     "COALESCE(s.brojOcjena, 0) AS brojPolozenih, " +
+                     "CASE WHEN s.brojOcjena > 0 THEN CAST(s.sumaOcjena AS REAL) / s.brojOcjena ELSE 0.0 END AS prosjek " +
+                     "FROM (SELECT 1) LEFT JOIN StatistikaOcjena s ON s.tip = 'SISTEM' AND s.kljuc = ''";
+        try (Connection conn = DbConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            rs.next();
+            return new SystemStatistics(
+                    rs.getLong("brojStudenata"),
+                    rs.getLong("brojPredmeta"),
+                    rs.getLong("brojPolozenih"),
+                    rs.getDouble("prosjek")
+            );
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri računanju statistike sistema: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param courseCode Šifra predmeta.
+     * @return Statistika prolaznih ocjena predmeta.
+     */
+    @Override
+    public GradeStatistics getCourseGradeStatistics(String courseCode) {
+        return findGradeStatistics("PREDMET", courseCode);
+    }
+
+    /**
+     * @param academicYear Akademska godina.
+     * @return Statistika prolaznih ocjena akademske godine.
+     */
+    @Override
+    public GradeStatistics getAcademicYearGradeStatistics(String academicYear) {
+        return findGradeStatistics("GODINA", academicYear);
+    }
+
+    /**
+     * Čita jedan zapis iz {@code StatistikaOcjena} po primarnom ključu (tip, ključ).
+     */
+    private GradeStatistics findGradeStatistics(String type, String key) {
+        String sql = "SELECT sumaOcjena, brojOcjena FROM StatistikaOcjena WHERE tip = ? AND kljuc = ?";
+        try (Connection conn = DbConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setString(1, type);
+            ps.setString(2, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new GradeStatistics(rs.getLong("sumaOcjena"), rs.getLong("brojOcjena"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri čitanju statistike ocjena: " + e.getMessage(), e);
+        }
+        return new GradeStatistics(0, 0);
+    }
+}
@@ -3,10 +3,17 @@ package StudentManagmentSystem.repository.implementations;
 import StudentManagmentSystem.DbConnection;
 import StudentManagmentSystem.models.Student;
 import StudentManagmentSystem.repository.interfaces.StudentInterface;
+import StudentManagmentSystem.search.TextNormalizer;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * SQL implementacija {@link StudentInterface} interfejsa.
@@ -15,6 +22,12 @@ import java.util.Optional;
  */
 public class StudentRepository implements StudentInterface {
 
+    /** Najveći broj parametara u jednoj {@code IN (...)} listi (SQLite ograničava broj parametara po upitu). */
+    private static final int IN_CHUNK_SIZE = 500;
+
+    /** Broj INSERT naredbi koje se šalju bazi u jednom {@code executeBatch} pozivu. */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     /**
      * Ubacuje novi zapis o studentu u bazu podataka.
      * Polje {@code datumKreiranja} se ne šalje eksplicitno jer je u SQLite bazi
@@ -24,7 +37,8 @@ public class StudentRepository implements StudentInterface {
      */
     @Override
     public void addStudent(Student student) {
-        String sql = "INSERT INTO Student (brojIndeksa, sifra, ime, prezime, studijskiProgram, godinaUpisa, referentKojiJeDodao) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO Student (brojIndeksa, sifra, ime, prezime, studijskiProgram, godinaUpisa, referentKojiJeDodao, " +
+                "imeNormalizovano, prezimeNormalizovano) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection connection = DbConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
 
@@ -35,6 +49,8 @@ public class StudentRepository implements StudentInterface {
             ps.setString(5, student.getStudyProgram());
             ps.setInt(6, student.getEnrollmentYear());
             ps.setString(7, student.getAddedByReferentId());
+            ps.setString(8, TextNormalizer.normalize(student.getFirstName()));
+            ps.setString(9, TextNormalizer.normalize(student.getLastName()));
 
             ps.executeUpdate();
         } catch (SQLException e) {
@@ -52,7 +68,8 @@ public class StudentRepository implements StudentInterface {
      */
     @Override
     public boolean updateStudent(Student student, String index) {
-        String sql = "UPDATE Student SET sifra = ?, ime = ?, prezime = ?, studijskiProgram = ?, godinaUpisa = ?, datumAzuriranja = ? WHERE brojIndeksa = ?";
+        String sql = "UPDATE Student SET sifra = ?, ime = ?, prezime = ?, studijskiProgram = ?, godinaUpisa = ?, datumAzuriranja = ?, " +
+                "imeNormalizovano = ?, prezimeNormalizovano = ? WHERE brojIndeksa = ?";
 
         try (Connection connection = DbConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -62,7 +79,9 @@ public class StudentRepository implements StudentInterface {
             ps.setString(4, student.getStudyProgram());
             ps.setInt(5, student.getEnrollmentYear());
             ps.setString(6, student.getUpdatedAt());
-            ps.setString(7, index);
+            ps.setString(7, TextNormalizer.normalize(student.getFirstName()));
+            ps.setString(8, TextNormalizer.normalize(student.getLastName()));
+            ps.setString(9, index);
 
             int rowsAffected = ps.executeUpdate();
             return rowsAffected > 0;
@@ -136,18 +155,94 @@ public class StudentRepository implements StudentInterface {
     }
 
     /**
-     * Pretražuje studente čije prezime počinje zadatim prefiksom.
-     * Koristi SQL operator {@code LIKE} za fleksibilnu pretragu.
-     * * @param prefix Početna slova prezimena.
-     * @return Lista studenata koji zadovoljavaju kriterij.
+     * Pretražuje studente preko FTS5 tabele {@code StudentFts} (prefiksni tokeni nad kolonom
+     * {@code prezime}), a rezultate rangira po BM25 relevantnosti.
+     * * @param prefix Početna slova prezimena (jedna ili više riječi).
+     * @return Lista studenata koji zadovoljavaju kriterij, od najrelevantnijeg.
      */
     @Override
     public ArrayList<Student> findByLastNamePrefix(String prefix) {
-        String sql = "SELECT * FROM Student WHERE prezime LIKE ?";
         ArrayList<Student> students = new ArrayList<>();
+        String match = FtsQuery.prefixMatch("prezime", prefix);
+        if (match == null) return students;
+
+        String sql = "SELECT s.* FROM StudentFts f JOIN Student s ON s.rowid = f.rowid " +
+                "WHERE StudentFts MATCH ? ORDER BY bm25(StudentFts)";
         try (Connection connection = DbConnection.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, prefix + "%");
+            ps.setString(1, match);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.add(mapRowToStudent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri pretrazi studenata!", e);
+        }
+        return students;
+    }
+
+    /**
+     * Svaka grana upita je pretraga po prefiksu nad NOCASE indeksom ograničena na {@code limit}
+     * redova, pa cijena ne zavisi od veličine tabele. Ime i prezime se porede preko normalizovanih
+     * kolona, jer SQLite izjednačava velika i mala slova samo za ASCII ("čol" ne bi pronašao "Čolić"). Grane se spajaju sa {@code UNION ALL},
+     * a student koji se poklapa u više grana zadržava najbolji rang.
+     * * @param terms Jedna ili dvije riječi upita.
+     * @param limit Maksimalan broj rezultata.
+     * @return Rangirana lista studenata.
+     */
+    @Override
+    public ArrayList<Student> searchStudents(List<String> terms, int limit) {
+        String first = likePrefix(TextNormalizer.normalize(terms.get(0)));
+        String[] branches;
+        String orderBy;
+        List<Object> params = new ArrayList<>();
+        if (terms.size() == 1) {
+            branches = new String[]{
+                    "brojIndeksa LIKE ? ESCAPE '\\'",
+                    "prezimeNormalizovano LIKE ? ESCAPE '\\'",
+                    "imeNormalizovano LIKE ? ESCAPE '\\'"
+            };
+            // Poklapanja broja indeksa (rang 0) se redaju po indeksu, ostala po prezimenu i imenu
+            orderBy = "rang, CASE rang WHEN 0 THEN s.brojIndeksa END, s.prezime, s.ime, s.brojIndeksa";
+            params.add(likePrefix(terms.get(0)));
+            params.add(limit);
+            for (int rank = 1; rank < branches.length; rank++) {
+                params.add(first);
+                params.add(limit);
+            }
+        } else {
+            String second = likePrefix(TextNormalizer.normalize(terms.get(1)));
+            branches = new String[]{
+                    "prezimeNormalizovano LIKE ? ESCAPE '\\' AND imeNormalizovano LIKE ? ESCAPE '\\'",
+                    "imeNormalizovano LIKE ? ESCAPE '\\' AND prezimeNormalizovano LIKE ? ESCAPE '\\'"
+            };
+            orderBy = "rang, s.prezime, s.ime, s.brojIndeksa";
+            for (int rank = 0; rank < branches.length; rank++) {
+                params.add(first);
+                params.add(second);
+                params.add(limit);
+            }
+        }
+        params.add(limit);
+
+        StringBuilder sql = new StringBuilder("SELECT s.*, MIN(m.rang) AS rang FROM (");
+        for (int rank = 0; rank < branches.length; rank++) {
+            if (rank > 0) sql.append(" UNION ALL ");
+            sql.append("SELECT * FROM (SELECT brojIndeksa, ").append(rank)
+                    .append(" AS rang FROM Student WHERE ").append(branches[rank]).append(" LIMIT ?)");
+        }
+        sql.append(") m JOIN Student s ON s.brojIndeksa = m.brojIndeksa " +
+                "GROUP BY s.brojIndeksa ORDER BY " + orderBy + " LIMIT ?");
+
+        ArrayList<Student> students = new ArrayList<>();
+        try (Connection connection = DbConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
                     students.add(mapRowToStudent(rs));
@@ -159,6 +254,13 @@ public class StudentRepository implements StudentInterface {
         return students;
     }
 
+    /**
+     * Pretvara riječ u {@code LIKE} obrazac za prefiks, uz escape znakova {@code %}, {@code _} i {@code \}.
+     */
+    private static String likePrefix(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
     /**
      * Pomoćna metoda za konverziju SQL reda (ResultSet) u Java objekat {@link Student}.
      * * @param rs ResultSet pozicioniran na tekući red.
@@ -178,4 +280,199 @@ public class StudentRepository implements StudentInterface {
                 rs.getString("referentKojiJeDodao")
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Keyset paginacija nad primarnim ključem: {@code WHERE brojIndeksa > ? ORDER BY brojIndeksa}.
+     * * @param afterIndexNumber Posljednji indeks sa prethodne stranice ili {@code null}.
+     * @param pageSize Veličina stranice.
+     * @return Lista studenata na stranici.
+     */
+    @Override
+    public ArrayList<Student> getStudentsPage(String afterIndexNumber, int pageSize) {
+        String sql = (afterIndexNumber == null)
+                ? "SELECT * FROM Student ORDER BY brojIndeksa LIMIT ?"
+                : "SELECT * FROM Student WHERE brojIndeksa > ? ORDER BY brojIndeksa LIMIT ?";
+        ArrayList<Student> students = new ArrayList<>(pageSize);
+        try (Connection connection = DbConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+
+            int i = 1;
+            if (afterIndexNumber != null) ps.setString(i++, afterIndexNumber);
+            ps.setInt(i, pageSize);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.add(mapRowToStudent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri dohvatu stranice studenata!", e);
+        }
+        return students;
+    }
+
+    /**
+     * Dohvat dijela liste po poziciji: {@code ORDER BY brojIndeksa LIMIT ? OFFSET ?}.
+     * * @param offset Pozicija prvog studenta.
+     * @param limit Maksimalan broj studenata.
+     * @return Lista studenata.
+     */
+    @Override
+    public ArrayList<Student> getStudentsAt(int offset, int limit) {
+        String sql = "SELECT * FROM Student ORDER BY brojIndeksa LIMIT ? OFFSET ?";
+        ArrayList<Student> students = new ArrayList<>(limit);
+        try (Connection connection = DbConnection.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.add(mapRowToStudent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri dohvatu stranice studenata!", e);
+        }
+        return students;
+    }
+
+    /**
+     * Broji studente upitom {@code SELECT COUNT(*)}.
+     * * @return Broj studenata.
+     */
+    @Override
+    public int countStudents() {
+        try (Connection connection = DbConnection.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM Student")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri brojanju studenata!", e);
+        }
+    }
+
+    /**
+     * Provjerava postojanje studenata upitom {@code brojIndeksa IN (...)}.
+     * Lista se dijeli na dijelove od najviše {@value #IN_CHUNK_SIZE} indeksa.
+     * * @param indexNumbers Brojevi indeksa koje treba provjeriti.
+     * @return Skup postojećih brojeva indeksa.
+     */
+    @Override
+    public Set<String> findExistingIndexNumbers(Collection<String> indexNumbers) {
+        List<String> distinct = new ArrayList<>(new HashSet<>(indexNumbers));
+        Set<String> existing = new HashSet<>();
+        try (Connection connection = DbConnection.getConnection()) {
+            for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+                List<String> chunk = distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size()));
+                String sql = "SELECT brojIndeksa FROM Student WHERE brojIndeksa IN (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) existing.add(rs.getString(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri provjeri postojanja studenata!", e);
+        }
+        return existing;
+    }
+
+    /**
+     * Dohvata studente upitom {@code brojIndeksa IN (...)}, u dijelovima od najviše
+     * {@value #IN_CHUNK_SIZE} indeksa.
+     * * @param indexNumbers Brojevi indeksa.
+     * @return Pronađeni studenti.
+     */
+    @Override
+    public ArrayList<Student> findByIndexNumbers(Collection<String> indexNumbers) {
+        List<String> distinct = new ArrayList<>(new HashSet<>(indexNumbers));
+        ArrayList<Student> students = new ArrayList<>(distinct.size());
+        try (Connection connection = DbConnection.getConnection()) {
+            for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+                List<String> chunk = distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size()));
+                String sql = "SELECT * FROM Student WHERE brojIndeksa IN (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) students.add(mapRowToStudent(rs));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri dohvatu studenata!", e);
+        }
+        return students;
+    }
+
+    /**
+     * Snima sve studente jednom pripremljenom naredbom i {@code addBatch}/{@code executeBatch},
+     * unutar jedne transakcije.
+     * * @param students Studenti za unos.
+     * @throws RuntimeException Ako snimanje ne uspije; transakcija se tada poništava.
+     */
+    @Override
+    public void addStudents(List<Student> students) {
+        if (students.isEmpty()) return;
+
+        String sql = "INSERT INTO Student (brojIndeksa, sifra, ime, prezime, studijskiProgram, godinaUpisa, referentKojiJeDodao, " +
+                "imeNormalizovano, prezimeNormalizovano) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection connection = DbConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int pending = 0;
+                for (Student student : students) {
+                    ps.setString(1, student.getIndexNumber());
+                    ps.setString(2, student.getPassword());
+                    ps.setString(3, student.getFirstName());
+                    ps.setString(4, student.getLastName());
+                    ps.setString(5, student.getStudyProgram());
+                    ps.setInt(6, student.getEnrollmentYear());
+                    ps.setString(7, student.getAddedByReferentId());
+                    ps.setString(8, TextNormalizer.normalize(student.getFirstName()));
+                    ps.setString(9, TextNormalizer.normalize(student.getLastName()));
+                    ps.addBatch();
+
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Greška pri grupnom dodavanju studenata!", e);
+        }
+    }
+
+    /**
+     * Otvara kursor nad tabelom {@code Student}, opciono filtriran po studijskom programu.
+     * * @param studyProgram Studijski program ili {@code null}.
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok studenata.
+     */
+    @Override
+    public Stream<Student> streamStudents(String studyProgram, int fetchSize) {
+        if (studyProgram == null) {
+            return ResultSetStream.open("SELECT * FROM Student ORDER BY brojIndeksa", fetchSize, this::mapRowToStudent);
+        }
+        return ResultSetStream.open("SELECT * FROM Student WHERE studijskiProgram = ? ORDER BY brojIndeksa",
+                fetchSize, this::mapRowToStudent, studyProgram);
+    }
+}
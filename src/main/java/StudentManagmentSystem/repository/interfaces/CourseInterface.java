@@ -2,7 +2,11 @@ package StudentManagmentSystem.repository.interfaces;
 
 import StudentManagmentSystem.models.Course;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interfejs koji definiše operacije nad podacima o kursevima (predmetima).
@@ -52,11 +56,12 @@ public interface CourseInterface {
     Optional<Course> getCourseByCode(String courseCode);
 
     /**
-     * Pretražuje predmete čiji naziv počinje zadatim prefiksom.
+     * Pretražuje predmete čiji naziv sadrži riječi koje počinju zadatim prefiksom
+     * (npr. "prog" pronalazi "Osnove programiranja"), bez obzira na dijakritike.
      * Korisno za funkcionalnost pretrage u realnom vremenu (autocomplete).
      *
-     * @param prefix Početna slova naziva predmeta.
-     * @return Lista predmeta koji zadovoljavaju kriterij pretrage.
+     * @param prefix Početna slova jedne ili više riječi naziva predmeta.
+     * @return Lista predmeta koji zadovoljavaju kriterij pretrage, od najrelevantnijeg.
      */
     ArrayList<Course> findCoursesByNamePrefix(String prefix);
 
@@ -76,4 +81,39 @@ public interface CourseInterface {
      * @return Lista predmeta koje je kreirao navedeni referent.
      */
     ArrayList<Course> getCoursesByReferent(String referentId);
-}
\ No newline at end of file
+
+    /**
+     * Vraća jednu stranicu predmeta poredanih po šifri (keyset paginacija).
+     *
+     * @param afterCourseCode Šifra posljednjeg predmeta sa prethodne stranice,
+     *                        ili {@code null} za prvu stranicu.
+     * @param pageSize Maksimalan broj predmeta na stranici.
+     * @return Lista od najviše {@code pageSize} predmeta; prazna lista znači kraj.
+     */
+    ArrayList<Course> getCoursesPage(String afterCourseCode, int pageSize);
+
+    /**
+     * Provjerava postojanje više predmeta odjednom, umjesto jednog upita po predmetu.
+     *
+     * @param courseCodes Šifre predmeta koje treba provjeriti.
+     * @return Skup onih šifri koje postoje u bazi.
+     */
+    Set<String> findExistingCourseCodes(Collection<String> courseCodes);
+
+    /**
+     * Dodaje više predmeta u jednoj transakciji (grupni unos).
+     * Ako bilo koji unos ne uspije, nijedan predmet iz grupe se ne snima.
+     *
+     * @param courses Predmeti koje treba snimiti.
+     */
+    void addCourses(List<Course> courses);
+
+    /**
+     * Vraća tok svih predmeta čitan direktno iz kursora, bez punjenja liste.
+     * Tok se mora zatvoriti (npr. u {@code try-with-resources} bloku).
+     *
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok predmeta poredanih po šifri.
+     */
+    Stream<Course> streamCourses(int fetchSize);
+}
@@ -1,8 +1,12 @@
 package StudentManagmentSystem.repository.interfaces;
 
 import StudentManagmentSystem.models.Enrollment;
+import StudentManagmentSystem.models.Student;
+import StudentManagmentSystem.models.StudentReport;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfejs koji definiše operacije nad podacima o upisima studenata na predmete.
@@ -42,6 +46,26 @@ public interface EnrollmentInterface {
      */
     List<Enrollment> findByStudentAndYear(String studentIndexNumber, String academicYear);
 
+    /**
+     * Provjerava da li student ima prolaznu ocjenu (6-10) na predmetu u bilo kojoj akademskoj godini.
+     * Upit koristi prefiks primarnog ključa (broj indeksa, šifra predmeta), pa ne zavisi od veličine tabele.
+     *
+     * @param studentIndexNumber Broj indeksa studenta.
+     * @param courseCode Šifra predmeta.
+     * @return {@code true} ako je predmet već položen.
+     */
+    boolean hasPassedCourse(String studentIndexNumber, String courseCode);
+
+    /**
+     * Provjerava da li je student već upisan na predmet u zadatoj akademskoj godini.
+     *
+     * @param studentIndexNumber Broj indeksa studenta.
+     * @param courseCode Šifra predmeta.
+     * @param academicYear Akademska godina.
+     * @return {@code true} ako upis sa tim kompozitnim ključem već postoji.
+     */
+    boolean existsEnrollment(String studentIndexNumber, String courseCode, String academicYear);
+
     /**
      * Ažurira podatke o postojećem upisu.
      * Najčešće se koristi za unos ocjene, ali i za naknadne izmjene.
@@ -69,4 +93,64 @@ public interface EnrollmentInterface {
      * @return Lista svih {@link Enrollment} objekata.
      */
     List<Enrollment> findAll();
-}
\ No newline at end of file
+
+    /**
+     * Vraća sve upise kao tok (stream) koji čita redove direktno iz otvorenog {@code ResultSet}-a,
+     * bez prethodnog punjenja liste. Memorijska potrošnja je konstantna bez obzira na broj upisa.
+     * Tok drži konekciju iz pool-a dok se ne zatvori, pa se mora koristiti u
+     * {@code try-with-resources} bloku.
+     *
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok svih {@link Enrollment} objekata.
+     */
+    Stream<Enrollment> streamAll(int fetchSize);
+
+    /**
+     * Vraća tok upisa filtriranih po akademskoj godini i/ili studijskom programu studenta.
+     * Kao i {@link #streamAll(int)}, tok drži konekciju dok se ne zatvori.
+     *
+     * @param academicYear Akademska godina, ili {@code null} za sve godine.
+     * @param studyProgram Studijski program studenta, ili {@code null} za sve programe.
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok filtriranih {@link Enrollment} objekata.
+     */
+    Stream<Enrollment> streamFiltered(String academicYear, String studyProgram, int fetchSize);
+
+    /**
+     * Generiše akademski karton studenta jednim upitom koji spaja upise sa predmetima.
+     * Ukupni ECTS bodovi i zbir/broj prolaznih ocjena (ocjena > 5) računaju se u SQL-u,
+     * a upisi se vraćaju redoslijedom kojim su uneseni.
+     *
+     * @param student Student za kojeg se generiše karton.
+     * @return {@link StudentReport} sa svim upisima, ECTS bodovima i prosjekom (5.0 ako nema ocjena).
+     */
+    StudentReport findReportForStudent(Student student);
+
+    /**
+     * Vraća jednu stranicu upisa poredanih po kompozitnom primarnom ključu
+     * (broj indeksa, šifra predmeta, akademska godina).
+     *
+     * @param after Posljednji upis sa prethodne stranice (bitna su samo ključna polja),
+     *              ili {@code null} za prvu stranicu.
+     * @param pageSize Maksimalan broj upisa na stranici.
+     * @return Lista od najviše {@code pageSize} upisa; prazna lista znači kraj.
+     */
+    List<Enrollment> findPage(Enrollment after, int pageSize);
+
+    /**
+     * Vraća sve upise za zadate studente jednim prolazom kroz bazu.
+     * Koristi se za provjeru pravila integriteta nad cijelom grupom upisa odjednom.
+     *
+     * @param studentIndexNumbers Brojevi indeksa studenata.
+     * @return Lista svih upisa navedenih studenata.
+     */
+    List<Enrollment> findByStudents(Collection<String> studentIndexNumbers);
+
+    /**
+     * Kreira više upisa u jednoj transakciji, grupnim (batch) izvršavanjem INSERT naredbi.
+     * Ako bilo koji upis ne uspije, nijedan upis iz grupe se ne snima.
+     *
+     * @param enrollments Upisi koje treba snimiti.
+     */
+    void createAll(List<Enrollment> enrollments);
+}
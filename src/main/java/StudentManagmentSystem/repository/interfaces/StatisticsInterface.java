@@ -0,0 +1,36 @@
+package StudentManagmentSystem.repository.interfaces;
+
+import StudentManagmentSystem.models.GradeStatistics;
+import StudentManagmentSystem.models.SystemStatistics;
+
+/**
+ * Interfejs koji definiše agregatne (statističke) upite nad bazom.
+ * Za razliku od ostalih repozitorijuma, ne vraća pojedinačne zapise,
+ * nego gotove zbirne vrijednosti izračunate u bazi podataka.
+ */
+public interface StatisticsInterface {
+
+    /**
+     * Računa globalnu statistiku sistema: broj studenata, broj predmeta,
+     * broj položenih ispita i prosjek prolaznih ocjena (ocjena >= 6).
+     *
+     * @return Popunjen {@link SystemStatistics} objekat.
+     */
+    SystemStatistics getSystemStatistics();
+
+    /**
+     * Dohvata tekuću statistiku prolaznih ocjena za jedan predmet.
+     *
+     * @param courseCode Šifra predmeta.
+     * @return Statistika predmeta; prazna (0 ocjena) ako predmet nema položenih ispita.
+     */
+    GradeStatistics getCourseGradeStatistics(String courseCode);
+
+    /**
+     * Dohvata tekuću statistiku prolaznih ocjena za jednu akademsku godinu.
+     *
+     * @param academicYear Akademska godina (npr. "2024/2025").
+     * @return Statistika godine; prazna (0 ocjena) ako nema položenih ispita.
+     */
+    GradeStatistics getAcademicYearGradeStatistics(String academicYear);
+}
@@ -2,7 +2,11 @@ package StudentManagmentSystem.repository.interfaces;
 
 import StudentManagmentSystem.models.Student;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interfejs koji definiše ugovor za rad sa podacima o studentima.
@@ -56,11 +60,88 @@ public interface StudentInterface {
     Optional<Student> getStudentByIndex(String indexNumber);
 
     /**
-     * Vrši pretragu studenata čije prezime počinje sa određenim slovima (prefiks).
+     * Vrši pretragu studenata čije prezime (ili dio dvostrukog prezimena) počinje sa
+     * određenim slovima (prefiks), bez obzira na dijakritike.
      * Ova funkcionalnost je optimizovana za filtriranje prikaza u tabelama ili pretragu.
      *
      * @param prefix Početna slova prezimena (npr. "Me" za Mehić, Memić...).
-     * @return Lista studenata čije prezime odgovara zadatom prefiksu.
+     * @return Lista studenata čije prezime odgovara zadatom prefiksu, od najrelevantnijeg.
      */
     ArrayList<Student> findByLastNamePrefix(String prefix);
-}
\ No newline at end of file
+
+    /**
+     * Pretražuje studente po prefiksu broja indeksa, prezimena ili imena (bez obzira na
+     * velika/mala slova), koristeći indekse umjesto učitavanja svih studenata.
+     * Rezultati su rangirani: prvo poklapanja broja indeksa, zatim prezimena, pa imena.
+     * Za upit od dvije riječi traže se kombinacije "prezime ime" i "ime prezime".
+     *
+     * @param terms Jedna ili dvije riječi upita (bez džokera).
+     * @param limit Maksimalan broj rezultata.
+     * @return Rangirana lista od najviše {@code limit} studenata.
+     */
+    ArrayList<Student> searchStudents(List<String> terms, int limit);
+
+    /**
+     * Vraća jednu stranicu studenata poredanih po broju indeksa (keyset paginacija).
+     * Za razliku od {@code OFFSET}, cijena dohvata ne raste sa rednim brojem stranice.
+     *
+     * @param afterIndexNumber Broj indeksa posljednjeg studenta sa prethodne stranice,
+     *                         ili {@code null} za prvu stranicu.
+     * @param pageSize Maksimalan broj studenata na stranici.
+     * @return Lista od najviše {@code pageSize} studenata; prazna lista znači kraj.
+     */
+    ArrayList<Student> getStudentsPage(String afterIndexNumber, int pageSize);
+
+    /**
+     * Vraća studente od zadate pozicije u poretku po broju indeksa ({@code LIMIT/OFFSET}).
+     * Koristi se kada se traži proizvoljan dio liste, npr. pri skrolovanju tabele,
+     * a posljednji indeks prethodne stranice nije poznat.
+     *
+     * @param offset Redni broj (od nule) prvog studenta.
+     * @param limit Maksimalan broj studenata.
+     * @return Lista od najviše {@code limit} studenata.
+     */
+    ArrayList<Student> getStudentsAt(int offset, int limit);
+
+    /**
+     * Vraća ukupan broj studenata bez učitavanja njihovih podataka.
+     *
+     * @return Broj studenata u bazi.
+     */
+    int countStudents();
+
+    /**
+     * Provjerava postojanje više studenata odjednom, umjesto jednog upita po studentu.
+     *
+     * @param indexNumbers Brojevi indeksa koje treba provjeriti.
+     * @return Skup onih brojeva indeksa koji postoje u bazi.
+     */
+    Set<String> findExistingIndexNumbers(Collection<String> indexNumbers);
+
+    /**
+     * Dohvata više studenata odjednom po brojevima indeksa.
+     *
+     * @param indexNumbers Brojevi indeksa traženih studenata.
+     * @return Pronađeni studenti, bez garantovanog redoslijeda.
+     */
+    ArrayList<Student> findByIndexNumbers(Collection<String> indexNumbers);
+
+    /**
+     * Dodaje više studenata u jednoj transakciji (grupni unos).
+     * Ako bilo koji unos ne uspije, nijedan student iz grupe se ne snima.
+     *
+     * @param students Studenti koje treba snimiti.
+     */
+    void addStudents(List<Student> students);
+
+    /**
+     * Vraća tok studenata čitan direktno iz kursora, bez punjenja liste.
+     * Tok drži konekciju iz pool-a dok se ne zatvori, pa se mora koristiti u
+     * {@code try-with-resources} bloku.
+     *
+     * @param studyProgram Studijski program, ili {@code null} za sve studente.
+     * @param fetchSize Broj redova koje drajver dohvata odjednom.
+     * @return Tok studenata poredanih po broju indeksa.
+     */
+    Stream<Student> streamStudents(String studyProgram, int fetchSize);
+}
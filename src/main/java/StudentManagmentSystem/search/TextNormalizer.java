@@ -0,0 +1,43 @@
+package StudentManagmentSystem.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Svodi tekst na oblik pogodan za pretragu: mala slova, bez dijakritika i sa
+ * jednim razmakom između riječi. Tako "Hodžić", "HODZIC" i "hodzic" daju isti rezultat.
+ *
+ * Slovo "đ" se ne rastavlja Unicode normalizacijom, pa se posebno zamjenjuje sa "dj",
+ * kako se najčešće piše bez naših slova (npr. "Đulić" -> "djulic").
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * @param text Ulazni tekst (može biti {@code null}).
+     * @return Normalizovan tekst; prazan string za {@code null}.
+     */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        if (isPlainAscii(text)) {
+            return WHITESPACE.matcher(text.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+        }
+        String lower = text.toLowerCase(Locale.ROOT).replace("đ", "dj");
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ");
+    }
+
+    /** Tekst bez ne-ASCII znakova nema dijakritika, pa se Unicode normalizacija preskače. */
+    private static boolean isPlainAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+}
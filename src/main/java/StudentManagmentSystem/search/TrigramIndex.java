@@ -0,0 +1,277 @@
+package StudentManagmentSystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Memorijski indeks za pretragu po podstringu ("contains"), koju B-tree indeks baze ne može
+ * poslužiti. Tekst svakog zapisa se normalizuje ({@link TextNormalizer}) i rastavlja na
+ * trigrame (sve uzastopne trojke znakova). Za svaki trigram se čuva sortirana lista
+ * internih brojeva zapisa koji ga sadrže.
+ *
+ * Pretraga presijeca liste za trigrame upita, počevši od najkraće, a zatim kandidate
+ * potvrđuje provjerom {@code contains} nad normalizovanim tekstom. Ispred teksta se dodaje
+ * razmak, pa trigrami poput " ha" označavaju početak riječi i poklapanja na početku riječi
+ * se traže posebno, prva. Upiti kraći od tri znaka se, kada nema trigrama, pregledaju redom
+ * dok se ne skupi dovoljno rezultata.
+ *
+ * Zapisi se dodaju, mijenjaju i brišu pojedinačno. Obrisani zapis ostaje u listama dok
+ * broj takvih ne postane veći od broja živih zapisa; tada se liste ponovo grade.
+ * Indeks je bezbjedan za istovremenu upotrebu iz više niti.
+ *
+ * @param <K> Tip ključa zapisa (npr. broj indeksa studenta ili šifra predmeta).
+ */
+public class TrigramIndex<K> {
+
+    private static final int MIN_DEAD_FOR_COMPACTION = 1_024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<K, Integer> idByKey = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private int deadCount = 0;
+
+    /**
+     * Dodaje zapis ili zamjenjuje postojeći sa istim ključem.
+     *
+     * @param key Ključ zapisa.
+     * @param fields Polja po kojima se pretražuje (npr. indeks, ime, prezime); {@code null} se preskače.
+     */
+    public void put(K key, String... fields) {
+        StringBuilder joined = new StringBuilder();
+        for (String field : fields) {
+            if (field == null) continue;
+            if (joined.length() > 0) joined.append(' ');
+            joined.append(field);
+        }
+        String text = " " + TextNormalizer.normalize(joined.toString());
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            int id = keys.size();
+            keys.add(key);
+            texts.add(text);
+            idByKey.put(key, id);
+            indexText(id, text);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Uklanja zapis; nepostojeći ključ se ignoriše.
+     *
+     * @param key Ključ zapisa.
+     */
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Uklanja sve zapise.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            idByKey.clear();
+            keys.clear();
+            texts.clear();
+            postings.clear();
+            deadCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Broj zapisa u indeksu.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pronalazi zapise čiji normalizovani tekst sadrži normalizovani upit.
+     * Zapisi kod kojih se poklapanje nalazi na početku riječi dolaze prvi;
+     * unutar iste grupe redoslijed je redoslijed dodavanja.
+     *
+     * @param query Tekst upita.
+     * @param limit Maksimalan broj rezultata.
+     * @return Ključevi pronađenih zapisa; prazna lista za prazan upit.
+     */
+    public List<K> search(String query, int limit) {
+        String q = TextNormalizer.normalize(query);
+        List<K> result = new ArrayList<>();
+        if (q.isEmpty() || limit < 1) return result;
+
+        lock.readLock().lock();
+        try {
+            // Tekstovi počinju razmakom, pa je poklapanje na početku riječi isto što i poklapanje " " + upit
+            String atWordStart = " " + q;
+            collectMatches(atWordStart, null, limit, result);
+            if (result.size() < limit) {
+                collectMatches(q, atWordStart, limit, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Dodaje u {@code result} ključeve zapisa koji sadrže {@code pattern}, a ne sadrže
+     * {@code exclude}, dok rezultat ne dostigne {@code limit}.
+     *
+     * Za obrazac od tri ili više znakova kandidati su presjek lista za njegove trigrame,
+     * dobijen spajanjem sortiranih lista počevši od najkraće; za kraći obrazac tekstovi
+     * se pregledaju redom. U oba slučaja pregled staje čim se skupi dovoljno rezultata.
+     */
+    private void collectMatches(String pattern, String exclude, int limit, List<K> result) {
+        if (pattern.length() < 3) {
+            for (int id = 0; id < texts.size() && result.size() < limit; id++) {
+                collect(id, pattern, exclude, result);
+            }
+            return;
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (String trigram : trigrams(pattern)) {
+            IntList list = postings.get(trigram);
+            if (list == null) return;
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(l -> l.size));
+
+        IntList smallest = lists.get(0);
+        int[] cursors = new int[lists.size()];
+        for (int i = 0; i < smallest.size && result.size() < limit; i++) {
+            int id = smallest.data[i];
+            boolean inAll = true;
+            for (int l = 1; l < lists.size() && inAll; l++) {
+                IntList other = lists.get(l);
+                int c = other.advanceTo(cursors[l], id);
+                cursors[l] = c;
+                if (c == other.size) return;
+                inAll = other.data[c] == id;
+            }
+            if (inAll) collect(id, pattern, exclude, result);
+        }
+    }
+
+    /**
+     * Potvrđuje kandidata provjerom nad tekstom (trigrami ne garantuju uzastopnost).
+     */
+    private void collect(int id, String pattern, String exclude, List<K> result) {
+        String text = texts.get(id);
+        if (text == null || !text.contains(pattern)) return;
+        if (exclude != null && text.contains(exclude)) return;
+        result.add(keys.get(id));
+    }
+
+    private void removeInternal(K key) {
+        Integer id = idByKey.remove(key);
+        if (id == null) return;
+        keys.set(id, null);
+        texts.set(id, null);
+        deadCount++;
+    }
+
+    private void indexText(int id, String text) {
+        for (String trigram : trigrams(text)) {
+            postings.computeIfAbsent(trigram, t -> new IntList()).add(id);
+        }
+    }
+
+    /**
+     * Kada obrisanih zapisa ima više nego živih, dodjeljuje nove brojeve i gradi liste iznova.
+     */
+    private void compactIfNeeded() {
+        if (deadCount < MIN_DEAD_FOR_COMPACTION || deadCount <= idByKey.size()) return;
+
+        List<K> liveKeys = new ArrayList<>(idByKey.size());
+        List<String> liveTexts = new ArrayList<>(idByKey.size());
+        for (int id = 0; id < keys.size(); id++) {
+            if (texts.get(id) != null) {
+                liveKeys.add(keys.get(id));
+                liveTexts.add(texts.get(id));
+            }
+        }
+
+        idByKey.clear();
+        keys.clear();
+        texts.clear();
+        postings.clear();
+        deadCount = 0;
+        for (int id = 0; id < liveKeys.size(); id++) {
+            keys.add(liveKeys.get(id));
+            texts.add(liveTexts.get(id));
+            idByKey.put(liveKeys.get(id), id);
+            indexText(id, liveTexts.get(id));
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * Rastuća lista cijelih brojeva bez pakovanja u {@link Integer}.
+     * Brojevi zapisa se samo dodaju na kraj i uvijek rastu, pa je lista sortirana.
+     */
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size = 0;
+
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        /**
+         * Vraća prvu poziciju od {@code from} nadalje sa vrijednošću {@code >= target}
+         * (ili {@code size}). Korak se udvostručuje pa se duge liste preskaču brzo.
+         */
+        private int advanceTo(int from, int target) {
+            if (from >= size || data[from] >= target) return from;
+            int lo = from;
+            int step = 1;
+            int hi = from + 1;
+            while (hi < size && data[hi] < target) {
+                lo = hi;
+                step <<= 1;
+                hi = lo + step;
+            }
+            int found = Arrays.binarySearch(data, lo + 1, Math.min(hi, size), target);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+}
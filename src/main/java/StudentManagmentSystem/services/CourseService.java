@@ -1,27 +1,70 @@
 package StudentManagmentSystem.services;
 
+import StudentManagmentSystem.events.CourseAdded;
+import StudentManagmentSystem.events.CourseDeleted;
+import StudentManagmentSystem.events.CourseUpdated;
+import StudentManagmentSystem.events.EventBus;
+import StudentManagmentSystem.models.BatchItemResult;
 import StudentManagmentSystem.models.Course;
 import StudentManagmentSystem.repository.interfaces.CourseInterface;
+import StudentManagmentSystem.search.TrigramIndex;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Servis koji upravlja poslovnom logikom vezanom za predmete (kurseve).
  * Ova klasa služi kao posrednik između korisničkog interfejsa i repozitorijuma,
  * osiguravajući da su svi podaci validni prije nego što se proslijede u bazu podataka.
+ *
+ * Katalog predmeta je mali i rijetko se mijenja, pa ga servis drži u memoriji
+ * (read-through pri prvom čitanju, write-through pri svakoj izmjeni kroz servis).
+ * Predmeti u katalogu se nikada ne dijele sa pozivaocem: metode vraćaju kopije.
+ * Uz katalog se održava i trigram indeks ({@link TrigramIndex}) nad šifrom i nazivom,
+ * za pretragu po dijelu teksta bez obzira na dijakritike.
+ *
+ * Nakon svake uspješne izmjene servis objavljuje događaj ({@link CourseAdded},
+ * {@link CourseUpdated}, {@link CourseDeleted}) na {@link EventBus}.
  */
 public class CourseService {
 
+    /** Najveća dozvoljena veličina stranice pri paginaciji. */
+    public static final int MAX_PAGE_SIZE = PageSize.MAX;
+
     private final CourseInterface courseRepository;
+    private final EventBus eventBus;
+
+    /**
+     * Nepromjenjiv presjek kataloga (šifra → predmet) u redoslijedu iz baze.
+     * {@code null} znači da katalog još nije učitan. Izmjene zamjenjuju cijelu mapu
+     * (copy-on-write), pa čitanja ne zahtijevaju zaključavanje.
+     */
+    private volatile Map<String, Course> catalog;
+    private final Object catalogLock = new Object();
+
+    /** Indeks za pretragu nad katalogom; mijenja se samo pod {@code catalogLock}, zajedno sa katalogom. */
+    private TrigramIndex<String> searchIndex;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong dataVersion = new AtomicLong();
 
     /**
-     * Konstruktor za Dependency Injection.
+     * Konstruktor za Dependency Injection sa zajedničkom magistralom događaja.
      *
      * @param courseRepository Implementacija repozitorijuma koja će se koristiti za pristup podacima.
+     * @param eventBus Magistrala na kojoj se objavljuju izmjene predmeta.
      */
-    public CourseService(CourseInterface courseRepository) {
+    public CourseService(CourseInterface courseRepository, EventBus eventBus) {
         this.courseRepository = courseRepository;
+        this.eventBus = eventBus;
     }
 
     /**
@@ -36,7 +79,7 @@ public class CourseService {
         validateCourse(course, course.getCourseCode());
 
         // Provjera jedinstvenosti šifre predmeta
-        if (courseRepository.getCourseByCode(course.getCourseCode()).isPresent()) {
+        if (getCourseByCode(course.getCourseCode()).isPresent()) {
             throw new IllegalArgumentException("Predmet sa šifrom " + course.getCourseCode() + " već postoji.");
         }
 
@@ -46,6 +89,56 @@ public class CourseService {
         }
 
         courseRepository.addCourse(course);
+        refreshCatalogEntry(course.getCourseCode());
+        dataVersion.incrementAndGet();
+        eventBus.publish(new CourseAdded(course));
+    }
+
+    /**
+     * Grupno dodaje predmete (npr. pri uvozu kataloga).
+     * Svaki predmet prolazi istu validaciju kao u {@link #addCourse(Course)}; jedinstvenost šifre
+     * se provjerava jednim upitom nad bazom (katalog u memoriji ne vidi predmete dodane iz druge
+     * instance aplikacije), a ispravni predmeti se snimaju u jednoj transakciji.
+     *
+     * @param courses Lista predmeta za dodavanje.
+     * @return Rezultat za svaku stavku, redoslijedom iz ulazne liste.
+     * @throws RuntimeException Ako snimanje ispravnih predmeta ne uspije; tada se ne snima nijedan.
+     */
+    public List<BatchItemResult<Course>> addCourses(List<Course> courses) {
+        List<String> courseCodes = new ArrayList<>();
+        for (Course c : courses) {
+            if (c != null && c.getCourseCode() != null) courseCodes.add(c.getCourseCode());
+        }
+        Set<String> taken = new HashSet<>(courseRepository.findExistingCourseCodes(courseCodes));
+
+        List<BatchItemResult<Course>> results = new ArrayList<>(courses.size());
+        List<Course> accepted = new ArrayList<>();
+        for (Course course : courses) {
+            try {
+                validateCourse(course, course == null ? null : course.getCourseCode());
+
+                if (!taken.add(course.getCourseCode())) {
+                    throw new IllegalArgumentException("Predmet sa šifrom " + course.getCourseCode() + " već postoji.");
+                }
+
+                if (course.getAddedByReferentId() == null || course.getAddedByReferentId().trim().isEmpty()) {
+                    throw new IllegalArgumentException("Mora postojati ID referenta koji dodaje predmet.");
+                }
+
+                accepted.add(course);
+                results.add(BatchItemResult.success(course));
+            } catch (IllegalArgumentException ex) {
+                results.add(BatchItemResult.failure(course, ex.getMessage()));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            courseRepository.addCourses(accepted);
+            invalidateCatalog();
+            dataVersion.incrementAndGet();
+            accepted.forEach(c -> eventBus.publish(new CourseAdded(c)));
+        }
+        return results;
     }
 
     /**
@@ -66,6 +159,9 @@ public class CourseService {
         if (!courseRepository.updateCourse(course, courseCode, referentId)) {
             throw new IllegalArgumentException("Predmet sa šifrom " + courseCode + " nije pronađen za ažuriranje.");
         }
+        refreshCatalogEntry(courseCode);
+        dataVersion.incrementAndGet();
+        eventBus.publish(new CourseUpdated(courseCode, course));
     }
 
     /**
@@ -79,7 +175,7 @@ public class CourseService {
      */
     public void deleteCourse(String courseCode) {
         // Provjera postojanja
-        Optional<Course> course = courseRepository.getCourseByCode(courseCode);
+        Optional<Course> course = getCourseByCode(courseCode);
         if (course.isEmpty()) {
             throw new IllegalArgumentException("Predmet sa šifrom " + courseCode + " ne postoji.");
         }
@@ -90,29 +186,60 @@ public class CourseService {
         }
 
         courseRepository.deleteCourse(courseCode);
+        removeCatalogEntry(courseCode);
+        dataVersion.incrementAndGet();
+        eventBus.publish(new CourseDeleted(courseCode));
     }
 
     /**
-     * Dobavlja sve predmete iz baze podataka.
+     * Dobavlja sve predmete iz keširanog kataloga.
      *
-     * @return Lista svih dostupnih predmeta.
+     * @return Lista svih dostupnih predmeta (nova lista sa kopijama predmeta, slobodna za izmjenu).
      */
     public ArrayList<Course> getAllCourses() {
-        return courseRepository.getAllCourses();
+        ArrayList<Course> result = new ArrayList<>();
+        for (Course c : catalog().values()) {
+            result.add(new Course(c));
+        }
+        return result;
+    }
+
+    /**
+     * Dobavlja jednu stranicu predmeta poredanih po šifri, direktno iz baze.
+     *
+     * @param afterCourseCode Šifra posljednjeg predmeta sa prethodne stranice ili {@code null} za prvu.
+     * @param pageSize Broj predmeta po stranici (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Lista predmeta; prazna lista označava kraj.
+     * @throws IllegalArgumentException Ako je veličina stranice van dozvoljenog opsega.
+     */
+    public ArrayList<Course> getCoursesPage(String afterCourseCode, int pageSize) {
+        PageSize.validate(pageSize);
+        return courseRepository.getCoursesPage(afterCourseCode, pageSize);
     }
 
     /**
      * Pronalazi predmet na osnovu njegove jedinstvene šifre.
      *
      * @param courseCode Šifra predmeta.
-     * @return {@link Optional} sa predmetom ili prazan ako nije pronađen.
+     * @return {@link Optional} sa kopijom predmeta ili prazan ako nije pronađen.
      * @throws IllegalArgumentException Ako je šifra null ili prazna.
      */
     public Optional<Course> getCourseByCode(String courseCode) {
         if (courseCode == null || courseCode.trim().isEmpty()) {
             throw new IllegalArgumentException("Šifra predmeta je obavezna.");
         }
-        return courseRepository.getCourseByCode(courseCode);
+
+        Course cached = catalog().get(courseCode);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return Optional.of(new Course(cached));
+        }
+
+        // Predmet je možda dodan iz druge instance aplikacije nad istom bazom
+        cacheMisses.incrementAndGet();
+        Optional<Course> fromDb = courseRepository.getCourseByCode(courseCode);
+        fromDb.ifPresent(c -> putCatalogEntry(new Course(c)));
+        return fromDb;
     }
 
     /**
@@ -128,6 +255,149 @@ public class CourseService {
         return courseRepository.findCoursesByNamePrefix(prefix);
     }
 
+    /**
+     * Pretražuje predmete po dijelu šifre ili naziva, bez obzira na velika/mala slova
+     * i dijakritike. Poklapanja na početku riječi dolaze prva.
+     *
+     * @param query Tekst koji je korisnik unio.
+     * @param limit Maksimalan broj rezultata (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Lista pronađenih predmeta; prazna ako je upit prazan.
+     * @throws IllegalArgumentException Ako je limit van dozvoljenog opsega.
+     */
+    public ArrayList<Course> searchCourses(String query, int limit) {
+        PageSize.validate(limit);
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Course> current;
+        TrigramIndex<String> index;
+        synchronized (catalogLock) {
+            current = catalog();
+            index = searchIndex;
+        }
+
+        ArrayList<Course> result = new ArrayList<>();
+        for (String code : index.search(query, limit)) {
+            Course c = current.get(code);
+            if (c != null) result.add(new Course(c));
+        }
+        return result;
+    }
+
+    /**
+     * Dohvata kandidate za polje za odabir predmeta dok korisnik kuca.
+     * Za prazan upit vraća prvu stranicu po šifri, a inače rezultat {@link #searchCourses}.
+     *
+     * @param query Tekst koji je korisnik unio (može biti prazan).
+     * @param limit Maksimalan broj rezultata (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Lista kandidata.
+     * @throws IllegalArgumentException Ako je limit van dozvoljenog opsega.
+     */
+    public ArrayList<Course> lookupCourses(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return getCoursesPage(null, limit);
+        }
+        return searchCourses(query, limit);
+    }
+
+    /**
+     * Ponovo učitava katalog iz baze i gradi indeks za pretragu.
+     * Poziva se pri pokretanju aplikacije kako prva pretraga ne bi čekala na učitavanje.
+     */
+    public void rebuildSearchIndex() {
+        invalidateCatalog();
+        catalog();
+    }
+
+    /**
+     * Odbacuje keširani katalog; sljedeće čitanje ga ponovo učitava iz baze.
+     * Koristi se nakon izmjena koje ne prolaze kroz metode ovog servisa (npr. masovni uvoz).
+     */
+    public void invalidateCatalog() {
+        synchronized (catalogLock) {
+            catalog = null;
+            searchIndex = null;
+        }
+    }
+
+    /**
+     * @return Verzija kataloga predmeta; raste nakon svake uspješne izmjene predmeta kroz servis.
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * @return Broj pretraga po šifri ({@link #getCourseByCode}) odgovorenih iz kataloga u memoriji.
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return Broj pretraga po šifri koje su morale ići u bazu (šifra nije u katalogu).
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Vraća katalog, učitavajući ga iz baze pri prvom pozivu.
+     */
+    private Map<String, Course> catalog() {
+        Map<String, Course> current = catalog;
+        if (current != null) {
+            return current;
+        }
+        synchronized (catalogLock) {
+            if (catalog == null) {
+                Map<String, Course> loaded = new LinkedHashMap<>();
+                TrigramIndex<String> index = new TrigramIndex<>();
+                for (Course c : courseRepository.getAllCourses()) {
+                    loaded.put(c.getCourseCode(), c);
+                    index.put(c.getCourseCode(), c.getCourseCode(), c.getName());
+                }
+                catalog = Collections.unmodifiableMap(loaded);
+                searchIndex = index;
+            }
+            return catalog;
+        }
+    }
+
+    /**
+     * Ponovo čita jedan predmet iz baze (zbog vrijednosti koje postavlja baza, npr. datum kreiranja)
+     * i upisuje ga u katalog.
+     */
+    private void refreshCatalogEntry(String courseCode) {
+        Optional<Course> fresh = courseRepository.getCourseByCode(courseCode);
+        if (fresh.isPresent()) {
+            putCatalogEntry(fresh.get());
+        } else {
+            removeCatalogEntry(courseCode);
+        }
+    }
+
+    private void putCatalogEntry(Course course) {
+        synchronized (catalogLock) {
+            if (catalog == null) return; // Katalog će se ionako učitati u cjelosti
+            Map<String, Course> copy = new LinkedHashMap<>(catalog);
+            copy.put(course.getCourseCode(), course);
+            catalog = Collections.unmodifiableMap(copy);
+            searchIndex.put(course.getCourseCode(), course.getCourseCode(), course.getName());
+        }
+    }
+
+    private void removeCatalogEntry(String courseCode) {
+        synchronized (catalogLock) {
+            if (catalog == null || !catalog.containsKey(courseCode)) return;
+            Map<String, Course> copy = new LinkedHashMap<>(catalog);
+            copy.remove(courseCode);
+            catalog = Collections.unmodifiableMap(copy);
+            searchIndex.remove(courseCode);
+        }
+    }
+
     /**
      * Interna pomoćna metoda za detaljnu validaciju integriteta podataka predmeta.
      * Provjerava opsege ECTS bodova (1-15) i semestara (1-10).
@@ -1,39 +1,68 @@
 package StudentManagmentSystem.services;
 
-import StudentManagmentSystem.models.Course;
+import StudentManagmentSystem.events.EnrollmentAdded;
+import StudentManagmentSystem.events.EnrollmentDeleted;
+import StudentManagmentSystem.events.EventBus;
+import StudentManagmentSystem.events.GradeChanged;
+import StudentManagmentSystem.models.BatchItemResult;
 import StudentManagmentSystem.models.Enrollment;
 import StudentManagmentSystem.models.Student;
 import StudentManagmentSystem.models.StudentReport;
 import StudentManagmentSystem.repository.implementations.EnrollmentRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Servis zadužen za upravljanje životnim ciklusom upisa studenata na predmete.
  * Sadrži kompleksnu poslovnu logiku za validaciju ocjena, sprečavanje duplih upisa
  * i generisanje zbirnih izvještaja (kartona) studenata.
+ *
+ * Nakon svake uspješne izmjene servis objavljuje događaj ({@link EnrollmentAdded},
+ * {@link GradeChanged}, {@link EnrollmentDeleted}) na {@link EventBus}.
  */
 public class EnrollmentService {
 
+    /** Najveća dozvoljena veličina stranice pri paginaciji. */
+    public static final int MAX_PAGE_SIZE = PageSize.MAX;
+
+    /** Osnovni SQLite kod greške za kršenje ograničenja (primarni, jedinstveni ili strani ključ). */
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    /** Broj redova koje drajver dohvata odjednom pri prolasku kroz cijelu tabelu upisa. */
+    private static final int STREAM_FETCH_SIZE = Integer.getInteger("sms.db.fetchSize", 500);
+
     private final EnrollmentRepository repository;
     private final StudentService studentService;
     private final CourseService courseService;
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final EventBus eventBus;
 
     /**
-     * Konstruktor koji inicijalizuje servis sa potrebnim repozitorijumom i zavisnim servisima.
+     * Konstruktor koji inicijalizuje servis sa potrebnim repozitorijumom, zavisnim servisima
+     * i zajedničkom magistralom događaja.
      *
      * @param repository Repozitorijum za rad sa upisima.
      * @param studentService Servis za provjeru postojanja studenata.
      * @param courseService Servis za provjeru postojanja predmeta.
+     * @param eventBus Magistrala na kojoj se objavljuju izmjene upisa.
      */
     public EnrollmentService(EnrollmentRepository repository,
                              StudentService studentService,
-                             CourseService courseService) {
+                             CourseService courseService,
+                             EventBus eventBus) {
         this.repository = repository;
         this.studentService = studentService;
         this.courseService = courseService;
+        this.eventBus = eventBus;
     }
 
     /**
@@ -45,16 +74,11 @@ public class EnrollmentService {
      * @param enrollment Objekat koji sadrži podatke o upisu.
      * @return Spašeni objekat {@link Enrollment}.
      * @throws IllegalArgumentException Ako podaci nedostaju ili student/predmet ne postoje.
-     * @throws IllegalStateException Ako student već ima položen predmet ili je već upisan u istoj godini.
+     * @throws IllegalStateException Ako student već ima položen predmet ili je već upisan u istoj godini
+     * (i kada istovremeni upis istog studenta stigne do baze prvi).
      */
     public Enrollment registerNewEnrollment(Enrollment enrollment) {
-        if (enrollment.getStudentIndexNumber() == null || enrollment.getCourseCode() == null || enrollment.getAcademicYear() == null) {
-            throw new IllegalArgumentException("Podaci Indeks, Predmet i Akademska godina su obavezni.");
-        }
-
-        if (enrollment.getAddedByReferentId() == null || enrollment.getAddedByReferentId().trim().isEmpty()) {
-            throw new IllegalArgumentException("ID referenta koji vrši upis je obavezan.");
-        }
+        validateRequiredFields(enrollment);
 
         if (studentService.getStudentByIndex(enrollment.getStudentIndexNumber()).isEmpty()) {
             throw new IllegalArgumentException("Student sa indeksom '" + enrollment.getStudentIndexNumber() + "' ne postoji.");
@@ -64,23 +88,134 @@ public class EnrollmentService {
             throw new IllegalArgumentException("Predmet sa šifrom '" + enrollment.getCourseCode() + "' ne postoji.");
         }
 
-        List<Enrollment> allStudentEnrollments = repository.findAll().stream()
-                .filter(e -> e.getStudentIndexNumber().equals(enrollment.getStudentIndexNumber()))
-                .toList();
+        // Ključne provjere preko indeksa primarnog ključa umjesto učitavanja cijele tabele Upis
+        if (repository.hasPassedCourse(enrollment.getStudentIndexNumber(), enrollment.getCourseCode())) {
+            throw new IllegalStateException("Student je već položio predmet '" + enrollment.getCourseCode() + "'. Nije dozvoljen ponovni upis.");
+        }
+
+        if (repository.existsEnrollment(enrollment.getStudentIndexNumber(), enrollment.getCourseCode(), enrollment.getAcademicYear())) {
+            throw new IllegalStateException("Student je već upisan na ovaj predmet u akademskoj godini " + enrollment.getAcademicYear());
+        }
 
-        for (Enrollment existing : allStudentEnrollments) {
-            if (existing.getCourseCode().equals(enrollment.getCourseCode()) &&
-                    existing.getGrade() != null && existing.getGrade() >= 6) {
-                throw new IllegalStateException("Student je već položio predmet '" + enrollment.getCourseCode() + "'. Nije dozvoljen ponovni upis.");
+        Enrollment created;
+        try {
+            created = repository.create(enrollment);
+        } catch (RuntimeException e) {
+            // Istovremeni upis ili brisanje između provjera i snimanja krši ograničenje baze
+            if (!isConstraintViolation(e)) throw e;
+            if (repository.existsEnrollment(enrollment.getStudentIndexNumber(), enrollment.getCourseCode(), enrollment.getAcademicYear())) {
+                throw new IllegalStateException("Student je već upisan na ovaj predmet u akademskoj godini " + enrollment.getAcademicYear(), e);
             }
+            throw new IllegalStateException("Upis nije snimljen; student ili predmet je u međuvremenu obrisan.", e);
+        }
+        dataVersion.incrementAndGet();
+        eventBus.publish(new EnrollmentAdded(created));
+        return created;
+    }
+
+    /**
+     * Grupno registruje upise (npr. cijelu generaciju na predmete semestra).
+     * Primjenjuju se ista pravila kao u {@link #registerNewEnrollment(Enrollment)}, ali se
+     * postojanje studenata i njihovi dosadašnji upisi dohvataju jednom za cijelu listu,
+     * a ispravni upisi se snimaju u jednoj transakciji. Neispravne stavke ne prekidaju
+     * obradu ostalih; za svaku stavku se vraća rezultat, redoslijedom iz ulazne liste.
+     * Pravila važe i unutar same liste (isti upis naveden dva puta se prihvata samo jednom).
+     *
+     * @param enrollments Lista upisa za registraciju.
+     * @return Rezultat za svaku stavku.
+     * @throws RuntimeException Ako snimanje ispravnih upisa ne uspije; tada se ne snima nijedan.
+     */
+    public List<BatchItemResult<Enrollment>> registerEnrollments(List<Enrollment> enrollments) {
+        List<String> indexNumbers = new ArrayList<>();
+        for (Enrollment e : enrollments) {
+            if (e != null && e.getStudentIndexNumber() != null) indexNumbers.add(e.getStudentIndexNumber());
+        }
 
-            if (existing.getCourseCode().equals(enrollment.getCourseCode()) &&
-                    existing.getAcademicYear().equals(enrollment.getAcademicYear())) {
-                throw new IllegalStateException("Student je već upisan na ovaj predmet u akademskoj godini " + enrollment.getAcademicYear());
+        Set<String> existingStudents = studentService.findExistingIndexNumbers(indexNumbers);
+        Set<String> passedKeys = new HashSet<>();
+        Set<String> enrollmentKeys = new HashSet<>();
+        for (Enrollment existing : repository.findByStudents(existingStudents)) {
+            registerKeys(existing, passedKeys, enrollmentKeys);
+        }
+
+        List<BatchItemResult<Enrollment>> results = new ArrayList<>(enrollments.size());
+        List<Enrollment> accepted = new ArrayList<>();
+        for (Enrollment enrollment : enrollments) {
+            try {
+                if (enrollment == null) {
+                    throw new IllegalArgumentException("Upis ne smije biti prazan.");
+                }
+                validateRequiredFields(enrollment);
+
+                if (!existingStudents.contains(enrollment.getStudentIndexNumber())) {
+                    throw new IllegalArgumentException("Student sa indeksom '" + enrollment.getStudentIndexNumber() + "' ne postoji.");
+                }
+
+                if (courseService.getCourseByCode(enrollment.getCourseCode()).isEmpty()) {
+                    throw new IllegalArgumentException("Predmet sa šifrom '" + enrollment.getCourseCode() + "' ne postoji.");
+                }
+
+                if (passedKeys.contains(passedKey(enrollment))) {
+                    throw new IllegalStateException("Student je već položio predmet '" + enrollment.getCourseCode() + "'. Nije dozvoljen ponovni upis.");
+                }
+
+                if (enrollmentKeys.contains(enrollmentKey(enrollment))) {
+                    throw new IllegalStateException("Student je već upisan na ovaj predmet u akademskoj godini " + enrollment.getAcademicYear());
+                }
+
+                registerKeys(enrollment, passedKeys, enrollmentKeys);
+                accepted.add(enrollment);
+                results.add(BatchItemResult.success(enrollment));
+            } catch (IllegalArgumentException | IllegalStateException ex) {
+                results.add(BatchItemResult.failure(enrollment, ex.getMessage()));
             }
         }
 
-        return repository.create(enrollment);
+        repository.createAll(accepted);
+        if (!accepted.isEmpty()) {
+            dataVersion.incrementAndGet();
+            accepted.forEach(e -> eventBus.publish(new EnrollmentAdded(e)));
+        }
+        return results;
+    }
+
+    /**
+     * Provjerava obavezna polja upisa (ključ i referent koji vrši upis).
+     */
+    private void validateRequiredFields(Enrollment enrollment) {
+        if (enrollment.getStudentIndexNumber() == null || enrollment.getCourseCode() == null || enrollment.getAcademicYear() == null) {
+            throw new IllegalArgumentException("Podaci Indeks, Predmet i Akademska godina su obavezni.");
+        }
+
+        if (enrollment.getAddedByReferentId() == null || enrollment.getAddedByReferentId().trim().isEmpty()) {
+            throw new IllegalArgumentException("ID referenta koji vrši upis je obavezan.");
+        }
+    }
+
+    /**
+     * @return {@code true} ako je uzrok izuzetka repozitorijuma kršenje ograničenja baze
+     * (SQLite kod {@code SQLITE_CONSTRAINT}, npr. dupli primarni ključ ili strani ključ).
+     */
+    private static boolean isConstraintViolation(RuntimeException e) {
+        return e.getCause() instanceof SQLException sql && sql.getErrorCode() == SQLITE_CONSTRAINT;
+    }
+
+    /**
+     * Dodaje ključeve upisa u skupove koji se koriste za provjeru pravila u grupnom upisu.
+     */
+    private static void registerKeys(Enrollment enrollment, Set<String> passedKeys, Set<String> enrollmentKeys) {
+        enrollmentKeys.add(enrollmentKey(enrollment));
+        if (enrollment.getGrade() != null && enrollment.getGrade() >= 6) {
+            passedKeys.add(passedKey(enrollment));
+        }
+    }
+
+    private static String passedKey(Enrollment e) {
+        return e.getStudentIndexNumber() + '\u0000' + e.getCourseCode();
+    }
+
+    private static String enrollmentKey(Enrollment e) {
+        return passedKey(e) + '\u0000' + e.getAcademicYear();
     }
 
     /**
@@ -130,7 +265,12 @@ public class EnrollmentService {
             enrollment.setModifiedByReferentId(referentId);
         }
 
-        return repository.update(enrollment);
+        boolean updated = repository.update(enrollment);
+        if (updated) {
+            dataVersion.incrementAndGet();
+            eventBus.publish(new GradeChanged(enrollment));
+        }
+        return updated;
     }
 
     /**
@@ -150,9 +290,18 @@ public class EnrollmentService {
         if (!repository.delete(studentIndexNumber, courseCode, academicYear)) {
             throw new IllegalStateException("Upis za brisanje nije pronađen.");
         }
+        dataVersion.incrementAndGet();
+        eventBus.publish(new EnrollmentDeleted(studentIndexNumber, courseCode, academicYear));
         return true;
     }
 
+    /**
+     * @return Verzija upisa i ocjena; raste nakon svakog uspješnog upisa ili unosa ocjene.
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
     /**
      * Dobavlja specifičan upis na osnovu ključnih parametara.
      */
@@ -167,9 +316,35 @@ public class EnrollmentService {
         return repository.findAll();
     }
 
+    /**
+     * Prolazi kroz sve upise u sistemu jedan po jedan, bez učitavanja cijele tabele u memoriju.
+     * Kursor se zatvara odmah po završetku prolaza, i u slučaju greške.
+     *
+     * @param visitor Akcija koja se izvršava nad svakim upisom.
+     */
+    public void forEachEnrollment(Consumer<Enrollment> visitor) {
+        try (Stream<Enrollment> enrollments = repository.streamAll(STREAM_FETCH_SIZE)) {
+            enrollments.forEach(visitor);
+        }
+    }
+
+    /**
+     * Vraća jednu stranicu upisa poredanih po kompozitnom ključu.
+     *
+     * @param after Posljednji upis sa prethodne stranice ili {@code null} za prvu.
+     * @param pageSize Broj upisa po stranici (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Lista upisa; prazna lista označava kraj.
+     * @throws IllegalArgumentException Ako je veličina stranice van dozvoljenog opsega.
+     */
+    public List<Enrollment> getEnrollmentsPage(Enrollment after, int pageSize) {
+        PageSize.validate(pageSize);
+        return repository.findPage(after, pageSize);
+    }
+
     /**
      * Generiše akademski izvještaj (karton) za studenta.
      * Izračunava ukupne ECTS bodove i prosječnu ocjenu na osnovu položenih predmeta (ocjena > 5).
+     * Upisi, bodovi i zbir ocjena dobijaju se jednim spojenim upitom nad Upis i Predmet.
      *
      * @param indexNumber Broj indeksa studenta za kojeg se generiše izvještaj.
      * @return {@link StudentReport} objekat sa sumiranim podacima.
@@ -181,27 +356,6 @@ public class EnrollmentService {
             throw new IllegalArgumentException("Student sa indeksom '" + indexNumber + "' nije pronađen.");
         }
 
-        List<Enrollment> studentEnrollments = repository.findAll().stream()
-                .filter(e -> e.getStudentIndexNumber().equals(indexNumber))
-                .toList();
-
-        int totalEcts = 0;
-        int gradeSum = 0;
-        int gradedCount = 0;
-
-        for (Enrollment e : studentEnrollments) {
-            Optional<Course> courseOpt = courseService.getCourseByCode(e.getCourseCode());
-            if (courseOpt.isPresent()) {
-                Course course = courseOpt.get();
-                if (e.getGrade() != null && e.getGrade() > 5) {
-                    totalEcts += course.getEcts();
-                    gradeSum += e.getGrade();
-                    gradedCount++;
-                }
-            }
-        }
-
-        double averageGrade = (gradedCount > 0) ? (double) gradeSum / gradedCount : 5.0;
-        return new StudentReport(studentOpt.get(), studentEnrollments, totalEcts, averageGrade);
+        return repository.findReportForStudent(studentOpt.get());
     }
 }
\ No newline at end of file
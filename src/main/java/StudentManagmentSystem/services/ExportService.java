@@ -0,0 +1,264 @@
+package StudentManagmentSystem.services;
+
+import StudentManagmentSystem.io.CsvWriter;
+import StudentManagmentSystem.io.NdjsonWriter;
+import StudentManagmentSystem.models.Course;
+import StudentManagmentSystem.models.Enrollment;
+import StudentManagmentSystem.models.Student;
+import StudentManagmentSystem.repository.interfaces.CourseInterface;
+import StudentManagmentSystem.repository.interfaces.EnrollmentInterface;
+import StudentManagmentSystem.repository.interfaces.StudentInterface;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servis za izvoz tabela {@code Student}, {@code Predmet} i {@code Upis} u CSV ili NDJSON fajlove
+ * (npr. za noćne izvoze za izvještavanje). Podaci se čitaju kroz kursor i odmah upisuju
+ * u bafer izlaznog fajla, pa memorijska potrošnja ne zavisi od broja redova.
+ * Lozinke studenata se nikada ne izvoze.
+ *
+ * Izvoz se piše u privremeni fajl u istom direktoriju, koji se tek nakon uspješnog upisa
+ * svih redova premješta na odredište. Prekinut izvoz zato ne ostavlja nepotpun fajl, a
+ * prethodni izvoz pod istim imenom ostaje netaknut.
+ */
+public class ExportService {
+
+    /** Podržani formati izvoza. */
+    public enum Format {
+        /** Tekst sa vrijednostima odvojenim zarezom, sa zaglavljem. */
+        CSV,
+        /** Jedan JSON objekat po redu. */
+        NDJSON
+    }
+
+    /** Broj redova koje drajver dohvata odjednom pri izvozu. */
+    private static final int EXPORT_FETCH_SIZE = Integer.getInteger("sms.db.fetchSize", 500);
+
+    /** Veličina bafera izlaznog fajla. */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private static final List<String> STUDENT_COLUMNS = List.of(
+            "brojIndeksa", "ime", "prezime", "studijskiProgram", "godinaUpisa",
+            "datumKreiranja", "datumAzuriranja", "referentKojiJeDodao");
+
+    private static final List<String> COURSE_COLUMNS = List.of(
+            "sifraPredmeta", "naziv", "ects", "semestar", "datumKreiranja", "datumAzuriranja", "referentId");
+
+    private static final List<String> ENROLLMENT_COLUMNS = List.of(
+            "brojIndeksa", "sifraPredmeta", "akademskaGodina", "ocjena", "datumOcjene",
+            "razlogIzmjeneOcjene", "datumIzmjene", "referentKojiJeDodao", "referentKojiJeIzmijenio");
+
+    private final StudentInterface studentRepository;
+    private final CourseInterface courseRepository;
+    private final EnrollmentInterface enrollmentRepository;
+
+    /**
+     * Konstruktor za Dependency Injection.
+     *
+     * @param studentRepository Repozitorijum studenata.
+     * @param courseRepository Repozitorijum predmeta.
+     * @param enrollmentRepository Repozitorijum upisa.
+     */
+    public ExportService(StudentInterface studentRepository, CourseInterface courseRepository,
+                         EnrollmentInterface enrollmentRepository) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    /**
+     * Izvozi studente (bez lozinki).
+     *
+     * @param target Odredišni fajl.
+     * @param format Format izvoza.
+     * @param gzip Da li se izlaz kompresuje gzip-om.
+     * @param studyProgram Studijski program, ili {@code null} za sve studente.
+     * @return Broj izvezenih redova.
+     * @throws UncheckedIOException Ako pisanje fajla ne uspije.
+     */
+    public long exportStudents(Path target, Format format, boolean gzip, String studyProgram) {
+        try (Stream<Student> students = studentRepository.streamStudents(blankToNull(studyProgram), EXPORT_FETCH_SIZE)) {
+            return export(target, format, gzip, STUDENT_COLUMNS, students, s -> Arrays.asList(
+                    s.getIndexNumber(), s.getFirstName(), s.getLastName(), s.getStudyProgram(),
+                    s.getEnrollmentYear(), s.getCreatedAt(), s.getUpdatedAt(), s.getAddedByReferentId()));
+        }
+    }
+
+    /**
+     * Izvozi katalog predmeta.
+     *
+     * @param target Odredišni fajl.
+     * @param format Format izvoza.
+     * @param gzip Da li se izlaz kompresuje gzip-om.
+     * @return Broj izvezenih redova.
+     * @throws UncheckedIOException Ako pisanje fajla ne uspije.
+     */
+    public long exportCourses(Path target, Format format, boolean gzip) {
+        try (Stream<Course> courses = courseRepository.streamCourses(EXPORT_FETCH_SIZE)) {
+            return export(target, format, gzip, COURSE_COLUMNS, courses, c -> Arrays.asList(
+                    c.getCourseCode(), c.getName(), c.getEcts(), c.getSemester(),
+                    c.getCreatedAt(), c.getUpdatedAt(), c.getAddedByReferentId()));
+        }
+    }
+
+    /**
+     * Izvozi upise i ocjene.
+     *
+     * @param target Odredišni fajl.
+     * @param format Format izvoza.
+     * @param gzip Da li se izlaz kompresuje gzip-om.
+     * @param academicYear Akademska godina, ili {@code null} za sve godine.
+     * @param studyProgram Studijski program studenta, ili {@code null} za sve programe.
+     * @return Broj izvezenih redova.
+     * @throws UncheckedIOException Ako pisanje fajla ne uspije.
+     */
+    public long exportEnrollments(Path target, Format format, boolean gzip, String academicYear, String studyProgram) {
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamFiltered(
+                blankToNull(academicYear), blankToNull(studyProgram), EXPORT_FETCH_SIZE)) {
+            return export(target, format, gzip, ENROLLMENT_COLUMNS, enrollments, e -> Arrays.asList(
+                    e.getStudentIndexNumber(), e.getCourseCode(), e.getAcademicYear(), e.getGrade(),
+                    e.getGradeDate(), e.getChangeReason(), e.getChangeDate(),
+                    e.getAddedByReferentId(), e.getModifiedByReferentId()));
+        }
+    }
+
+    /**
+     * Zajednički tok izvoza: otvara izlaz (opciono kroz gzip) nad privremenim fajlom, upisuje
+     * red po red iz toka i tek na kraju premješta fajl na odredište. Ako bilo šta ne uspije,
+     * privremeni fajl se briše, a odredište se ne dira.
+     */
+    private <T> long export(Path target, Format format, boolean gzip, List<String> columns,
+                            Stream<T> rows, Function<T, List<Object>> toValues) {
+        if (target == null || format == null) {
+            throw new IllegalArgumentException("Odredišni fajl i format izvoza su obavezni.");
+        }
+
+        Path temp = null;
+        boolean moved = false;
+        try {
+            temp = createTempSibling(target);
+            long[] count = {0};
+            try (RecordSink sink = openSink(temp, format, gzip, columns)) {
+                rows.forEach(row -> {
+                    try {
+                        sink.write(toValues.apply(row));
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            moveIntoPlace(temp, target);
+            moved = true;
+            return count[0];
+        } catch (IOException e) {
+            throw exportFailure(target, e);
+        } catch (UncheckedIOException e) {
+            throw exportFailure(target, e.getCause());
+        } finally {
+            if (temp != null && !moved) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    private static UncheckedIOException exportFailure(Path target, IOException cause) {
+        return new UncheckedIOException("Greška pri izvozu u fajl " + target + ": " + cause.getMessage(), cause);
+    }
+
+    /**
+     * Kreira privremeni fajl u direktoriju odredišta, kako bi premještanje bilo preimenovanje
+     * unutar istog fajl sistema.
+     */
+    private static Path createTempSibling(Path target) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        return Files.createTempFile(absolute.getParent(), "." + absolute.getFileName(), ".tmp");
+    }
+
+    /**
+     * Premješta gotov izvoz na odredište, atomično ako fajl sistem to podržava.
+     */
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            System.err.println("UPOZORENJE: Privremeni fajl izvoza " + temp + " nije obrisan: " + e.getMessage());
+        }
+    }
+
+    private RecordSink openSink(Path target, Format format, boolean gzip, List<String> columns) throws IOException {
+        OutputStream out = Files.newOutputStream(target);
+        if (gzip) {
+            out = new GZIPOutputStream(out, OUTPUT_BUFFER_SIZE);
+        }
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+
+        if (format == Format.CSV) {
+            CsvWriter csv = new CsvWriter(writer, ',');
+            csv.writeRecord(columns);
+            return new RecordSink() {
+                @Override
+                public void write(List<Object> values) throws IOException {
+                    String[] fields = new String[values.size()];
+                    for (int i = 0; i < fields.length; i++) {
+                        Object value = values.get(i);
+                        fields[i] = value == null ? null : value.toString();
+                    }
+                    csv.writeRecord(fields);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    csv.close();
+                }
+            };
+        }
+
+        NdjsonWriter json = new NdjsonWriter(writer);
+        return new RecordSink() {
+            @Override
+            public void write(List<Object> values) throws IOException {
+                json.writeRecord(columns, values);
+            }
+
+            @Override
+            public void close() throws IOException {
+                json.close();
+            }
+        };
+    }
+
+    private static String blankToNull(String value) {
+        return (value == null || value.trim().isEmpty()) ? null : value.trim();
+    }
+
+    /**
+     * Odredište izvoza nezavisno od formata.
+     */
+    private interface RecordSink extends Closeable {
+        void write(List<Object> values) throws IOException;
+    }
+}
@@ -0,0 +1,356 @@
+package StudentManagmentSystem.services;
+
+import StudentManagmentSystem.io.CsvReader;
+import StudentManagmentSystem.io.CsvWriter;
+import StudentManagmentSystem.models.BatchItemResult;
+import StudentManagmentSystem.models.Course;
+import StudentManagmentSystem.models.Enrollment;
+import StudentManagmentSystem.models.Student;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Servis za masovni uvoz studenata, predmeta i upisa iz CSV fajlova.
+ * Fajl se čita red po red, a redovi se obrađuju u dijelovima (chunk) fiksne veličine:
+ * svaki dio prolazi istu validaciju kao pojedinačni unos i snima se u jednoj transakciji.
+ * Memorijska potrošnja zato ne zavisi od veličine fajla.
+ * Odbijeni redovi se, zajedno sa razlogom, upisuju u prateći fajl {@code <ime>.rejected.csv}.
+ * Ako snimanje cijelog dijela ne uspije (npr. zbog konflikta sa zapisom dodanim u međuvremenu),
+ * svi redovi tog dijela idu u prateći fajl, a uvoz se nastavlja sa sljedećim dijelom.
+ *
+ * Prvi red fajla je zaglavlje sa nazivima kolona (kao u bazi, bez obzira na velika/mala slova):
+ * studenti: brojIndeksa, sifra, ime, prezime, studijskiProgram, godinaUpisa
+ * predmeti: sifraPredmeta, naziv, ects, semestar
+ * upisi:    brojIndeksa, sifraPredmeta, akademskaGodina
+ * Separator može biti zarez ili tačka-zarez i prepoznaje se iz zaglavlja.
+ */
+public class ImportService {
+
+    /** Podrazumijevani broj redova koji se validira i snima u jednoj transakciji. */
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final int chunkSize;
+
+    /**
+     * Konstruktor sa servisima koji izvršavaju validaciju i snimanje.
+     * Veličina dijela se može promijeniti svojstvom {@code -Dsms.import.chunkSize}.
+     *
+     * @param studentService Servis za studente.
+     * @param courseService Servis za predmete.
+     * @param enrollmentService Servis za upise.
+     */
+    public ImportService(StudentService studentService, CourseService courseService, EnrollmentService enrollmentService) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.chunkSize = Math.max(1, Integer.getInteger("sms.import.chunkSize", DEFAULT_CHUNK_SIZE));
+    }
+
+    /**
+     * Uvozi studente iz CSV fajla.
+     *
+     * @param csv Putanja do fajla.
+     * @param referentId ID referenta koji vrši uvoz (upisuje se kao referent koji je dodao studente).
+     * @param progress Prima presjek napretka nakon svakog obrađenog dijela; može biti {@code null}.
+     * @return Završni izvještaj o uvozu.
+     * @throws IllegalArgumentException Ako nedostaje referent ili obavezna kolona u zaglavlju.
+     * @throws UncheckedIOException Ako čitanje ili pisanje fajla ne uspije.
+     */
+    public ImportReport importStudents(Path csv, String referentId, Consumer<ImportReport> progress) {
+        requireReferent(referentId);
+        return runImport(csv, progress,
+                new String[]{"brojIndeksa", "sifra", "ime", "prezime", "studijskiProgram", "godinaUpisa"},
+                row -> new Student(
+                        row.get("brojIndeksa"),
+                        row.get("sifra"),
+                        row.get("ime"),
+                        row.get("prezime"),
+                        row.get("studijskiProgram"),
+                        row.getInt("godinaUpisa"),
+                        referentId),
+                studentService::addStudents);
+    }
+
+    /**
+     * Uvozi predmete iz CSV fajla.
+     *
+     * @param csv Putanja do fajla.
+     * @param referentId ID referenta koji vrši uvoz.
+     * @param progress Prima presjek napretka nakon svakog obrađenog dijela; može biti {@code null}.
+     * @return Završni izvještaj o uvozu.
+     * @throws IllegalArgumentException Ako nedostaje referent ili obavezna kolona u zaglavlju.
+     * @throws UncheckedIOException Ako čitanje ili pisanje fajla ne uspije.
+     */
+    public ImportReport importCourses(Path csv, String referentId, Consumer<ImportReport> progress) {
+        requireReferent(referentId);
+        return runImport(csv, progress,
+                new String[]{"sifraPredmeta", "naziv", "ects", "semestar"},
+                row -> new Course(
+                        row.get("sifraPredmeta"),
+                        row.get("naziv"),
+                        row.getInt("ects"),
+                        row.getInt("semestar"),
+                        referentId),
+                courseService::addCourses);
+    }
+
+    /**
+     * Uvozi upise studenata na predmete iz CSV fajla.
+     *
+     * @param csv Putanja do fajla.
+     * @param referentId ID referenta koji vrši uvoz.
+     * @param progress Prima presjek napretka nakon svakog obrađenog dijela; može biti {@code null}.
+     * @return Završni izvještaj o uvozu.
+     * @throws IllegalArgumentException Ako nedostaje referent ili obavezna kolona u zaglavlju.
+     * @throws UncheckedIOException Ako čitanje ili pisanje fajla ne uspije.
+     */
+    public ImportReport importEnrollments(Path csv, String referentId, Consumer<ImportReport> progress) {
+        requireReferent(referentId);
+        return runImport(csv, progress,
+                new String[]{"brojIndeksa", "sifraPredmeta", "akademskaGodina"},
+                row -> new Enrollment(
+                        row.get("brojIndeksa"),
+                        row.get("sifraPredmeta"),
+                        row.get("akademskaGodina"),
+                        referentId),
+                enrollmentService::registerEnrollments);
+    }
+
+    /**
+     * Zajednički tok uvoza: čitanje zaglavlja, pretvaranje redova u objekte, grupna obrada
+     * po dijelovima i upis odbijenih redova u prateći fajl.
+     */
+    private <T> ImportReport runImport(Path csv, Consumer<ImportReport> progress, String[] requiredColumns,
+                                       Function<Row, T> parser,
+                                       Function<List<T>, List<BatchItemResult<T>>> writer) {
+        Path rejectedFile = csv.resolveSibling(csv.getFileName() + ".rejected.csv");
+        long start = System.nanoTime();
+        long[] counters = new long[3]; // ukupno, uvezeno, odbijeno
+
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            char delimiter = detectDelimiter(in);
+            try (CsvReader reader = new CsvReader(in, delimiter);
+                 CsvWriter rejected = new CsvWriter(Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8), delimiter)) {
+
+                List<String> header = reader.readRecord();
+                if (header == null) {
+                    throw new IllegalArgumentException("CSV fajl je prazan: " + csv);
+                }
+                Map<String, Integer> columns = mapColumns(header, requiredColumns);
+
+                List<String> rejectedHeader = new ArrayList<>(header);
+                rejectedHeader.add(0, "red");
+                rejectedHeader.add("greska");
+                rejected.writeRecord(rejectedHeader);
+
+                List<T> items = new ArrayList<>(chunkSize);
+                List<List<String>> sources = new ArrayList<>(chunkSize);
+                List<String> record;
+                while ((record = reader.readRecord()) != null) {
+                    counters[0]++;
+                    record.add(0, String.valueOf(reader.getLineNumber()));
+                    try {
+                        items.add(parser.apply(new Row(columns, record)));
+                        sources.add(record);
+                    } catch (IllegalArgumentException ex) {
+                        writeRejected(rejected, record, ex.getMessage());
+                        counters[2]++;
+                    }
+
+                    if (items.size() == chunkSize) {
+                        flushChunk(items, sources, writer, rejected, counters);
+                        if (progress != null) progress.accept(snapshot(counters, start, null));
+                    }
+                }
+                if (!items.isEmpty()) {
+                    flushChunk(items, sources, writer, rejected, counters);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Greška pri uvozu fajla " + csv + ": " + e.getMessage(), e);
+        }
+
+        if (counters[2] == 0) {
+            try {
+                Files.deleteIfExists(rejectedFile);
+            } catch (IOException ignored) {
+                // Prazan prateći fajl nije greška
+            }
+        }
+        ImportReport report = snapshot(counters, start, counters[2] == 0 ? null : rejectedFile);
+        if (progress != null) progress.accept(report);
+        return report;
+    }
+
+    /**
+     * Šalje jedan dio na grupnu obradu i upisuje odbijene stavke u prateći fajl.
+     * Ako grupno snimanje ne uspije, transakcija je poništena, pa se odbija cijeli dio.
+     */
+    private <T> void flushChunk(List<T> items, List<List<String>> sources,
+                                Function<List<T>, List<BatchItemResult<T>>> writer,
+                                CsvWriter rejected, long[] counters) throws IOException {
+        List<BatchItemResult<T>> results;
+        try {
+            results = writer.apply(items);
+        } catch (RuntimeException ex) {
+            System.err.println("GREŠKA pri snimanju dijela uvoza (" + items.size() + " redova): " + ex.getMessage());
+            for (List<String> source : sources) {
+                writeRejected(rejected, source, "Snimanje dijela nije uspjelo: " + ex.getMessage());
+                counters[2]++;
+            }
+            rejected.flush();
+            items.clear();
+            sources.clear();
+            return;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult<T> result = results.get(i);
+            if (result.isSuccess()) {
+                counters[1]++;
+            } else {
+                writeRejected(rejected, sources.get(i), result.getErrorMessage());
+                counters[2]++;
+            }
+        }
+        rejected.flush();
+        items.clear();
+        sources.clear();
+    }
+
+    private static void writeRejected(CsvWriter rejected, List<String> record, String reason) throws IOException {
+        List<String> line = new ArrayList<>(record);
+        line.add(reason);
+        rejected.writeRecord(line);
+    }
+
+    private static ImportReport snapshot(long[] counters, long startNanos, Path rejectedFile) {
+        return new ImportReport(counters[0], counters[1], counters[2],
+                (System.nanoTime() - startNanos) / 1_000_000, rejectedFile);
+    }
+
+    /**
+     * Prepoznaje separator iz prvog reda: tačka-zarez ako ga ima više nego zareza, inače zarez.
+     */
+    private static char detectDelimiter(BufferedReader in) throws IOException {
+        in.mark(64 * 1024);
+        String first = in.readLine();
+        in.reset();
+        if (first == null) return ',';
+        long semicolons = first.chars().filter(c -> c == ';').count();
+        long commas = first.chars().filter(c -> c == ',').count();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    /**
+     * Mapira nazive kolona (bez obzira na velika/mala slova) na pozicije u zapisu.
+     * Pozicije su pomjerene za jedan jer se na početak svakog zapisa dodaje broj reda.
+     */
+    private static Map<String, Integer> mapColumns(List<String> header, String[] requiredColumns) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i + 1);
+        }
+        for (String required : requiredColumns) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("CSV zaglavlje ne sadrži obaveznu kolonu '" + required + "'.");
+            }
+        }
+        return columns;
+    }
+
+    private static void requireReferent(String referentId) {
+        if (referentId == null || referentId.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID referenta koji vrši uvoz je obavezan.");
+        }
+    }
+
+    /**
+     * Pristup vrijednostima jednog CSV zapisa po nazivu kolone.
+     */
+    private static final class Row {
+        private final Map<String, Integer> columns;
+        private final List<String> values;
+
+        private Row(Map<String, Integer> columns, List<String> values) {
+            this.columns = columns;
+            this.values = values;
+        }
+
+        private String get(String column) {
+            int index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index >= values.size()) return null;
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private int getInt(String column) {
+            String value = get(column);
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Neispravan broj u koloni '" + column + "': " + value);
+            }
+        }
+    }
+
+    /**
+     * Nepromjenjiv presjek stanja uvoza.
+     */
+    public static final class ImportReport {
+        private final long totalRows;
+        private final long importedRows;
+        private final long rejectedRows;
+        private final long elapsedMillis;
+        private final Path rejectedFile;
+
+        private ImportReport(long totalRows, long importedRows, long rejectedRows, long elapsedMillis, Path rejectedFile) {
+            this.totalRows = totalRows;
+            this.importedRows = importedRows;
+            this.rejectedRows = rejectedRows;
+            this.elapsedMillis = elapsedMillis;
+            this.rejectedFile = rejectedFile;
+        }
+
+        /** @return Broj pročitanih redova podataka (bez zaglavlja). */
+        public long getTotalRows() { return totalRows; }
+
+        /** @return Broj uspješno snimljenih redova. */
+        public long getImportedRows() { return importedRows; }
+
+        /** @return Broj odbijenih redova. */
+        public long getRejectedRows() { return rejectedRows; }
+
+        /** @return Proteklo vrijeme u milisekundama. */
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /** @return Putanja do fajla sa odbijenim redovima, ili {@code null} ako ih nema (ili uvoz još traje). */
+        public Path getRejectedFile() { return rejectedFile; }
+
+        /** @return Brzina obrade u redovima po sekundi. */
+        public double getRowsPerSecond() {
+            return elapsedMillis == 0 ? totalRows * 1000.0 : totalRows * 1000.0 / elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Uvoz: obrađeno %d | uvezeno %d | odbijeno %d | %.0f redova/s%s",
+                    totalRows, importedRows, rejectedRows, getRowsPerSecond(),
+                    rejectedFile == null ? "" : " | odbijeni redovi: " + rejectedFile);
+        }
+    }
+}
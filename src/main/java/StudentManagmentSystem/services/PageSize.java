@@ -0,0 +1,24 @@
+package StudentManagmentSystem.services;
+
+/**
+ * Zajednička granica veličine stranice i broja rezultata za sve servise,
+ * kako bi paginacija i pretraga odbijale iste vrijednosti sa istom porukom.
+ */
+final class PageSize {
+
+    /** Najveća dozvoljena veličina stranice pri paginaciji i pretrazi. */
+    static final int MAX = 1_000;
+
+    private PageSize() {
+    }
+
+    /**
+     * @param pageSize Tražena veličina stranice ili broj rezultata.
+     * @throws IllegalArgumentException Ako je vrijednost van opsega 1 - {@value #MAX}.
+     */
+    static void validate(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX) {
+            throw new IllegalArgumentException("Veličina stranice mora biti u opsegu 1-" + MAX + ".");
+        }
+    }
+}
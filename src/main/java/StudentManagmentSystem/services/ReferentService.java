@@ -2,73 +2,88 @@ package StudentManagmentSystem.services;
 
 import StudentManagmentSystem.models.Referent;
 import StudentManagmentSystem.repository.interfaces.ReferentInterface;
+import StudentManagmentSystem.session.Session;
+import StudentManagmentSystem.session.SessionStore;
 
 import java.util.ArrayList;
 import java.util.Optional;
 
 /**
  * Servis zadužen za upravljanje autentifikacijom i autorizacijom referenata.
- * Ova klasa održava stanje trenutno ulogovanog korisnika (sesiju) i pruža
- * mehanizme za prijavu, odjavu i registraciju novih referenata.
+ * Prijava otvara {@link Session} u {@link SessionStore}-u; servis sam ne čuva
+ * "trenutnog korisnika", pa ista instanca može istovremeno služiti više korisnika.
+ * Pruža i mehanizme za odjavu i registraciju novih referenata.
  */
 public class ReferentService {
 
     private final ReferentInterface referentRepository;
-
-    /**
-     * Statičko polje koje čuva referencu na trenutno ulogovanog referenta.
-     * Omogućava globalni pristup podacima o operateru unutar aplikacije.
-     */
-    private static Referent currentUser = null;
+    private final SessionStore sessionStore;
 
     /**
      * Konstruktor koji povezuje servis sa repozitorijumom za referente.
+     * Sesije se čuvaju u vlastitom {@link SessionStore}-u.
      * * @param referentRepository Implementacija repozitorijuma za rad sa podacima referenata.
      */
     public ReferentService(ReferentInterface referentRepository) {
+        this(referentRepository, new SessionStore());
+    }
+
+    /**
+     * @param referentRepository Implementacija repozitorijuma za rad sa podacima referenata.
+     * @param sessionStore Skladište sesija (može se dijeliti sa drugim dijelovima aplikacije).
+     */
+    public ReferentService(ReferentInterface referentRepository, SessionStore sessionStore) {
         this.referentRepository = referentRepository;
+        this.sessionStore = sessionStore;
     }
 
     /**
      * Vrši autentifikaciju referenta na sistem.
-     * Ukoliko su podaci ispravni, postavlja korisnika u {@code currentUser} sesiju.
+     * Ukoliko su podaci ispravni, otvara novu sesiju za tog referenta.
      *
      * @param referentId Korisnički identifikator referenta.
      * @param password Lozinka referenta.
-     * @return {@code true} ako je prijava uspješna, inače {@code false}.
+     * @return Otvorena sesija, ili prazan {@link Optional} ako podaci nisu ispravni.
      * @throws IllegalArgumentException Ukoliko su parametri prazni ili null.
      */
-    public boolean login(String referentId, String password) {
+    public Optional<Session> login(String referentId, String password) {
+        return authenticate(referentId, password).map(sessionStore::create);
+    }
+
+    /**
+     * Provjerava pristupne podatke referenta bez otvaranja sesije.
+     * Koristi se kada se svaki zahtjev autentifikuje zasebno (npr. HTTP Basic u API serveru).
+     *
+     * @param referentId Korisnički identifikator referenta.
+     * @param password Lozinka referenta.
+     * @return Referent ako su podaci ispravni, inače prazan {@link Optional}.
+     * @throws IllegalArgumentException Ukoliko su parametri prazni ili null.
+     */
+    public Optional<Referent> authenticate(String referentId, String password) {
         if (referentId == null || password == null || referentId.isEmpty() || password.isEmpty()) {
             throw new IllegalArgumentException("Korisničko ime i lozinka ne smiju biti prazni.");
         }
 
-        Optional<Referent> referent = referentRepository.login(referentId, password);
-
-        if (referent.isPresent()) {
-            currentUser = referent.get();
-            return true;
-        }
-
-        return false;
+        return referentRepository.login(referentId, password);
     }
 
     /**
-     * Uništava trenutnu sesiju postavljanjem {@code currentUser} na {@code null}.
-     * Koristi se prilikom odjave korisnika sa sistema.
+     * Pronalazi aktivnu sesiju po tokenu i produžava joj važenje.
+     *
+     * @param token Token sesije dobijen pri prijavi.
+     * @return Sesija, ili prazan {@link Optional} ako ne postoji ili je istekla.
      */
-    public void logout() {
-        currentUser = null;
+    public Optional<Session> findSession(String token) {
+        return sessionStore.find(token);
     }
 
     /**
-     * Globalni getter za trenutno aktivnog korisnika sistema.
-     * Neophodan za audit logove (bilježenje ko je dodao studenta ili predmet).
+     * Zatvara sesiju referenta. Koristi se prilikom odjave korisnika sa sistema.
      *
-     * @return Objekat {@link Referent} koji predstavlja trenutno ulogovanu osobu.
+     * @param session Sesija koja se zatvara.
      */
-    public static Referent getCurrentUser() {
-        return currentUser;
+    public void logout(Session session) {
+        sessionStore.invalidate(session);
     }
 
     /**
@@ -0,0 +1,62 @@
+package StudentManagmentSystem.services;
+
+import StudentManagmentSystem.models.GradeStatistics;
+import StudentManagmentSystem.models.SystemStatistics;
+import StudentManagmentSystem.repository.interfaces.StatisticsInterface;
+
+/**
+ * Servis koji pruža zbirne podatke za kontrolnu tablu.
+ * Umjesto učitavanja svih studenata, predmeta i upisa, oslanja se na
+ * agregatne upite repozitorijuma. Statistika ocjena se održava inkrementalno
+ * u bazi, pa čitanje ne zavisi od broja upisa.
+ */
+public class StatisticsService {
+
+    private final StatisticsInterface statisticsRepository;
+
+    /**
+     * Konstruktor koji povezuje servis sa repozitorijumom za statistiku.
+     * * @param statisticsRepository Implementacija agregatnih upita.
+     */
+    public StatisticsService(StatisticsInterface statisticsRepository) {
+        this.statisticsRepository = statisticsRepository;
+    }
+
+    /**
+     * Dobavlja globalnu statistiku sistema.
+     * Prosjek obuhvata samo prolazne ocjene (6-10).
+     *
+     * @return Presjek statistike u trenutku poziva.
+     */
+    public SystemStatistics getSystemStatistics() {
+        return statisticsRepository.getSystemStatistics();
+    }
+
+    /**
+     * Dobavlja statistiku prolaznih ocjena za jedan predmet.
+     *
+     * @param courseCode Šifra predmeta.
+     * @return Tekuća suma, broj i prosjek ocjena predmeta.
+     * @throws IllegalArgumentException Ako šifra predmeta nije navedena.
+     */
+    public GradeStatistics getCourseGradeStatistics(String courseCode) {
+        if (courseCode == null || courseCode.isBlank()) {
+            throw new IllegalArgumentException("Šifra predmeta je obavezna.");
+        }
+        return statisticsRepository.getCourseGradeStatistics(courseCode.trim());
+    }
+
+    /**
+     * Dobavlja statistiku prolaznih ocjena za jednu akademsku godinu.
+     *
+     * @param academicYear Akademska godina (npr. "2024/2025").
+     * @return Tekuća suma, broj i prosjek ocjena u godini.
+     * @throws IllegalArgumentException Ako akademska godina nije navedena.
+     */
+    public GradeStatistics getAcademicYearGradeStatistics(String academicYear) {
+        if (academicYear == null || academicYear.isBlank()) {
+            throw new IllegalArgumentException("Akademska godina je obavezna.");
+        }
+        return statisticsRepository.getAcademicYearGradeStatistics(academicYear.trim());
+    }
+}
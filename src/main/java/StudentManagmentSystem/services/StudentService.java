@@ -1,27 +1,85 @@
 package StudentManagmentSystem.services;
 
+import StudentManagmentSystem.cache.LruCache;
+import StudentManagmentSystem.events.EventBus;
+import StudentManagmentSystem.events.StudentAdded;
+import StudentManagmentSystem.events.StudentDeleted;
+import StudentManagmentSystem.events.StudentUpdated;
+import StudentManagmentSystem.models.BatchItemResult;
 import StudentManagmentSystem.models.Student;
 import StudentManagmentSystem.repository.interfaces.StudentInterface;
+import StudentManagmentSystem.search.TrigramIndex;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Servis koji upravlja poslovnom logikom za podatke o studentima.
  * Služi kao validacioni sloj prije nego što se podaci proslijede u {@link StudentInterface}.
  * Osigurava integritet podataka poput ispravnosti godine upisa i dužine lozinke.
+ *
+ * Pretraga po broju indeksa prolazi kroz ograničeni LRU keš sa TTL-om čija se veličina
+ * i trajanje podešavaju svojstvima {@code sms.cache.students.maxSize} i
+ * {@code sms.cache.students.ttlSeconds}.
+ *
+ * Pretraga po dijelu indeksa, imena ili prezimena koristi memorijski trigram indeks
+ * ({@link TrigramIndex}) koji se gradi pri pokretanju ({@link #rebuildSearchIndex()}),
+ * a zatim ažurira pri svakom dodavanju, izmjeni i brisanju studenta.
+ *
+ * Nakon svake uspješne izmjene servis objavljuje događaj ({@link StudentAdded},
+ * {@link StudentUpdated}, {@link StudentDeleted}) na {@link EventBus}.
  */
 public class StudentService {
 
+    /** Najveća dozvoljena veličina stranice pri paginaciji. */
+    public static final int MAX_PAGE_SIZE = PageSize.MAX;
+
+    private static final int DEFAULT_CACHE_SIZE = 5_000;
+    private static final long DEFAULT_CACHE_TTL_SECONDS = 300;
+    private static final int STREAM_FETCH_SIZE = Integer.getInteger("sms.db.fetchSize", 500);
+
     private final StudentInterface studentRepository;
+    private final EventBus eventBus;
+
+    /** Keš studenata po broju indeksa; sadrži samo postojeće studente. */
+    private final LruCache<String, Student> studentCache;
+
+    /** Indeks za pretragu po podstringu; {@code null} dok se ne izgradi. */
+    private volatile TrigramIndex<String> searchIndex;
+
+    /**
+     * Izmjene indeksa nastale dok gradnja traje; ponavljaju se nad novim indeksom prije zamjene,
+     * pa studenti dodani, izmijenjeni ili obrisani tokom gradnje nisu izgubljeni.
+     * {@code null} kada gradnja nije u toku. Pristup samo pod {@code indexLock}.
+     */
+    private List<Consumer<TrigramIndex<String>>> pendingIndexWrites;
+    private final Object indexLock = new Object();
+    private final Object rebuildLock = new Object();
+
+    private final AtomicLong dataVersion = new AtomicLong();
 
     /**
      * Inicijalizuje servis sa odgovarajućim repozitorijumom.
      * @param studentRepository Implementacija repozitorijuma studenata.
+     * @param eventBus Magistrala na kojoj se objavljuju izmjene studenata.
      */
-    public StudentService(StudentInterface studentRepository) {
+    public StudentService(StudentInterface studentRepository, EventBus eventBus) {
         this.studentRepository = studentRepository;
+        this.eventBus = eventBus;
+        this.studentCache = new LruCache<>(
+                Integer.getInteger("sms.cache.students.maxSize", DEFAULT_CACHE_SIZE),
+                Long.getLong("sms.cache.students.ttlSeconds", DEFAULT_CACHE_TTL_SECONDS) * 1000);
     }
 
     /**
@@ -34,7 +92,7 @@ public class StudentService {
     public void addStudent(Student student) {
         validateStudent(student);
 
-        if (studentRepository.getStudentByIndex(student.getIndexNumber()).isPresent()) {
+        if (getStudentByIndex(student.getIndexNumber()).isPresent()) {
             throw new IllegalArgumentException("Student sa indeksom " + student.getIndexNumber() + " već postoji.");
         }
 
@@ -43,6 +101,57 @@ public class StudentService {
         }
 
         studentRepository.addStudent(student);
+        studentCache.invalidate(student.getIndexNumber());
+        indexStudent(student);
+        dataVersion.incrementAndGet();
+        eventBus.publish(new StudentAdded(student));
+    }
+
+    /**
+     * Grupno registruje studente (npr. pri uvozu cijele generacije).
+     * Svaki student prolazi istu validaciju kao u {@link #addStudent(Student)}; duplikati se
+     * provjeravaju jednim upitom za cijelu listu, a ispravni studenti se snimaju u jednoj transakciji.
+     *
+     * @param students Lista studenata za registraciju.
+     * @return Rezultat za svaku stavku, redoslijedom iz ulazne liste.
+     * @throws RuntimeException Ako snimanje ispravnih studenata ne uspije; tada se ne snima nijedan.
+     */
+    public List<BatchItemResult<Student>> addStudents(List<Student> students) {
+        List<String> indexNumbers = new ArrayList<>();
+        for (Student s : students) {
+            if (s != null && s.getIndexNumber() != null) indexNumbers.add(s.getIndexNumber());
+        }
+        Set<String> taken = new HashSet<>(findExistingIndexNumbers(indexNumbers));
+
+        List<BatchItemResult<Student>> results = new ArrayList<>(students.size());
+        List<Student> accepted = new ArrayList<>();
+        for (Student student : students) {
+            try {
+                validateStudent(student);
+
+                if (!taken.add(student.getIndexNumber())) {
+                    throw new IllegalArgumentException("Student sa indeksom " + student.getIndexNumber() + " već postoji.");
+                }
+
+                if (student.getAddedByReferentId() == null || student.getAddedByReferentId().trim().isEmpty()) {
+                    throw new IllegalArgumentException("Mora postojati ID referenta koji dodaje studenta.");
+                }
+
+                accepted.add(student);
+                results.add(BatchItemResult.success(student));
+            } catch (IllegalArgumentException ex) {
+                results.add(BatchItemResult.failure(student, ex.getMessage()));
+            }
+        }
+
+        studentRepository.addStudents(accepted);
+        accepted.forEach(s -> {
+            studentCache.invalidate(s.getIndexNumber());
+            indexStudent(s);
+        });
+        if (!accepted.isEmpty()) dataVersion.incrementAndGet();
+        accepted.forEach(s -> eventBus.publish(new StudentAdded(s)));
+        return results;
     }
 
     /**
@@ -61,12 +170,20 @@ public class StudentService {
             throw new IllegalArgumentException("ID referenta je obavezan za ažuriranje podataka.");
         }
 
-        // Automatsko postavljanje audit podatka
-        student.setUpdatedAt(LocalDateTime.now().toString());
+        // Automatsko postavljanje audit podatka na kopiji, jer objekat pripada pozivaocu
+        Student updated = new Student(student);
+        updated.setUpdatedAt(LocalDateTime.now().toString());
 
-        if (!studentRepository.updateStudent(student, index)) {
+        if (!studentRepository.updateStudent(updated, index)) {
             throw new IllegalArgumentException("Student sa indeksom " + index + " nije pronađen za ažuriranje.");
         }
+        // Keš se poništava tek nakon potvrđene izmjene, da ga istovremeni čitalac ne bi ponovo napunio starim podacima
+        studentCache.invalidate(index);
+        studentCache.invalidate(updated.getIndexNumber());
+        unindexStudent(index);
+        indexStudent(updated);
+        dataVersion.incrementAndGet();
+        eventBus.publish(new StudentUpdated(index, updated));
     }
 
     /**
@@ -78,6 +195,10 @@ public class StudentService {
         if (!studentRepository.deleteStudent(student)) {
             throw new IllegalArgumentException("Student sa indeksom " + student.getIndexNumber() + " nije pronađen za brisanje.");
         }
+        studentCache.invalidate(student.getIndexNumber());
+        unindexStudent(student.getIndexNumber());
+        dataVersion.incrementAndGet();
+        eventBus.publish(new StudentDeleted(student.getIndexNumber()));
     }
 
     /**
@@ -89,7 +210,44 @@ public class StudentService {
     }
 
     /**
-     * Pronalazi studenta na osnovu broja indeksa.
+     * Dobavlja jednu stranicu studenata poredanih po broju indeksa.
+     * @param afterIndexNumber Indeks posljednjeg studenta sa prethodne stranice ili {@code null} za prvu.
+     * @param pageSize Broj studenata po stranici (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Lista studenata; prazna lista označava kraj.
+     * @throws IllegalArgumentException Ako je veličina stranice van dozvoljenog opsega.
+     */
+    public ArrayList<Student> getStudentsPage(String afterIndexNumber, int pageSize) {
+        PageSize.validate(pageSize);
+        return studentRepository.getStudentsPage(afterIndexNumber, pageSize);
+    }
+
+    /**
+     * Dobavlja dio liste studenata (poredane po broju indeksa) od zadate pozicije.
+     * @param offset Pozicija prvog studenta (od nule).
+     * @param pageSize Broj studenata (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Lista studenata.
+     * @throws IllegalArgumentException Ako je pozicija negativna ili veličina van opsega.
+     */
+    public ArrayList<Student> getStudentsAt(int offset, int pageSize) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Pozicija ne smije biti negativna.");
+        }
+        PageSize.validate(pageSize);
+        return studentRepository.getStudentsAt(offset, pageSize);
+    }
+
+    /**
+     * Vraća ukupan broj studenata.
+     * @return Broj studenata u bazi.
+     */
+    public int countStudents() {
+        return studentRepository.countStudents();
+    }
+
+    /**
+     * Pronalazi studenta na osnovu broja indeksa, prvo u kešu, a zatim u bazi.
+     * Student pročitan iz baze se kešira samo ako ga istovremena izmjena ili brisanje nije
+     * u međuvremenu poništilo. Vraća se kopija, pa izmjene pozivaoca ne mijenjaju keš.
      * @param indexNumber Broj indeksa studenta.
      * @return {@link Optional} sa studentom ili prazan ako nije pronađen.
      * @throws IllegalArgumentException Ako je proslijeđeni indeks prazan.
@@ -98,7 +256,180 @@ public class StudentService {
         if (indexNumber == null || indexNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Broj indeksa ne smije biti prazan.");
         }
-        return studentRepository.getStudentByIndex(indexNumber);
+
+        Optional<Student> cached = studentCache.get(indexNumber);
+        if (cached.isPresent()) {
+            return cached.map(Student::new);
+        }
+
+        long stamp = studentCache.readStamp();
+        Optional<Student> fromDb = studentRepository.getStudentByIndex(indexNumber);
+        fromDb.ifPresent(s -> studentCache.putIfNotInvalidatedSince(indexNumber, new Student(s), stamp));
+        return fromDb;
+    }
+
+    /**
+     * Provjerava postojanje više studenata odjednom (npr. za grupni upis cijele generacije).
+     * Studenti koji su već u kešu se ne traže ponovo u bazi. Ponovljeni brojevi indeksa se
+     * provjeravaju samo jednom, pa ne kvare statistiku keša niti redoslijed izbacivanja.
+     * @param indexNumbers Brojevi indeksa koje treba provjeriti (mogu se ponavljati).
+     * @return Skup brojeva indeksa koji postoje.
+     */
+    public Set<String> findExistingIndexNumbers(Collection<String> indexNumbers) {
+        Set<String> existing = new HashSet<>();
+        Set<String> unknown = new HashSet<>();
+        for (String indexNumber : new HashSet<>(indexNumbers)) {
+            if (indexNumber == null) continue;
+            if (studentCache.get(indexNumber).isPresent()) {
+                existing.add(indexNumber);
+            } else {
+                unknown.add(indexNumber);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            existing.addAll(studentRepository.findExistingIndexNumbers(unknown));
+        }
+        return existing;
+    }
+
+    /**
+     * @return Verzija podataka o studentima; raste nakon svakog uspješnog dodavanja, izmjene ili brisanja.
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * Vraća statistiku keša studenata (pogoci, promašaji, izbacivanja).
+     * @return Presjek statistike keša.
+     */
+    public LruCache.Stats getCacheStats() {
+        return studentCache.getStats();
+    }
+
+    /**
+     * Brza pretraga studenata za polje za pretragu, ograničena na {@code limit} rezultata.
+     * Kada je indeks za pretragu izgrađen, traži se dio broja indeksa, imena ili prezimena
+     * bez obzira na dijakritike ("hodzic" pronalazi "Hodžić"), a poklapanja na početku riječi
+     * dolaze prva. Do tada se koristi pretraga po prefiksu u bazi, gdje se upit dijeli na
+     * najviše dvije riječi (npr. "Mehić Ana").
+     *
+     * Rezultat zato zavisi od toga da li je gradnja indeksa pri pokretanju završena: dok traje,
+     * pronalaze se samo studenti čiji indeks, ime ili prezime počinje upitom ("hodz" pronalazi
+     * "Hodžić", ali "dzic" ne). Pozivalac kojem je potrebna pretraga po podstringu može sačekati
+     * indeks pomoću {@link #isSearchIndexReady()}.
+     * @param query Tekst koji je korisnik unio.
+     * @param limit Maksimalan broj rezultata (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Rangirana lista studenata; prazna ako je upit prazan.
+     * @throws IllegalArgumentException Ako je limit van dozvoljenog opsega.
+     */
+    public ArrayList<Student> searchStudents(String query, int limit) {
+        PageSize.validate(limit);
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        TrigramIndex<String> index = searchIndex;
+        if (index != null) {
+            return loadInOrder(index.search(query, limit));
+        }
+        List<String> terms = Arrays.asList(query.trim().split("\\s+"));
+        return studentRepository.searchStudents(terms.subList(0, Math.min(2, terms.size())), limit);
+    }
+
+    /**
+     * Dohvata kandidate za polje za odabir studenta dok korisnik kuca.
+     * Za prazan upit vraća prvu stranicu po broju indeksa, a inače rezultat {@link #searchStudents}.
+     * U oba slučaja se čita samo {@code limit} zapisa preko indeksa.
+     * @param query Tekst koji je korisnik unio (može biti prazan).
+     * @param limit Maksimalan broj rezultata (1 - {@value #MAX_PAGE_SIZE}).
+     * @return Lista kandidata.
+     * @throws IllegalArgumentException Ako je limit van dozvoljenog opsega.
+     */
+    public ArrayList<Student> lookupStudents(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return getStudentsPage(null, limit);
+        }
+        return searchStudents(query, limit);
+    }
+
+    /**
+     * Gradi indeks za pretragu iz svih studenata u bazi i zamjenjuje postojeći.
+     * Poziva se jednom pri pokretanju aplikacije; studenti se čitaju kao tok,
+     * bez punjenja liste.
+     *
+     * Izmjene kroz servis tokom gradnje (npr. uvoz ili API zahtjevi) se bilježe i ponavljaju
+     * nad novim indeksom prije zamjene. Ponavljanje je ispravno i za izmjene koje je tok već
+     * vidio, jer upis i brisanje po ključu zadržavaju posljednje stanje.
+     */
+    public void rebuildSearchIndex() {
+        synchronized (rebuildLock) {
+            synchronized (indexLock) {
+                pendingIndexWrites = new ArrayList<>();
+            }
+            TrigramIndex<String> fresh = new TrigramIndex<>();
+            try (Stream<Student> students = studentRepository.streamStudents(null, STREAM_FETCH_SIZE)) {
+                students.forEach(s -> fresh.put(s.getIndexNumber(), s.getIndexNumber(), s.getFirstName(), s.getLastName()));
+            } catch (RuntimeException e) {
+                synchronized (indexLock) {
+                    pendingIndexWrites = null;
+                }
+                throw e;
+            }
+            synchronized (indexLock) {
+                for (Consumer<TrigramIndex<String>> write : pendingIndexWrites) {
+                    write.accept(fresh);
+                }
+                pendingIndexWrites = null;
+                searchIndex = fresh;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} kada je indeks za pretragu po podstringu izgrađen.
+     */
+    public boolean isSearchIndexReady() {
+        return searchIndex != null;
+    }
+
+    private void indexStudent(Student student) {
+        applyIndexWrite(index -> index.put(student.getIndexNumber(),
+                student.getIndexNumber(), student.getFirstName(), student.getLastName()));
+    }
+
+    private void unindexStudent(String indexNumber) {
+        applyIndexWrite(index -> index.remove(indexNumber));
+    }
+
+    /**
+     * Primjenjuje izmjenu na trenutni indeks i, ako gradnja traje, bilježi je za novi indeks.
+     */
+    private void applyIndexWrite(Consumer<TrigramIndex<String>> write) {
+        synchronized (indexLock) {
+            TrigramIndex<String> index = searchIndex;
+            if (index != null) {
+                write.accept(index);
+            }
+            if (pendingIndexWrites != null) {
+                pendingIndexWrites.add(write);
+            }
+        }
+    }
+
+    /**
+     * Dohvata studente jednim upitom i vraća ih redoslijedom datih brojeva indeksa.
+     */
+    private ArrayList<Student> loadInOrder(List<String> indexNumbers) {
+        Map<String, Student> byIndex = new HashMap<>();
+        for (Student s : studentRepository.findByIndexNumbers(indexNumbers)) {
+            byIndex.put(s.getIndexNumber(), s);
+        }
+        ArrayList<Student> ordered = new ArrayList<>(indexNumbers.size());
+        for (String indexNumber : indexNumbers) {
+            Student s = byIndex.get(indexNumber);
+            if (s != null) ordered.add(s);
+        }
+        return ordered;
     }
 
     /**
@@ -0,0 +1,88 @@
+package StudentManagmentSystem.session;
+
+import StudentManagmentSystem.models.Referent;
+
+/**
+ * Sesija jednog prijavljenog referenta.
+ * Svaki korisnik (prozor, konzola ili API klijent) ima svoju sesiju, pa servisi
+ * ne zavise od globalnog stanja i mogu istovremeno služiti više korisnika.
+ *
+ * Sesija čuva samo ID, ime i prezime referenta, kopirane pri prijavi, a ne sam
+ * {@link Referent} objekat: model je promjenjiv i sadrži lozinku, koja ne smije
+ * ostati u memoriji niti biti dostupna svakome ko ima sesiju.
+ * Ti podaci i token se ne mijenjaju nakon kreiranja; mijenja se samo vrijeme
+ * posljednje aktivnosti i oznaka poništenja, oba kao {@code volatile} polja.
+ */
+public final class Session {
+
+    private final String token;
+    private final String referentId;
+    private final String referentFirstName;
+    private final String referentLastName;
+    private final long createdAtMillis;
+    private volatile long lastAccessMillis;
+    private volatile boolean invalidated;
+
+    /**
+     * @param token Jedinstveni, teško pogodivi identifikator sesije.
+     * @param referent Prijavljeni referent; iz njega se kopiraju samo ID, ime i prezime.
+     * @param nowMillis Trenutak kreiranja.
+     */
+    Session(String token, Referent referent, long nowMillis) {
+        this.token = token;
+        this.referentId = referent.getReferentId();
+        this.referentFirstName = referent.getFirstName();
+        this.referentLastName = referent.getLastName();
+        this.createdAtMillis = nowMillis;
+        this.lastAccessMillis = nowMillis;
+    }
+
+    /**
+     * Kreira sesiju koja se ne čuva u {@link SessionStore} (npr. za jedan API zahtjev
+     * autentifikovan HTTP Basic podacima).
+     *
+     * @param referent Autentifikovani referent.
+     * @return Sesija bez tokena.
+     */
+    public static Session transientFor(Referent referent) {
+        return new Session(null, referent, System.currentTimeMillis());
+    }
+
+    /** @return Token sesije, ili {@code null} za sesiju koja se ne čuva. */
+    public String getToken() { return token; }
+
+    /** @return ID prijavljenog referenta (za audit polja u bazi). */
+    public String getReferentId() { return referentId; }
+
+    /** @return Ime prijavljenog referenta. */
+    public String getReferentFirstName() { return referentFirstName; }
+
+    /** @return Prezime prijavljenog referenta. */
+    public String getReferentLastName() { return referentLastName; }
+
+    /** @return Trenutak kreiranja u milisekundama. */
+    public long getCreatedAtMillis() { return createdAtMillis; }
+
+    /** @return Trenutak posljednje aktivnosti u milisekundama. */
+    public long getLastAccessMillis() { return lastAccessMillis; }
+
+    /** @return {@code true} ako je sesija poništena odjavom ili istekom. */
+    public boolean isInvalidated() { return invalidated; }
+
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+
+    void invalidate() {
+        invalidated = true;
+    }
+
+    boolean isExpired(long nowMillis, long idleTimeoutMillis) {
+        return invalidated || nowMillis - lastAccessMillis > idleTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Session{referentId='" + referentId + "', invalidated=" + invalidated + "}";
+    }
+}
@@ -0,0 +1,124 @@
+package StudentManagmentSystem.session;
+
+import StudentManagmentSystem.models.Referent;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe skladište aktivnih sesija sa isticanjem nakon perioda neaktivnosti.
+ *
+ * Sesije se čuvaju u {@link ConcurrentHashMap}, pa prijave, odjave i provjere tokena
+ * različitih korisnika ne čekaju jedna drugu. Istekle sesije se uklanjaju pri sljedećem
+ * pristupu, a periodično i pri kreiranju novih sesija, bez posebne pozadinske niti.
+ */
+public class SessionStore {
+
+    /** Nakon koliko novih sesija se prolazi kroz cijelo skladište i uklanjaju istekle. */
+    private static final int PURGE_EVERY = 64;
+
+    private final long idleTimeoutMillis;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private int createdSincePurge;
+
+    /**
+     * Kreira skladište sa isticanjem iz {@code sms.session.idleMinutes} (podrazumijevano 30 minuta).
+     */
+    public SessionStore() {
+        this(Long.getLong("sms.session.idleMinutes", 30) * 60_000L);
+    }
+
+    /**
+     * @param idleTimeoutMillis Nakon koliko milisekundi neaktivnosti sesija ističe.
+     * @throws IllegalArgumentException Ako vrijeme nije pozitivno.
+     */
+    public SessionStore(long idleTimeoutMillis) {
+        if (idleTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Vrijeme isticanja sesije mora biti pozitivno.");
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Otvara novu sesiju za referenta.
+     *
+     * @param referent Autentifikovani referent.
+     * @return Nova sesija sa jedinstvenim tokenom.
+     */
+    public Session create(Referent referent) {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Session session = new Session(token, referent, System.currentTimeMillis());
+        sessions.put(token, session);
+
+        boolean purge;
+        synchronized (this) {
+            purge = ++createdSincePurge >= PURGE_EVERY;
+            if (purge) createdSincePurge = 0;
+        }
+        if (purge) purgeExpired();
+        return session;
+    }
+
+    /**
+     * Pronalazi aktivnu sesiju po tokenu i produžava joj važenje.
+     *
+     * @param token Token sesije.
+     * @return Sesija, ili prazan {@link Optional} ako ne postoji ili je istekla.
+     */
+    public Optional<Session> find(String token) {
+        if (token == null) return Optional.empty();
+        Session session = sessions.get(token);
+        if (session == null) return Optional.empty();
+
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now, idleTimeoutMillis)) {
+            session.invalidate();
+            sessions.remove(token, session);
+            return Optional.empty();
+        }
+        session.touch(now);
+        return Optional.of(session);
+    }
+
+    /**
+     * Poništava sesiju (odjava). Sesija bez tokena se samo označava kao poništena.
+     *
+     * @param session Sesija koja se zatvara.
+     */
+    public void invalidate(Session session) {
+        if (session == null) return;
+        session.invalidate();
+        if (session.getToken() != null) {
+            sessions.remove(session.getToken(), session);
+        }
+    }
+
+    /**
+     * Uklanja sve istekle sesije.
+     *
+     * @return Broj uklonjenih sesija.
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Session session : sessions.values()) {
+            if (session.isExpired(now, idleTimeoutMillis) && sessions.remove(session.getToken(), session)) {
+                session.invalidate();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /** @return Broj sesija u skladištu (uključujući istekle koje još nisu uklonjene). */
+    public int size() {
+        return sessions.size();
+    }
+}
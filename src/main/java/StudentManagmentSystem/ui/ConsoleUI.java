@@ -2,9 +2,13 @@ package StudentManagmentSystem.ui;
 
 import StudentManagmentSystem.models.*;
 import StudentManagmentSystem.services.*;
+import StudentManagmentSystem.session.Session;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 /**
  * Konzolaški korisnički interfejs (Console UI) aplikacije.
@@ -12,10 +16,15 @@ import java.util.Scanner;
  * Implementira menije za referente i studente, te delegira sve zahtjeve odgovarajućim servisima.
  */
 public class ConsoleUI {
+    /** Broj zapisa koji se učitava odjednom pri listanju cijelih tabela. */
+    private static final int LIST_PAGE_SIZE = 200;
+
     private final StudentService studentService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
     private final ReferentService referentService;
+    private final ImportService importService;
+    private final ExportService exportService;
     private final Scanner scanner;
 
     /**
@@ -24,13 +33,18 @@ public class ConsoleUI {
      * @param courseService Servis za rad sa predmetima.
      * @param enrollmentService Servis za upravljanje upisima i ocjenama.
      * @param referentService Servis za autentifikaciju i sesije.
+     * @param importService Servis za masovni uvoz iz CSV fajlova.
+     * @param exportService Servis za izvoz tabela u CSV/NDJSON fajlove.
      */
     public ConsoleUI(StudentService studentService, CourseService courseService,
-                     EnrollmentService enrollmentService, ReferentService referentService) {
+                     EnrollmentService enrollmentService, ReferentService referentService,
+                     ImportService importService, ExportService exportService) {
         this.studentService = studentService;
         this.courseService = courseService;
         this.enrollmentService = enrollmentService;
         this.referentService = referentService;
+        this.importService = importService;
+        this.exportService = exportService;
         this.scanner = new Scanner(System.in);
     }
 
@@ -73,9 +87,10 @@ public class ConsoleUI {
         System.out.print("Lozinka: ");
         String pass = scanner.nextLine();
 
-        if (referentService.login(id, pass)) {
-            System.out.println("Sistem: Uspješna prijava. Dobrodošli, " + ReferentService.getCurrentUser().getFirstName());
-            showReferentMenu();
+        Optional<Session> session = referentService.login(id, pass);
+        if (session.isPresent()) {
+            System.out.println("Sistem: Uspješna prijava. Dobrodošli, " + session.get().getReferentFirstName());
+            showReferentMenu(session.get());
         } else {
             System.out.println("Sistem: Pogrešan ID ili lozinka!");
         }
@@ -125,34 +140,39 @@ public class ConsoleUI {
     /**
      * Prikazuje operativni meni za ulogovanog referenta.
      * Referenti ovdje vrše administraciju studenata, predmeta i ocjena.
+     *
+     * @param session Sesija referenta; sve izmjene se bilježe na njega.
      */
-    private void showReferentMenu() {
+    private void showReferentMenu(Session session) {
         boolean back = false;
         while (!back) {
-            System.out.println("\n--- RADNI PANEL (Referent: " + ReferentService.getCurrentUser().getReferentId() + ") ---");
+            System.out.println("\n--- RADNI PANEL (Referent: " + session.getReferentId() + ") ---");
             System.out.println("1. Registruj studenta      5. Unos/Izmjena ocjene");
             System.out.println("2. Dodaj novi predmet     6. Pregled svih studenata");
             System.out.println("3. Pretraga studenata     7. Pregled svih predmeta");
             System.out.println("4. Upis na predmet        8. Pregled svih upisa");
-            System.out.println("9. Karton studenta        0. Odjava");
+            System.out.println("9. Karton studenta        10. Uvoz iz CSV fajla");
+            System.out.println("11. Izvoz podataka        0. Odjava");
             System.out.print("Izbor: ");
 
             String choice = scanner.nextLine();
             try {
                 switch (choice) {
-                    case "1" -> handleAddStudent();
-                    case "2" -> handleAddCourse();
+                    case "1" -> handleAddStudent(session);
+                    case "2" -> handleAddCourse(session);
                     case "3" -> handleSearchStudents();
-                    case "4" -> handleEnrollment();
-                    case "5" -> handleGrading();
-                    case "6" -> { System.out.println("\nLISTA STUDENATA:"); studentService.getAllStudents().forEach(System.out::println); }
-                    case "7" -> { System.out.println("\nLISTA PREDMETA:"); courseService.getAllCourses().forEach(System.out::println); }
-                    case "8" -> { System.out.println("\nSVI UPISI U SISTEMU:"); enrollmentService.getAllEnrollments().forEach(System.out::println); }
+                    case "4" -> handleEnrollment(session);
+                    case "5" -> handleGrading(session);
+                    case "6" -> { System.out.println("\nLISTA STUDENATA:"); printAllStudents(); }
+                    case "7" -> { System.out.println("\nLISTA PREDMETA:"); printAllCourses(); }
+                    case "8" -> { System.out.println("\nSVI UPISI U SISTEMU:"); enrollmentService.forEachEnrollment(System.out::println); }
                     case "9" -> {
                         System.out.print("Indeks: ");
                         handleStudentReport(scanner.nextLine());
                     }
-                    case "0" -> { referentService.logout(); back = true; }
+                    case "10" -> handleCsvImport(session);
+                    case "11" -> handleExport();
+                    case "0" -> { referentService.logout(session); back = true; }
                     default -> System.out.println("Sistem: Nepostojeća opcija.");
                 }
             } catch (Exception e) {
@@ -166,7 +186,7 @@ public class ConsoleUI {
     /**
      * Prikuplja ulazne podatke za kreiranje novog studenta i poziva servis.
      */
-    private void handleAddStudent() {
+    private void handleAddStudent(Session session) {
         System.out.print("Broj indeksa: "); String index = scanner.nextLine();
         System.out.print("Lozinka za studenta: "); String pass = scanner.nextLine();
         System.out.print("Ime: "); String fName = scanner.nextLine();
@@ -174,7 +194,7 @@ public class ConsoleUI {
         System.out.print("Program: "); String prog = scanner.nextLine();
         System.out.print("Godina upisa: "); int year = Integer.parseInt(scanner.nextLine());
 
-        Student s = new Student(index, pass, fName, lName, prog, year, ReferentService.getCurrentUser().getReferentId());
+        Student s = new Student(index, pass, fName, lName, prog, year, session.getReferentId());
         studentService.addStudent(s);
         System.out.println("Sistem: Student registrovan.");
     }
@@ -182,26 +202,69 @@ public class ConsoleUI {
     /**
      * Prikuplja ulazne podatke za kreiranje novog predmeta.
      */
-    private void handleAddCourse() {
+    private void handleAddCourse(Session session) {
         System.out.print("Šifra: "); String code = scanner.nextLine();
         System.out.print("Naziv: "); String name = scanner.nextLine();
         System.out.print("ECTS: "); int ects = Integer.parseInt(scanner.nextLine());
         System.out.print("Semestar: "); int sem = Integer.parseInt(scanner.nextLine());
 
-        Course c = new Course(code, name, ects, sem, ReferentService.getCurrentUser().getReferentId());
+        Course c = new Course(code, name, ects, sem, session.getReferentId());
         courseService.addCourse(c);
         System.out.println("Sistem: Predmet dodan.");
     }
 
+    /**
+     * Pokreće masovni uvoz studenata, predmeta ili upisa iz CSV fajla uz ispis napretka.
+     */
+    private void handleCsvImport(Session session) {
+        System.out.print("Vrsta (1-studenti, 2-predmeti, 3-upisi): "); String type = scanner.nextLine().trim();
+        System.out.print("Putanja do CSV fajla: "); Path path = Path.of(scanner.nextLine().trim());
+
+        String ref = session.getReferentId();
+        Consumer<ImportService.ImportReport> progress = r -> System.out.println("  " + r);
+        ImportService.ImportReport report = switch (type) {
+            case "1" -> importService.importStudents(path, ref, progress);
+            case "2" -> importService.importCourses(path, ref, progress);
+            case "3" -> importService.importEnrollments(path, ref, progress);
+            default -> throw new IllegalArgumentException("Nepostojeća vrsta uvoza.");
+        };
+        System.out.println("Sistem: Uvoz završen. Uvezeno " + report.getImportedRows() + " od " + report.getTotalRows() + " redova.");
+    }
+
+    /**
+     * Izvozi odabranu tabelu u CSV ili NDJSON fajl, opciono kompresovan i filtriran.
+     */
+    private void handleExport() {
+        System.out.print("Tabela (1-studenti, 2-predmeti, 3-upisi): "); String type = scanner.nextLine().trim();
+        System.out.print("Format (CSV/NDJSON): "); ExportService.Format format = ExportService.Format.valueOf(scanner.nextLine().trim().toUpperCase());
+        System.out.print("Putanja do fajla: "); Path path = Path.of(scanner.nextLine().trim());
+        System.out.print("Gzip kompresija (d/n): "); boolean gzip = scanner.nextLine().trim().equalsIgnoreCase("d");
+
+        long rows = switch (type) {
+            case "1" -> {
+                System.out.print("Studijski program (prazno za sve): ");
+                yield exportService.exportStudents(path, format, gzip, scanner.nextLine());
+            }
+            case "2" -> exportService.exportCourses(path, format, gzip);
+            case "3" -> {
+                System.out.print("Akademska godina (prazno za sve): "); String year = scanner.nextLine();
+                System.out.print("Studijski program (prazno za sve): "); String program = scanner.nextLine();
+                yield exportService.exportEnrollments(path, format, gzip, year, program);
+            }
+            default -> throw new IllegalArgumentException("Nepostojeća tabela za izvoz.");
+        };
+        System.out.println("Sistem: Izvezeno " + rows + " redova u " + path);
+    }
+
     /**
      * Procesuira upis studenta na predmet.
      */
-    private void handleEnrollment() {
+    private void handleEnrollment(Session session) {
         System.out.print("Indeks: "); String idx = scanner.nextLine();
         System.out.print("Šifra predmeta: "); String code = scanner.nextLine();
         System.out.print("Akademska godina: "); String yr = scanner.nextLine();
 
-        Enrollment e = new Enrollment(idx, code, yr, ReferentService.getCurrentUser().getReferentId());
+        Enrollment e = new Enrollment(idx, code, yr, session.getReferentId());
         enrollmentService.registerNewEnrollment(e);
         System.out.println("Sistem: Student upisan na predmet.");
     }
@@ -209,14 +272,14 @@ public class ConsoleUI {
     /**
      * Procesuira unos ili korekciju ocjene.
      */
-    private void handleGrading() {
+    private void handleGrading(Session session) {
         System.out.print("Indeks: "); String idx = scanner.nextLine();
         System.out.print("Šifra predmeta: "); String code = scanner.nextLine();
         System.out.print("Akademska godina: "); String yr = scanner.nextLine();
         System.out.print("Ocjena: "); int grade = Integer.parseInt(scanner.nextLine());
         System.out.print("Razlog (ako je izmjena): "); String reason = scanner.nextLine();
 
-        enrollmentService.enterOrUpdateGrade(idx, code, yr, grade, reason, ReferentService.getCurrentUser().getReferentId());
+        enrollmentService.enterOrUpdateGrade(idx, code, yr, grade, reason, session.getReferentId());
         System.out.println("Sistem: Ocjena procesuirana.");
     }
 
@@ -229,6 +292,30 @@ public class ConsoleUI {
         System.out.println(report.toString());
     }
 
+    /**
+     * Ispisuje sve studente stranicu po stranicu, tako da u memoriji nikad nije više od jedne stranice.
+     */
+    private void printAllStudents() {
+        String after = null;
+        List<Student> page;
+        while (!(page = studentService.getStudentsPage(after, LIST_PAGE_SIZE)).isEmpty()) {
+            page.forEach(System.out::println);
+            after = page.get(page.size() - 1).getIndexNumber();
+        }
+    }
+
+    /**
+     * Ispisuje sve predmete stranicu po stranicu.
+     */
+    private void printAllCourses() {
+        String after = null;
+        List<Course> page;
+        while (!(page = courseService.getCoursesPage(after, LIST_PAGE_SIZE)).isEmpty()) {
+            page.forEach(System.out::println);
+            after = page.get(page.size() - 1).getCourseCode();
+        }
+    }
+
     /**
      * Vrši pretragu studenata po prezimenu i ispisuje rezultate.
      */
@@ -1,9 +1,10 @@
 package StudentManagmentSystem.ui.gui.auth;
 
+import StudentManagmentSystem.events.EventBus;
 import StudentManagmentSystem.models.Student;
 import StudentManagmentSystem.services.*;
+import StudentManagmentSystem.session.Session;
 import StudentManagmentSystem.ui.gui.dashboard.MainDashboard;
-import StudentManagmentSystem.ui.gui.components.StudentReportPanel;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -22,6 +23,8 @@ public class LoginFrame extends JFrame {
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
     private final ReferentService referentService;
+    private final StatisticsService statisticsService;
+    private final EventBus eventBus;
 
     // Definicija palete boja za moderan izgled (UI/UX)
     private final Color primaryColor = new Color(41, 128, 185); // Plava
@@ -31,11 +34,14 @@ public class LoginFrame extends JFrame {
     /**
      * Konstruktor klase koji prima sve servise potrebne za rad aplikacije.
      */
-    public LoginFrame(StudentService ss, CourseService cs, EnrollmentService es, ReferentService rs) {
+    public LoginFrame(StudentService ss, CourseService cs, EnrollmentService es, ReferentService rs, StatisticsService sts,
+                      EventBus eventBus) {
         this.studentService = ss;
         this.courseService = cs;
         this.enrollmentService = es;
         this.referentService = rs;
+        this.statisticsService = sts;
+        this.eventBus = eventBus;
         initUI();
     }
 
@@ -126,8 +132,10 @@ public class LoginFrame extends JFrame {
             }
 
             if (rbReferent.isSelected()) {
-                if (referentService.login(id, pass)) {
-                    new MainDashboard(studentService, courseService, enrollmentService, referentService).setVisible(true);
+                Optional<Session> session = referentService.login(id, pass);
+                if (session.isPresent()) {
+                    new MainDashboard(studentService, courseService, enrollmentService, referentService, statisticsService,
+                            eventBus, session.get()).setVisible(true);
                     this.dispose();
                 } else {
                     JOptionPane.showMessageDialog(this, "Pogrešan Referent ID ili lozinka!", "Greska", JOptionPane.ERROR_MESSAGE);
@@ -150,11 +158,10 @@ public class LoginFrame extends JFrame {
      * Student vidi isključivo svoj akademski karton (Report).
      */
     private void openStudentView(Student s) {
-        MainDashboard dashboard = new MainDashboard(studentService, courseService, enrollmentService, referentService);
+        MainDashboard dashboard = new MainDashboard(studentService, courseService, enrollmentService, referentService, statisticsService,
+                eventBus, null);
         dashboard.setTitle("Dosije Studenta: " + s.getFirstName() + " " + s.getLastName());
-
-        StudentReportPanel report = new StudentReportPanel(enrollmentService, s.getIndexNumber());
-        dashboard.updateContent(report);
+        dashboard.showStudentReport(s.getIndexNumber());
         dashboard.setVisible(true);
         this.dispose();
     }
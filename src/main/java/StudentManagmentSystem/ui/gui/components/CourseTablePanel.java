@@ -2,7 +2,10 @@ package StudentManagmentSystem.ui.gui.components;
 
 import StudentManagmentSystem.models.Course;
 import StudentManagmentSystem.services.CourseService;
+import StudentManagmentSystem.session.Session;
+import StudentManagmentSystem.ui.gui.dashboard.RefreshablePanel;
 import StudentManagmentSystem.ui.gui.dialogs.AddCourseDialog;
+import StudentManagmentSystem.ui.gui.util.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -15,19 +18,23 @@ import java.awt.event.FocusEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Panel koji prikazuje tabelarni pregled svih predmeta u sistemu.
  * Sadrži funkcionalnosti za pretragu u realnom vremenu, osvježavanje podataka
  * i pozivanje dijaloga za dodavanje novih predmeta.
  */
-public class CourseTablePanel extends JPanel {
+public class CourseTablePanel extends JPanel implements RefreshablePanel {
     private final CourseService courseService;
+    private final Session session;
     private JTable table;
     private DefaultTableModel tableModel;
     private JTextField txtSearch;
     private Timer searchTimer;
+    private final AsyncLoader loader = new AsyncLoader(this);
+
+    private static final int SEARCH_DEBOUNCE_MS = 150;
+    private static final int SEARCH_LIMIT = 200;
 
     // Definicija konzistentne palete boja za tabelarni prikaz
     private final Color COLOR_PRIMARY = new Color(37, 99, 235); // Brend plava
@@ -38,9 +45,11 @@ public class CourseTablePanel extends JPanel {
     /**
      * Konstruktor panela. Inicijalizuje UI komponente i učitava početne podatke.
      * @param courseService Servis za dobavljanje podataka o predmetima.
+     * @param session Sesija referenta koji dodaje predmete.
      */
-    public CourseTablePanel(CourseService courseService) {
+    public CourseTablePanel(CourseService courseService, Session session) {
         this.courseService = courseService;
+        this.session = session;
         setLayout(new BorderLayout());
         setBackground(COLOR_BG);
         setBorder(new EmptyBorder(30, 40, 30, 40));
@@ -49,8 +58,8 @@ public class CourseTablePanel extends JPanel {
         initTable();
         refreshData();
 
-        // Inicijalizacija tajmera za pretragu (sprječava prečesto osvježavanje)
-        searchTimer = new Timer(1000, e -> handleSearch());
+        // Inicijalizacija tajmera za pretragu (objedinjuje brze pritiske tastera u jednu pretragu)
+        searchTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> handleSearch());
         searchTimer.setRepeats(false);
     }
 
@@ -105,7 +114,7 @@ public class CourseTablePanel extends JPanel {
         JButton btnAdd = createModernButton("+ NOVI", COLOR_PRIMARY);
         btnAdd.addActionListener(e -> {
             Window parent = SwingUtilities.getWindowAncestor(this);
-            AddCourseDialog dialog = new AddCourseDialog((Frame) parent, courseService);
+            AddCourseDialog dialog = new AddCourseDialog((Frame) parent, courseService, session);
             dialog.setVisible(true);
             if (dialog.isCourseAdded()) refreshData();
         });
@@ -172,11 +181,26 @@ public class CourseTablePanel extends JPanel {
     }
 
     /**
-     * Dobavlja sve predmete iz servisa i ponovo iscrtava redove u tabeli.
+     * Dobavlja sve predmete iz servisa (u pozadini) i ponovo iscrtava redove u tabeli.
      */
     public void refreshData() {
+        loader.submit(courseService::getAllCourses, this::fillTable);
+    }
+
+    /**
+     * Ponovo učitava tabelu, zadržavajući unesenu pretragu.
+     */
+    @Override
+    public void refresh() {
+        handleSearch();
+    }
+
+    /**
+     * Zamjenjuje sadržaj tabele datom listom predmeta.
+     */
+    private void fillTable(List<Course> courses) {
         tableModel.setRowCount(0);
-        for (Course c : courseService.getAllCourses()) {
+        for (Course c : courses) {
             tableModel.addRow(new Object[]{
                     c.getCourseCode(),
                     c.getName().toUpperCase(),
@@ -191,21 +215,9 @@ public class CourseTablePanel extends JPanel {
      * Pretraga se vrši i po nazivu i po šifri predmeta.
      */
     private void handleSearch() {
-        String q = txtSearch.getText().trim().toLowerCase();
-        if (q.isEmpty() || q.equals("pretraži...")) { refreshData(); return; }
+        String q = txtSearch.getText().trim();
+        if (q.isEmpty() || q.equals("Pretraži...")) { refreshData(); return; }
 
-        List<Course> filtered = courseService.getAllCourses().stream()
-                .filter(c -> c.getName().toLowerCase().contains(q) || c.getCourseCode().toLowerCase().contains(q))
-                .collect(Collectors.toList());
-
-        tableModel.setRowCount(0);
-        for (Course c : filtered) {
-            tableModel.addRow(new Object[]{
-                    c.getCourseCode(),
-                    c.getName().toUpperCase(),
-                    c.getEcts(),
-                    c.getSemester()
-            });
-        }
+        loader.submit(() -> courseService.searchCourses(q, SEARCH_LIMIT), this::fillTable);
     }
 }
\ No newline at end of file
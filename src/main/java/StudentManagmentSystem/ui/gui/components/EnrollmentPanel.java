@@ -1,28 +1,49 @@
 package StudentManagmentSystem.ui.gui.components;
 
+import StudentManagmentSystem.events.DomainEvent;
+import StudentManagmentSystem.events.EnrollmentEvent;
+import StudentManagmentSystem.events.EventBus;
+import StudentManagmentSystem.events.EventSubscriber;
+import StudentManagmentSystem.events.StudentDeleted;
+import StudentManagmentSystem.models.Course;
 import StudentManagmentSystem.models.Enrollment;
+import StudentManagmentSystem.models.Student;
 import StudentManagmentSystem.services.*;
+import StudentManagmentSystem.session.Session;
+import StudentManagmentSystem.ui.gui.dashboard.RefreshablePanel;
 import StudentManagmentSystem.ui.gui.dialogs.GradingDialog;
+import StudentManagmentSystem.ui.gui.util.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Panel za upravljanje upisima studenata na predmete i procesom ocjenjivanja.
  * Objedinjuje rad StudentService, CourseService i EnrollmentService kako bi
  * referentima omogućio brz upis i uvid u rezultate ispita.
  */
-public class EnrollmentPanel extends JPanel {
+public class EnrollmentPanel extends JPanel implements RefreshablePanel {
     private final StudentService studentService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
+    private final EventBus eventBus;
+    private final Session session;
 
-    private JComboBox<String> comboStudents, comboCourses;
+    private SearchPicker<Student> studentPicker;
+    private SearchPicker<Course> coursePicker;
     private JTable table;
-    private DefaultTableModel tableModel;
+    private EnrollmentTableModel tableModel;
+
+    // Izmjene upisa stižu kao događaji (na EDT-u) i primjenjuju se samo na zahvaćene redove
+    private EventBus.Subscription<DomainEvent> subscription;
+    // Događaji pristigli dok je puno učitavanje u toku; primjenjuju se ponovo nad njegovim rezultatom
+    private List<DomainEvent> eventsDuringLoad = null;
+
+    private final AsyncLoader tableLoader = new AsyncLoader(this);
 
     // --- MODERNA PALETA BOJA ---
     private final Color COLOR_BG = new Color(248, 250, 252);
@@ -34,11 +55,15 @@ public class EnrollmentPanel extends JPanel {
 
     /**
      * Konstruktor panela koji inicijalizuje sve slojeve i komponente.
+     * @param eventBus Magistrala sa koje panel prima izmjene upisa i studenata.
+     * @param session Sesija referenta koji vrši upise i ocjenjivanje.
      */
-    public EnrollmentPanel(StudentService ss, CourseService cs, EnrollmentService es) {
+    public EnrollmentPanel(StudentService ss, CourseService cs, EnrollmentService es, EventBus eventBus, Session session) {
         this.studentService = ss;
         this.courseService = cs;
         this.enrollmentService = es;
+        this.eventBus = eventBus;
+        this.session = session;
 
         setLayout(new BorderLayout(0, 30));
         setBackground(COLOR_BG);
@@ -74,7 +99,8 @@ public class EnrollmentPanel extends JPanel {
 
     /**
      * Kreira "karticu" sa formom za brz upis studenta na predmet.
-     * @return JPanel sa stilizovanim ComboBox-ovima i dugmetom.
+     * Student i predmet se biraju pretragom dok korisnik kuca, bez učitavanja svih zapisa unaprijed.
+     * @return JPanel sa poljima za odabir i dugmetom.
      */
     private JPanel createEnrollmentCard() {
         JPanel card = new JPanel(new BorderLayout());
@@ -87,13 +113,13 @@ public class EnrollmentPanel extends JPanel {
         JPanel inputs = new JPanel(new GridLayout(1, 3, 20, 0));
         inputs.setOpaque(false);
 
-        comboStudents = createStyledCombo();
-        loadStudents(); // Punjenje podacima iz baze
-        inputs.add(createFieldWrapper("STUDENT", comboStudents));
+        studentPicker = new SearchPicker<>(studentService::lookupStudents,
+                s -> s.getIndexNumber() + " - " + s.getFirstName() + " " + s.getLastName());
+        inputs.add(createFieldWrapper("STUDENT", studentPicker));
 
-        comboCourses = createStyledCombo();
-        loadCourses(); // Punjenje podacima iz baze
-        inputs.add(createFieldWrapper("PREDMET", comboCourses));
+        coursePicker = new SearchPicker<>(courseService::lookupCourses,
+                c -> c.getCourseCode() + " - " + c.getName());
+        inputs.add(createFieldWrapper("PREDMET", coursePicker));
 
         JButton btnEnroll = new JButton("UPISI STUDENTA");
         btnEnroll.setBackground(COLOR_ACCENT);
@@ -121,10 +147,7 @@ public class EnrollmentPanel extends JPanel {
         card.setBackground(COLOR_CARD);
         card.setBorder(new EmptyBorder(20, 20, 20, 20));
 
-        String[] cols = {"INDEKS", "PREDMET", "GODINA", "OCJENA", "DATUM"};
-        tableModel = new DefaultTableModel(cols, 0) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        tableModel = new EnrollmentTableModel();
 
         table = new JTable(tableModel);
         table.setRowHeight(50);
@@ -155,63 +178,108 @@ public class EnrollmentPanel extends JPanel {
      * Otvara GradingDialog za selektovani red u tabeli.
      */
     private void openGrading() {
-        int row = table.getSelectedRow();
-        if (row != -1) {
-            String idx = table.getValueAt(row, 0).toString();
-            String code = table.getValueAt(row, 1).toString();
-            String year = table.getValueAt(row, 2).toString();
-
-            enrollmentService.getEnrollment(idx, code, year).ifPresent(enr -> {
-                GradingDialog gd = new GradingDialog((Frame) SwingUtilities.getWindowAncestor(this), enrollmentService, enr);
-                gd.setVisible(true);
-                if (gd.isSuccess()) refreshTable();
-            });
-        }
+        tableModel.getEnrollmentAt(table.getSelectedRow()).ifPresent(selected ->
+                enrollmentService.getEnrollment(selected.getStudentIndexNumber(), selected.getCourseCode(), selected.getAcademicYear())
+                        .ifPresent(enr -> {
+                            // Red se nakon uspješnog ocjenjivanja ažurira kroz događaj GradeChanged
+                            GradingDialog gd = new GradingDialog((Frame) SwingUtilities.getWindowAncestor(this), enrollmentService, enr, session);
+                            gd.setVisible(true);
+                        }));
     }
 
     /**
      * Osvježava podatke u tabeli povlačenjem najnovijih upisa iz baze.
+     * Potrebno je samo pri prvom prikazu i kada se događaji izgube zbog punog reda;
+     * sve ostale izmjene stižu kroz {@link #applyEvent}.
      */
     public void refreshTable() {
-        tableModel.setRowCount(0);
-        enrollmentService.getAllEnrollments().forEach(e -> {
-            tableModel.addRow(new Object[]{
-                    e.getStudentIndexNumber(), e.getCourseCode(), e.getAcademicYear(),
-                    (e.getGrade() == null || e.getGrade() == 0) ? "Nije ocjenjen" : e.getGrade(),
-                    e.getGradeDate() != null ? e.getGradeDate() : "-"
-            });
+        eventsDuringLoad = new ArrayList<>();
+        tableLoader.submit(enrollmentService::getAllEnrollments, enrollments -> {
+            tableModel.setAll(enrollments);
+            eventsDuringLoad.forEach(this::applyToModel);
+            eventsDuringLoad = null;
+        }, error -> {
+            eventsDuringLoad = null;
+            JOptionPane.showMessageDialog(this, "Greška pri učitavanju podataka: " + error.getMessage(),
+                    "Greška", JOptionPane.ERROR_MESSAGE);
         });
     }
 
+    /**
+     * Primjenjuje događaj na tabelu. Poziva se na EDT-u.
+     */
+    private void applyEvent(DomainEvent event) {
+        if (eventsDuringLoad != null) eventsDuringLoad.add(event);
+        applyToModel(event);
+    }
+
+    private void applyToModel(DomainEvent event) {
+        if (event instanceof EnrollmentEvent) {
+            tableModel.apply((EnrollmentEvent) event);
+        } else if (event instanceof StudentDeleted) {
+            tableModel.removeStudent(((StudentDeleted) event).getIndexNumber());
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // Jedna pretplata na sve događaje čuva redoslijed između upisa i brisanja studenata
+        subscription = eventBus.subscribe(DomainEvent.class, new EventSubscriber<DomainEvent>() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                applyEvent(event);
+            }
+
+            @Override
+            public void onEventsDropped() {
+                refreshTable();
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    @Override
+    public void removeNotify() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+        eventsDuringLoad = null;
+        super.removeNotify();
+    }
+
+    /**
+     * Ponovo učitava tabelu upisa. Polja za odabir ne treba osvježavati jer
+     * pri svakoj pretrazi čitaju trenutno stanje iz servisa.
+     */
+    @Override
+    public void refresh() {
+        refreshTable();
+    }
+
     /**
      * Vrši upis studenta na predmet pozivanjem EnrollmentService-a.
-     * Automatski prepoznaje trenutno ulogovanog referenta.
+     * Upis se bilježi na referenta iz sesije panela.
      */
     private void handleEnrollment() {
+        Student student = studentPicker.getSelected().orElse(null);
+        Course course = coursePicker.getSelected().orElse(null);
+        if (student == null || course == null) {
+            JOptionPane.showMessageDialog(this, "Odaberite studenta i predmet sa liste.");
+            return;
+        }
         try {
-            String sid = ((String)comboStudents.getSelectedItem()).split(" - ")[0];
-            String cid = ((String)comboCourses.getSelectedItem()).split(" - ")[0];
-            String ref = (ReferentService.getCurrentUser() != null) ? ReferentService.getCurrentUser().getReferentId() : "SISTEM";
+            String sid = student.getIndexNumber();
+            String cid = course.getCourseCode();
+            String ref = session.getReferentId();
 
             enrollmentService.registerNewEnrollment(new Enrollment(sid, cid, "2024/2025", null, null, null, null, ref, null));
             JOptionPane.showMessageDialog(this, "Student uspješno upisan!");
-            refreshTable();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Greška", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    // Pomoćne metode za učitavanje podataka u ComboBox-ove
-    private void loadStudents() { studentService.getAllStudents().forEach(s -> comboStudents.addItem(s.getIndexNumber() + " - " + s.getFirstName() + " " + s.getLastName())); }
-    private void loadCourses() { courseService.getAllCourses().forEach(c -> comboCourses.addItem(c.getCourseCode() + " - " + c.getName())); }
-
-    private JComboBox<String> createStyledCombo() {
-        JComboBox<String> cb = new JComboBox<>();
-        cb.setBackground(Color.WHITE);
-        cb.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-        return cb;
-    }
-
     private JPanel createFieldWrapper(String lbl, JComponent c) {
         JPanel p = new JPanel(new BorderLayout(0, 5));
         p.setOpaque(false);
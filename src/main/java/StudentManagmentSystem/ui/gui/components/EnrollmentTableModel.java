@@ -0,0 +1,189 @@
+package StudentManagmentSystem.ui.gui.components;
+
+import StudentManagmentSystem.events.EnrollmentAdded;
+import StudentManagmentSystem.events.EnrollmentDeleted;
+import StudentManagmentSystem.events.EnrollmentEvent;
+import StudentManagmentSystem.events.GradeChanged;
+import StudentManagmentSystem.models.Enrollment;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Model tabele upisa koji se, nakon prvog učitavanja, ažurira pojedinačnim događajima
+ * ({@link EnrollmentEvent}) umjesto ponovnim učitavanjem svih upisa.
+ * Ocjenjivanje jednog studenta tako mijenja i ponovo iscrtava samo jedan red.
+ *
+ * Događaji se primjenjuju kao "upsert": dodavanje postojećeg upisa ga zamjenjuje,
+ * izmjena nepostojećeg ga dodaje, a brisanje nepostojećeg se ignoriše. Zato je
+ * bezbjedno ponovo primijeniti događaje koji su stigli dok je učitavanje bilo u toku.
+ *
+ * Brisanje reda pomjera sve redove iza njega, ali se pozicije u {@code rowByKey} ne obnavljaju
+ * odmah: zapamćena pozicija je tada veća od stvarne najviše za broj brisanja od posljednjeg
+ * obnavljanja, pa se red pronalazi kratkim pretraživanjem unazad. Pozicije se obnavljaju
+ * odjednom tek kada se nakupi oko {@code √n} brisanja, umjesto nakon svakog.
+ *
+ * Model se koristi isključivo sa EDT-a.
+ */
+public class EnrollmentTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS = {"INDEKS", "PREDMET", "GODINA", "OCJENA", "DATUM"};
+
+    private final List<Enrollment> rows = new ArrayList<>();
+    private final Map<String, Integer> rowByKey = new HashMap<>();
+    /** Prvi red čija pozicija u {@code rowByKey} možda više nije tačna. */
+    private int staleFrom = Integer.MAX_VALUE;
+    /** Broj brisanja od posljednjeg obnavljanja pozicija. */
+    private int pendingRemovals;
+
+    /**
+     * Zamjenjuje cijeli sadržaj tabele.
+     *
+     * @param enrollments Svi upisi za prikaz.
+     */
+    public void setAll(List<Enrollment> enrollments) {
+        rows.clear();
+        rows.addAll(enrollments);
+        reindexFrom(0);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Primjenjuje događaj na zahvaćeni red i obavještava tabelu samo o njemu.
+     *
+     * @param event Događaj o izmjeni upisa.
+     */
+    public void apply(EnrollmentEvent event) {
+        if (event instanceof EnrollmentAdded) {
+            upsert(((EnrollmentAdded) event).getEnrollment());
+        } else if (event instanceof GradeChanged) {
+            upsert(((GradeChanged) event).getEnrollment());
+        } else if (event instanceof EnrollmentDeleted) {
+            remove(keyOf(event.getStudentIndexNumber(), event.getCourseCode(), event.getAcademicYear()));
+        }
+    }
+
+    /**
+     * Uklanja sve upise studenta (brisanje studenta se u bazi kaskadno prenosi na upise).
+     *
+     * @param studentIndexNumber Broj indeksa obrisanog studenta.
+     */
+    public void removeStudent(String studentIndexNumber) {
+        int before = rows.size();
+        rows.removeIf(e -> studentIndexNumber.equals(e.getStudentIndexNumber()));
+        if (rows.size() != before) {
+            reindexFrom(0);
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * @param row Indeks reda u modelu.
+     * @return {@link Optional} sa upisom u datom redu ili prazan za nepostojeći red.
+     */
+    public Optional<Enrollment> getEnrollmentAt(int row) {
+        if (row < 0 || row >= rows.size()) return Optional.empty();
+        return Optional.of(rows.get(row));
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Enrollment e = rows.get(row);
+        switch (column) {
+            case 0: return e.getStudentIndexNumber();
+            case 1: return e.getCourseCode();
+            case 2: return e.getAcademicYear();
+            case 3: return (e.getGrade() == null || e.getGrade() == 0) ? "Nije ocjenjen" : e.getGrade();
+            case 4: return e.getGradeDate() != null ? e.getGradeDate() : "-";
+            default: return "";
+        }
+    }
+
+    private void upsert(Enrollment e) {
+        String key = keyOf(e);
+        int row = rowOf(key);
+        if (row >= 0) {
+            rows.set(row, e);
+            rowByKey.put(key, row);
+            fireTableRowsUpdated(row, row);
+        } else {
+            int newRow = rows.size();
+            rows.add(e);
+            rowByKey.put(key, newRow);
+            fireTableRowsInserted(newRow, newRow);
+        }
+    }
+
+    private void remove(String key) {
+        int row = rowOf(key);
+        if (row < 0) return;
+        rowByKey.remove(key);
+        rows.remove(row);
+        staleFrom = Math.min(staleFrom, row);
+        if (++pendingRemovals * pendingRemovals > rows.size()) {
+            reindexFrom(staleFrom);
+        }
+        fireTableRowsDeleted(row, row);
+    }
+
+    /**
+     * Pronalazi trenutnu poziciju reda. Redovi prije {@code staleFrom} se nisu pomjerali, a ostali
+     * su se od zapamćene pozicije pomjerili unazad najviše za {@code pendingRemovals} mjesta.
+     *
+     * @return Pozicija reda ili {@code -1} ako upis nije u tabeli.
+     */
+    private int rowOf(String key) {
+        Integer stored = rowByKey.get(key);
+        if (stored == null) return -1;
+        if (stored < staleFrom) return stored;
+        int lowest = Math.max(staleFrom, stored - pendingRemovals);
+        for (int row = Math.min(stored, rows.size() - 1); row >= lowest; row--) {
+            if (key.equals(keyOf(rows.get(row)))) return row;
+        }
+        return -1;
+    }
+
+    /**
+     * Obnavlja pozicije redova od datog reda nadalje (nakon brisanja se redovi pomjeraju).
+     */
+    private void reindexFrom(int firstRow) {
+        if (firstRow == 0) rowByKey.clear();
+        for (int i = firstRow; i < rows.size(); i++) {
+            rowByKey.put(keyOf(rows.get(i)), i);
+        }
+        staleFrom = Integer.MAX_VALUE;
+        pendingRemovals = 0;
+    }
+
+    private static String keyOf(Enrollment e) {
+        return keyOf(e.getStudentIndexNumber(), e.getCourseCode(), e.getAcademicYear());
+    }
+
+    private static String keyOf(String studentIndexNumber, String courseCode, String academicYear) {
+        return studentIndexNumber + '\u0000' + courseCode + '\u0000' + academicYear;
+    }
+}
@@ -0,0 +1,209 @@
+package StudentManagmentSystem.ui.gui.components;
+
+import StudentManagmentSystem.ui.gui.util.AsyncLoader;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Polje za odabir zapisa (studenta, predmeta) sa pretragom dok korisnik kuca.
+ * Umjesto punjenja padajuće liste svim zapisima unaprijed, nakon kratke pauze u kucanju
+ * dohvata se samo prvih {@value #MAX_RESULTS} poklapanja i prikazuje u iskačućoj listi.
+ *
+ * Odabrani zapis se vraća kao objekat ({@link #getSelected()}), pa pozivalac ne mora
+ * rastavljati prikazani tekst da bi došao do ključa.
+ *
+ * @param <T> Tip zapisa koji se bira.
+ */
+public class SearchPicker<T> extends JPanel {
+
+    /** Izvor poklapanja: za dati upit (prazan znači "bez filtera") vraća najviše {@code limit} zapisa. */
+    @FunctionalInterface
+    public interface Lookup<T> {
+        List<T> find(String query, int limit);
+    }
+
+    private static final int MAX_RESULTS = 20;
+    private static final int SEARCH_DEBOUNCE_MS = 150;
+    private static final int VISIBLE_ROWS = 8;
+
+    private final Lookup<T> lookup;
+    private final Function<T, String> labeler;
+    private final AsyncLoader loader = new AsyncLoader(this);
+
+    private final JTextField field = new JTextField();
+    private final DefaultListModel<T> results = new DefaultListModel<>();
+    private final JList<T> list = new JList<>(results);
+    private final JPopupMenu popup = new JPopupMenu();
+    private final Timer searchTimer;
+
+    private T selected;
+    /** Sprečava da programsko postavljanje teksta pokrene novu pretragu. */
+    private boolean updatingText = false;
+
+    /**
+     * @param lookup Izvor poklapanja (poziva se van EDT-a).
+     * @param labeler Tekst koji se prikazuje za zapis u listi i u polju nakon odabira.
+     */
+    public SearchPicker(Lookup<T> lookup, Function<T, String> labeler) {
+        super(new BorderLayout());
+        this.lookup = lookup;
+        this.labeler = labeler;
+
+        field.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        add(field, BorderLayout.CENTER);
+
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFocusable(false);
+        list.setVisibleRowCount(VISIBLE_ROWS);
+        list.setFont(field.getFont());
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> l, Object value, int index, boolean isSelected, boolean hasFocus) {
+                @SuppressWarnings("unchecked")
+                String text = labeler.apply((T) value);
+                return super.getListCellRendererComponent(l, text, index, isSelected, hasFocus);
+            }
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = list.locationToIndex(e.getPoint());
+                if (index >= 0) choose(results.get(index));
+            }
+        });
+
+        JScrollPane scroll = new JScrollPane(list);
+        scroll.setBorder(BorderFactory.createEmptyBorder());
+        popup.setFocusable(false);
+        popup.add(scroll);
+
+        searchTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> search());
+        searchTimer.setRepeats(false);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { onTextEdited(); }
+            @Override public void removeUpdate(DocumentEvent e) { onTextEdited(); }
+            @Override public void changedUpdate(DocumentEvent e) { onTextEdited(); }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) { handleKey(e); }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                if (selected == null) searchTimer.restart();
+            }
+
+            @Override
+            public void focusLost(FocusEvent e) {
+                searchTimer.stop();
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    /**
+     * @return Odabrani zapis ili prazan {@link Optional} ako korisnik nije odabrao ništa iz liste.
+     */
+    public Optional<T> getSelected() {
+        return Optional.ofNullable(selected);
+    }
+
+    /**
+     * Poništava odabir i briše uneseni tekst.
+     */
+    public void clear() {
+        selected = null;
+        setFieldText("");
+        popup.setVisible(false);
+    }
+
+    private void onTextEdited() {
+        if (updatingText) return;
+        selected = null; // Izmijenjen tekst više ne odgovara odabranom zapisu
+        searchTimer.restart();
+    }
+
+    private void search() {
+        String query = field.getText().trim();
+        loader.submit(() -> lookup.find(query, MAX_RESULTS), this::showResults, error -> {
+            popup.setVisible(false);
+            System.err.println("GREŠKA pri pretrazi: " + error.getMessage());
+        });
+    }
+
+    private void showResults(List<T> found) {
+        results.clear();
+        found.forEach(results::addElement);
+        if (found.isEmpty() || !field.isShowing() || !field.hasFocus()) {
+            popup.setVisible(false);
+            return;
+        }
+        list.setSelectedIndex(0);
+        list.ensureIndexIsVisible(0);
+        popup.setPopupSize(Math.max(field.getWidth(), 250),
+                list.getPreferredScrollableViewportSize().height + 4);
+        popup.show(field, 0, field.getHeight());
+    }
+
+    private void handleKey(KeyEvent e) {
+        if (!popup.isVisible()) {
+            if (e.getKeyCode() == KeyEvent.VK_DOWN) searchTimer.restart();
+            return;
+        }
+        int index = list.getSelectedIndex();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN:
+                moveSelection(Math.min(index + 1, results.size() - 1));
+                e.consume();
+                break;
+            case KeyEvent.VK_UP:
+                moveSelection(Math.max(index - 1, 0));
+                e.consume();
+                break;
+            case KeyEvent.VK_ENTER:
+                if (index >= 0) choose(results.get(index));
+                e.consume();
+                break;
+            case KeyEvent.VK_ESCAPE:
+                popup.setVisible(false);
+                e.consume();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void moveSelection(int index) {
+        list.setSelectedIndex(index);
+        list.ensureIndexIsVisible(index);
+    }
+
+    private void choose(T item) {
+        selected = item;
+        setFieldText(labeler.apply(item));
+        popup.setVisible(false);
+    }
+
+    private void setFieldText(String text) {
+        updatingText = true;
+        try {
+            field.setText(text);
+        } finally {
+            updatingText = false;
+        }
+    }
+}
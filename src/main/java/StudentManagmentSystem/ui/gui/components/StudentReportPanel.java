@@ -3,7 +3,7 @@ package StudentManagmentSystem.ui.gui.components;
 import StudentManagmentSystem.models.Enrollment;
 import StudentManagmentSystem.models.StudentReport;
 import StudentManagmentSystem.services.EnrollmentService;
-import StudentManagmentSystem.ui.gui.dashboard.MainDashboard;
+import StudentManagmentSystem.ui.gui.util.AsyncLoader;
 import StudentManagmentSystem.ui.gui.util.SwingUtil;
 
 import javax.swing.*;
@@ -20,15 +20,19 @@ import java.awt.*;
 public class StudentReportPanel extends JPanel {
     private final EnrollmentService enrollmentService;
     private final String studentIndex;
+    private final Runnable onBack;
+    private final AsyncLoader loader = new AsyncLoader(this);
 
     /**
      * Konstruktor panela za izvještaj.
      * @param enrollmentService Servis koji generiše podatke za izvještaj.
      * @param studentIndex Broj indeksa studenta čiji se podaci prikazuju.
+     * @param onBack Povratak na listu studenata, ili {@code null} ako navigacija nije dozvoljena.
      */
-    public StudentReportPanel(EnrollmentService enrollmentService, String studentIndex) {
+    public StudentReportPanel(EnrollmentService enrollmentService, String studentIndex, Runnable onBack) {
         this.enrollmentService = enrollmentService;
         this.studentIndex = studentIndex;
+        this.onBack = onBack;
 
         setLayout(new BorderLayout());
         setBackground(Color.WHITE);
@@ -38,100 +42,107 @@ public class StudentReportPanel extends JPanel {
     }
 
     /**
-     * Glavna metoda za generisanje i iscrtavanje UI elemenata na osnovu podataka iz baze.
-     * Uključuje logiku za uslovno sakrivanje navigacije zavisno od uloge korisnika.
+     * Pokreće generisanje izvještaja u pozadini; do tada se prikazuje poruka o učitavanju.
      */
     private void renderReport() {
-        try {
-            // Generisanje modela podataka izvještaja preko servisa
-            StudentReport report = enrollmentService.generateStudentReport(studentIndex);
-
-            // --- NAVIGACIJA ---
-            JPanel pnlTopNavigation = new JPanel(new FlowLayout(FlowLayout.LEFT));
-            pnlTopNavigation.setOpaque(false);
-
-            JButton btnBack = new JButton("← NAZAD NA LISTU");
-            SwingUtil.styleButton(btnBack, Color.WHITE, SwingUtil.COLOR_TEXT);
-            btnBack.addActionListener(e -> MainDashboard.getInstance().showStudentPanel());
-
-            /* * SIGURNOSNA PROVJERA:
-             * Ako u sesiji nema referenta, znači da je ulogovan student.
-             * Studentu se onemogućava povratak na listu svih studenata radi zaštite privatnosti.
-             */
-            if (StudentManagmentSystem.services.ReferentService.getCurrentUser() == null) {
-                btnBack.setVisible(false);
-            }
+        add(new JLabel("Učitavanje kartona...", SwingConstants.CENTER), BorderLayout.CENTER);
+        loader.submit(() -> enrollmentService.generateStudentReport(studentIndex), this::render,
+                ex -> showError("Greška pri generisanju izvještaja: " + ex.getMessage()));
+    }
+
+    /**
+     * Glavna metoda za iscrtavanje UI elemenata na osnovu podataka iz baze.
+     * Uključuje logiku za uslovno sakrivanje navigacije zavisno od uloge korisnika.
+     */
+    private void render(StudentReport report) {
+        removeAll();
+
+        // --- NAVIGACIJA ---
+        JPanel pnlTopNavigation = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        pnlTopNavigation.setOpaque(false);
+
+        JButton btnBack = new JButton("← NAZAD NA LISTU");
+        SwingUtil.styleButton(btnBack, Color.WHITE, SwingUtil.COLOR_TEXT);
+
+        /* * SIGURNOSNA PROVJERA:
+         * Bez akcije povratka (nema sesije referenta) ulogovan je student.
+         * Studentu se onemogućava povratak na listu svih studenata radi zaštite privatnosti.
+         */
+        if (onBack != null) {
+            btnBack.addActionListener(e -> onBack.run());
+        } else {
+            btnBack.setVisible(false);
+        }
 
-            pnlTopNavigation.add(btnBack);
-
-            // --- HEADER: Ime studenta i statističke kartice ---
-            JPanel pnlHeader = new JPanel(new BorderLayout());
-            pnlHeader.setOpaque(false);
-            pnlHeader.setBorder(new EmptyBorder(20, 0, 30, 0));
-
-            // Informacije o studentu
-            JPanel pnlInfoText = new JPanel(new GridLayout(2, 1, 0, 5));
-            pnlInfoText.setOpaque(false);
-
-            JLabel lblName = new JLabel(report.getStudent().getFirstName() + " " + report.getStudent().getLastName());
-            lblName.setFont(new Font("Segoe UI", Font.BOLD, 32));
-            lblName.setForeground(SwingUtil.COLOR_TEXT);
-
-            JLabel lblSubInfo = new JLabel("Indeks: " + report.getStudent().getIndexNumber() +
-                    "  •  Program: " + report.getStudent().getStudyProgram());
-            lblSubInfo.setFont(new Font("Segoe UI", Font.PLAIN, 16));
-            lblSubInfo.setForeground(new Color(100, 116, 139));
-
-            pnlInfoText.add(lblName);
-            pnlInfoText.add(lblSubInfo);
-
-            // Vizuelne kartice za statistiku
-            JPanel pnlStats = new JPanel(new FlowLayout(FlowLayout.RIGHT, 15, 0));
-            pnlStats.setOpaque(false);
-            pnlStats.add(createMiniStatCard("UKUPNO ECTS", String.valueOf(report.getTotalEcts()), new Color(37, 99, 235)));
-            pnlStats.add(createMiniStatCard("PROSJEK", String.format("%.2f", report.getAverageGrade()), new Color(22, 163, 74)));
-
-            pnlHeader.add(pnlInfoText, BorderLayout.WEST);
-            pnlHeader.add(pnlStats, BorderLayout.EAST);
-
-            // --- TABELA POLOŽENIH ISPITA ---
-            String[] columns = {"ŠIFRA PREDMETA", "OCJENA", "DATUM POLAGANJA", "AKAD. GODINA", "REFERENT"};
-            DefaultTableModel model = new DefaultTableModel(columns, 0) {
-                @Override public boolean isCellEditable(int r, int c) { return false; }
-            };
-
-            // Prikazujemo samo predmete sa prolaznom ocjenom (>= 6)
-            for (Enrollment e : report.getEnrollments()) {
-                if (e.getGrade() != null && e.getGrade() >= 6) {
-                    model.addRow(new Object[]{
-                            e.getCourseCode(),
-                            e.getGrade(),
-                            e.getGradeDate(),
-                            e.getAcademicYear(),
-                            e.getAddedByReferentId()
-                    });
-                }
+        pnlTopNavigation.add(btnBack);
+
+        // --- HEADER: Ime studenta i statističke kartice ---
+        JPanel pnlHeader = new JPanel(new BorderLayout());
+        pnlHeader.setOpaque(false);
+        pnlHeader.setBorder(new EmptyBorder(20, 0, 30, 0));
+
+        // Informacije o studentu
+        JPanel pnlInfoText = new JPanel(new GridLayout(2, 1, 0, 5));
+        pnlInfoText.setOpaque(false);
+
+        JLabel lblName = new JLabel(report.getStudent().getFirstName() + " " + report.getStudent().getLastName());
+        lblName.setFont(new Font("Segoe UI", Font.BOLD, 32));
+        lblName.setForeground(SwingUtil.COLOR_TEXT);
+
+        JLabel lblSubInfo = new JLabel("Indeks: " + report.getStudent().getIndexNumber() +
+                "  •  Program: " + report.getStudent().getStudyProgram());
+        lblSubInfo.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        lblSubInfo.setForeground(new Color(100, 116, 139));
+
+        pnlInfoText.add(lblName);
+        pnlInfoText.add(lblSubInfo);
+
+        // Vizuelne kartice za statistiku
+        JPanel pnlStats = new JPanel(new FlowLayout(FlowLayout.RIGHT, 15, 0));
+        pnlStats.setOpaque(false);
+        pnlStats.add(createMiniStatCard("UKUPNO ECTS", String.valueOf(report.getTotalEcts()), new Color(37, 99, 235)));
+        pnlStats.add(createMiniStatCard("PROSJEK", String.format("%.2f", report.getAverageGrade()), new Color(22, 163, 74)));
+
+        pnlHeader.add(pnlInfoText, BorderLayout.WEST);
+        pnlHeader.add(pnlStats, BorderLayout.EAST);
+
+        // --- TABELA POLOŽENIH ISPITA ---
+        String[] columns = {"ŠIFRA PREDMETA", "OCJENA", "DATUM POLAGANJA", "AKAD. GODINA", "REFERENT"};
+        DefaultTableModel model = new DefaultTableModel(columns, 0) {
+            @Override public boolean isCellEditable(int r, int c) { return false; }
+        };
+
+        // Prikazujemo samo predmete sa prolaznom ocjenom (>= 6)
+        for (Enrollment e : report.getEnrollments()) {
+            if (e.getGrade() != null && e.getGrade() >= 6) {
+                model.addRow(new Object[]{
+                        e.getCourseCode(),
+                        e.getGrade(),
+                        e.getGradeDate(),
+                        e.getAcademicYear(),
+                        e.getAddedByReferentId()
+                });
             }
+        }
 
-            JTable table = new JTable(model);
-            styleReportTable(table);
+        JTable table = new JTable(model);
+        styleReportTable(table);
 
-            JScrollPane sp = new JScrollPane(table);
-            sp.setBorder(BorderFactory.createLineBorder(new Color(226, 232, 240), 1));
-            sp.getViewport().setBackground(Color.WHITE);
+        JScrollPane sp = new JScrollPane(table);
+        sp.setBorder(BorderFactory.createLineBorder(new Color(226, 232, 240), 1));
+        sp.getViewport().setBackground(Color.WHITE);
 
-            // Sastavljanje layouta
-            JPanel pnlNorthContainer = new JPanel(new BorderLayout());
-            pnlNorthContainer.setOpaque(false);
-            pnlNorthContainer.add(pnlTopNavigation, BorderLayout.NORTH);
-            pnlNorthContainer.add(pnlHeader, BorderLayout.CENTER);
+        // Sastavljanje layouta
+        JPanel pnlNorthContainer = new JPanel(new BorderLayout());
+        pnlNorthContainer.setOpaque(false);
+        pnlNorthContainer.add(pnlTopNavigation, BorderLayout.NORTH);
+        pnlNorthContainer.add(pnlHeader, BorderLayout.CENTER);
 
-            add(pnlNorthContainer, BorderLayout.NORTH);
-            add(sp, BorderLayout.CENTER);
+        add(pnlNorthContainer, BorderLayout.NORTH);
+        add(sp, BorderLayout.CENTER);
 
-        } catch (Exception ex) {
-            showError("Greška pri generisanju izvještaja: " + ex.getMessage());
-        }
+        revalidate();
+        repaint();
     }
 
     /**
@@ -0,0 +1,234 @@
+package StudentManagmentSystem.ui.gui.components;
+
+import StudentManagmentSystem.cache.LruCache;
+import StudentManagmentSystem.models.Student;
+import StudentManagmentSystem.services.StudentService;
+import StudentManagmentSystem.ui.gui.util.AsyncLoader;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Model tabele studenata koji ne drži cijelu listu u memoriji.
+ * Redovi se učitavaju po stranicama tek kada ih tabela zatraži za iscrtavanje
+ * (vidljivi dio plus jedna stranica margine), a skoro gledane stranice se čuvaju u LRU kešu.
+ * Dok stranica ne stigne iz baze, ćelije prikazuju privremenu oznaku.
+ *
+ * Stranice se učitavaju keyset upitom od posljednjeg indeksa prethodne stranice kada je on
+ * poznat, a inače preko {@code OFFSET}-a. Granice stranica se slažu samo dok se podaci ne
+ * mijenjaju, pa sve keširane stranice pripadaju jednoj verziji podataka
+ * ({@link StudentService#getDataVersion()}): kada stigne stranica nakon promjene verzije,
+ * sve stranice i sidra se odbacuju, a broj redova se ponovo učitava. Inače bi nova stranica
+ * mogla ponoviti ili preskočiti redove u odnosu na stranice učitane prije izmjene.
+ *
+ * Model se koristi isključivo sa EDT-a; upiti se izvršavaju preko {@link AsyncLoader}-a.
+ * Za rezultate pretrage model prikazuje fiksnu listu bez straničenja.
+ */
+public class StudentTableModel extends AbstractTableModel {
+
+    /** Broj redova u jednoj stranici koja se učitava jednim upitom. */
+    static final int PAGE_SIZE = 100;
+
+    /** Koliko se redova iznad i ispod traženog reda unaprijed učitava. */
+    private static final int PREFETCH_ROWS = PAGE_SIZE;
+
+    private static final int CACHED_PAGES = 30;
+    private static final long PAGE_TTL_MILLIS = 60_000;
+
+    private static final String LOADING = "…";
+
+    private static final String[] COLUMNS = {"INDEKS", "IME", "PREZIME", "PROGRAM", "GODINA"};
+
+    private final StudentService studentService;
+    private final LruCache<Integer, List<Student>> pages = new LruCache<>(CACHED_PAGES, PAGE_TTL_MILLIS);
+
+    /** Stranice čiji je upit trenutno u toku. */
+    private final Set<Integer> pending = new HashSet<>();
+
+    /**
+     * Posljednji indeks prethodne stranice, za one stranice gdje je poznat.
+     * Omogućava keyset upit umjesto {@code OFFSET}-a pri uzastopnom skrolovanju.
+     */
+    private final Map<Integer, String> pageAnchors = new HashMap<>();
+
+    private int rowCount = 0;
+    private List<Student> fixedRows = null;
+
+    /** Povećava se pri svakom resetu kako bi se odbacile stranice iz prethodnog stanja. */
+    private int generation = 0;
+
+    /** Verzija podataka kojoj pripadaju keširane stranice i sidra. */
+    private long dataVersion;
+
+    /**
+     * @param studentService Servis iz kojeg se dobavljaju stranice studenata.
+     */
+    public StudentTableModel(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    /**
+     * Prelazi na straničeni prikaz svih studenata sa zadatim ukupnim brojem redova.
+     * Sve keširane stranice se odbacuju.
+     *
+     * @param totalRows Ukupan broj studenata u bazi.
+     */
+    public void reset(int totalRows) {
+        clearPages();
+        dataVersion = studentService.getDataVersion();
+        fixedRows = null;
+        rowCount = totalRows;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Prikazuje fiksnu listu studenata (npr. rezultat pretrage) bez straničenja.
+     *
+     * @param students Studenti za prikaz.
+     */
+    public void showRows(List<Student> students) {
+        clearPages();
+        fixedRows = new ArrayList<>(students);
+        rowCount = fixedRows.size();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Vraća studenta u datom redu ako je njegova stranica već učitana.
+     *
+     * @param row Indeks reda u modelu.
+     * @return {@link Optional} sa studentom ili prazan ako red još nije učitan.
+     */
+    public Optional<Student> getStudentAt(int row) {
+        if (row < 0 || row >= rowCount) return Optional.empty();
+        if (fixedRows != null) return Optional.of(fixedRows.get(row));
+
+        int page = row / PAGE_SIZE;
+        return pages.get(page)
+                .filter(rows -> row % PAGE_SIZE < rows.size())
+                .map(rows -> rows.get(row % PAGE_SIZE));
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (fixedRows == null) {
+            ensureLoaded(row);
+        }
+        return getStudentAt(row).map(s -> columnValue(s, column)).orElse(LOADING);
+    }
+
+    private Object columnValue(Student s, int column) {
+        switch (column) {
+            case 0: return s.getIndexNumber();
+            case 1: return s.getFirstName();
+            case 2: return s.getLastName();
+            case 3: return s.getStudyProgram();
+            case 4: return s.getEnrollmentYear();
+            default: return "";
+        }
+    }
+
+    /**
+     * Osigurava da su stranica traženog reda i susjedne stranice u okviru margine učitane.
+     */
+    private void ensureLoaded(int row) {
+        int first = Math.max(0, row - PREFETCH_ROWS) / PAGE_SIZE;
+        int last = Math.min(rowCount - 1, row + PREFETCH_ROWS) / PAGE_SIZE;
+        requestPage(row / PAGE_SIZE);
+        for (int page = first; page <= last; page++) {
+            requestPage(page);
+        }
+    }
+
+    private void requestPage(int page) {
+        if (pending.contains(page) || pages.get(page).isPresent()) return;
+        pending.add(page);
+
+        final int requestGeneration = generation;
+        final String anchor = pageAnchors.get(page);
+        AsyncLoader.submitDetached(
+                () -> (page == 0 || anchor != null)
+                        ? studentService.getStudentsPage(anchor, PAGE_SIZE)
+                        : studentService.getStudentsAt(page * PAGE_SIZE, PAGE_SIZE),
+                rows -> onPageLoaded(requestGeneration, page, rows),
+                error -> {
+                    if (requestGeneration != generation) return;
+                    pending.remove(page);
+                    System.err.println("GREŠKA pri učitavanju stranice studenata " + page + ": " + error.getMessage());
+                });
+    }
+
+    private void onPageLoaded(int requestGeneration, int page, List<Student> rows) {
+        if (requestGeneration != generation) return;
+        if (studentService.getDataVersion() != dataVersion) {
+            reloadAfterDataChange();
+            return;
+        }
+        pending.remove(page);
+        pages.put(page, rows);
+        if (!rows.isEmpty()) {
+            pageAnchors.put(page + 1, rows.get(rows.size() - 1).getIndexNumber());
+        }
+
+        int firstRow = page * PAGE_SIZE;
+        int lastRow = Math.min(rowCount, firstRow + PAGE_SIZE) - 1;
+        if (firstRow <= lastRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Odbacuje stranice starije verzije i ponovo učitava broj redova. Vidljivi redovi se
+     * odmah ponovo traže, ali za novu verziju, pa se ne miješaju sa odbačenim stranicama.
+     */
+    private void reloadAfterDataChange() {
+        clearPages();
+        dataVersion = studentService.getDataVersion();
+        if (rowCount > 0) {
+            fireTableRowsUpdated(0, rowCount - 1);
+        }
+
+        final int requestGeneration = generation;
+        AsyncLoader.submitDetached(
+                studentService::countStudents,
+                count -> {
+                    if (requestGeneration != generation || count == rowCount) return;
+                    rowCount = count;
+                    fireTableDataChanged();
+                },
+                error -> System.err.println("GREŠKA pri učitavanju broja studenata: " + error.getMessage()));
+    }
+
+    private void clearPages() {
+        generation++;
+        pages.clear();
+        pending.clear();
+        pageAnchors.clear();
+    }
+}
@@ -1,36 +1,40 @@
 package StudentManagmentSystem.ui.gui.components;
 
 import StudentManagmentSystem.models.Student;
-import StudentManagmentSystem.services.EnrollmentService;
 import StudentManagmentSystem.services.StudentService;
-import StudentManagmentSystem.ui.gui.dashboard.MainDashboard;
+import StudentManagmentSystem.session.Session;
+import StudentManagmentSystem.ui.gui.dashboard.RefreshablePanel;
 import StudentManagmentSystem.ui.gui.dialogs.AddStudentDialog;
+import StudentManagmentSystem.ui.gui.util.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Glavni panel za upravljanje studentima.
  * Omogućava pregled, dodavanje, brisanje i pretragu studenata,
  * kao i brzi pristup akademskom kartonu studenta putem dvoklika.
  */
-public class StudentTablePanel extends JPanel {
+public class StudentTablePanel extends JPanel implements RefreshablePanel {
     private final StudentService studentService;
-    private final EnrollmentService enrollmentService;
+    private final Session session;
+    private final Consumer<String> onOpenReport;
     private JTable table;
-    private DefaultTableModel tableModel;
+    private StudentTableModel tableModel;
     private JTextField txtSearch;
     private Timer searchTimer;
+    private final AsyncLoader loader = new AsyncLoader(this);
+
+    private static final int SEARCH_DEBOUNCE_MS = 150;
+    private static final int SEARCH_LIMIT = 200;
 
     // Paleta boja usklađena sa modernim UI standardima
     private final Color COLOR_PRIMARY = new Color(37, 99, 235);
@@ -42,11 +46,13 @@ public class StudentTablePanel extends JPanel {
 
     /**
      * @param studentService Servis za bazične operacije nad studentima.
-     * @param enrollmentService Servis potreban za generisanje izvještaja pri navigaciji.
+     * @param session Sesija referenta koji dodaje studente.
+     * @param onOpenReport Akcija koja prikazuje karton studenta sa datim brojem indeksa.
      */
-    public StudentTablePanel(StudentService studentService, EnrollmentService enrollmentService) {
+    public StudentTablePanel(StudentService studentService, Session session, Consumer<String> onOpenReport) {
         this.studentService = studentService;
-        this.enrollmentService = enrollmentService;
+        this.session = session;
+        this.onOpenReport = onOpenReport;
 
         setLayout(new BorderLayout());
         setBackground(COLOR_BG);
@@ -56,8 +62,8 @@ public class StudentTablePanel extends JPanel {
         initTable();
         refreshData();
 
-        // Tajmer od 1000ms sprječava preopterećenje baze tokom kucanja
-        searchTimer = new Timer(1000, e -> handleSearch());
+        // Kratka pauza nakon kucanja objedinjuje brze pritiske tastera u jedan upit
+        searchTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> handleSearch());
         searchTimer.setRepeats(false);
     }
 
@@ -116,7 +122,7 @@ public class StudentTablePanel extends JPanel {
 
         btnAdd.addActionListener(e -> {
             Window parentWindow = SwingUtilities.getWindowAncestor(this);
-            AddStudentDialog dialog = new AddStudentDialog((Frame) parentWindow, studentService);
+            AddStudentDialog dialog = new AddStudentDialog((Frame) parentWindow, studentService, session);
             dialog.setVisible(true);
             if (dialog.isStudentAdded()) refreshData();
         });
@@ -137,10 +143,7 @@ public class StudentTablePanel extends JPanel {
      * Inicijalizuje tabelu i postavlja MouseListener za navigaciju na izvještaj.
      */
     private void initTable() {
-        String[] columns = {"INDEKS", "IME", "PREZIME", "PROGRAM", "GODINA"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override public boolean isCellEditable(int row, int column) { return false; }
-        };
+        tableModel = new StudentTableModel(studentService);
 
         table = new JTable(tableModel);
         table.setRowHeight(50);
@@ -154,9 +157,13 @@ public class StudentTablePanel extends JPanel {
         header.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, COLOR_BORDER));
 
         // Dodavanje unutrašnjeg paddinga ćelijama (bolja čitljivost)
+        // Ime i prezime se pretvaraju u velika slova tek pri iscrtavanju, samo za vidljive ćelije
         DefaultTableCellRenderer renderer = new DefaultTableCellRenderer() {
             @Override
             public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+                if ((column == 1 || column == 2) && value instanceof String) {
+                    value = ((String) value).toUpperCase();
+                }
                 super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
                 setBorder(new EmptyBorder(0, 15, 0, 15));
                 return this;
@@ -171,9 +178,7 @@ public class StudentTablePanel extends JPanel {
                 if (evt.getClickCount() == 2) {
                     int row = table.getSelectedRow();
                     if (row != -1) {
-                        String studentIndex = table.getValueAt(row, 0).toString();
-                        StudentReportPanel reportPanel = new StudentReportPanel(enrollmentService, studentIndex);
-                        MainDashboard.getInstance().updateContent(reportPanel);
+                        tableModel.getStudentAt(row).ifPresent(s -> onOpenReport.accept(s.getIndexNumber()));
                     }
                 }
             }
@@ -186,15 +191,19 @@ public class StudentTablePanel extends JPanel {
 
     /**
      * Osvježava tabelu podacima iz student servisa.
+     * U pozadini se dobavlja samo broj studenata; sami redovi se učitavaju po stranicama
+     * tek kada postanu vidljivi (vidi {@link StudentTableModel}).
      */
     public void refreshData() {
-        tableModel.setRowCount(0);
-        studentService.getAllStudents().forEach(s -> {
-            tableModel.addRow(new Object[]{
-                    s.getIndexNumber(), s.getFirstName().toUpperCase(), s.getLastName().toUpperCase(),
-                    s.getStudyProgram(), s.getEnrollmentYear()
-            });
-        });
+        loader.submit(studentService::countStudents, tableModel::reset);
+    }
+
+    /**
+     * Ponovo učitava tabelu, zadržavajući unesenu pretragu.
+     */
+    @Override
+    public void refresh() {
+        handleSearch();
     }
 
     /**
@@ -206,7 +215,9 @@ public class StudentTablePanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Molimo odaberite studenta za brisanje.");
             return;
         }
-        String index = (String) tableModel.getValueAt(row, 0);
+        Student selected = tableModel.getStudentAt(row).orElse(null);
+        if (selected == null) return;
+        String index = selected.getIndexNumber();
         if (JOptionPane.showConfirmDialog(this, "Da li ste sigurni da želite obrisati studenta " + index + "?",
                 "Potvrda brisanja", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
             studentService.getStudentByIndex(index).ifPresent(s -> {
@@ -227,20 +238,13 @@ public class StudentTablePanel extends JPanel {
         return btn;
     }
 
+    /**
+     * Pretražuje studente u bazi; novi unos poništava pretragu koja je još u toku.
+     */
     private void handleSearch() {
-        String query = txtSearch.getText().trim().toLowerCase();
-        if (query.isEmpty() || query.equals("pretraži...")) { refreshData(); return; }
-
-        List<Student> filtered = studentService.getAllStudents().stream()
-                .filter(s -> s.getIndexNumber().toLowerCase().contains(query) ||
-                        s.getFirstName().toLowerCase().contains(query) ||
-                        s.getLastName().toLowerCase().contains(query))
-                .collect(Collectors.toList());
-
-        tableModel.setRowCount(0);
-        filtered.forEach(s -> tableModel.addRow(new Object[]{
-                s.getIndexNumber(), s.getFirstName().toUpperCase(), s.getLastName().toUpperCase(),
-                s.getStudyProgram(), s.getEnrollmentYear()
-        }));
+        String query = txtSearch.getText().trim();
+        if (query.isEmpty() || query.equals("Pretraži...")) { refreshData(); return; }
+
+        loader.submit(() -> studentService.searchStudents(query, SEARCH_LIMIT), tableModel::showRows);
     }
 }
\ No newline at end of file
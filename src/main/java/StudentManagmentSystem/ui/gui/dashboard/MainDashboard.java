@@ -1,23 +1,34 @@
 package StudentManagmentSystem.ui.gui.dashboard;
 
+import StudentManagmentSystem.events.EventBus;
 import StudentManagmentSystem.services.*;
+import StudentManagmentSystem.session.Session;
 import StudentManagmentSystem.ui.gui.components.*;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.function.LongSupplier;
 
 /**
  * Glavni radni prozor aplikacije (Dashboard).
  * Redizajniran: Flat UI, veći fontovi i bolji raspored.
  */
 public class MainDashboard extends JFrame {
-    private static MainDashboard instance; // Singleton referenca
+    // Ključevi panela u registru
+    private static final String STATS = "statistika";
+    private static final String STUDENTS = "studenti";
+    private static final String COURSES = "predmeti";
+    private static final String ENROLLMENTS = "upisi";
+
     private final StudentService studentService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
     private final ReferentService referentService;
+    private final StatisticsService statisticsService;
+    private final EventBus eventBus;
+    private final Session session; // null u studentskom pogledu
 
     // --- MODERNA PALETA BOJA ---
     private final Color sidebarColor = new Color(33, 47, 61);   // Tamna teget (Pozadina menija)
@@ -27,26 +38,29 @@ public class MainDashboard extends JFrame {
     private final Color textColor = new Color(236, 240, 241);   // Bijela/Sivkasta za tekst
 
     private JPanel pnlContent; // Centralni panel koji se mijenja
+    private PanelRegistry panels; // Paneli koji ostaju u životu između navigacija
     private JPanel pnlSidebar; // Bočni meni
     private JLabel lblSectionTitle; // Naslov trenutne sekcije
 
     /**
      * Konstruktor dashboarda.
+     * Bez sesije (student) se prikazuje samo ograničeni pogled na karton, bez navigacije.
+     *
+     * @param session Sesija prijavljenog referenta, ili {@code null} za studentski pogled.
      */
-    public MainDashboard(StudentService ss, CourseService cs, EnrollmentService es, ReferentService rs) {
-        instance = this;
+    public MainDashboard(StudentService ss, CourseService cs, EnrollmentService es, ReferentService rs, StatisticsService sts,
+                         EventBus eventBus, Session session) {
         this.studentService = ss;
         this.courseService = cs;
         this.enrollmentService = es;
         this.referentService = rs;
+        this.statisticsService = sts;
+        this.eventBus = eventBus;
+        this.session = session;
 
         initUI();
     }
 
-    public static MainDashboard getInstance() {
-        return instance;
-    }
-
     private void initUI() {
         setTitle("Sistem Studentska Služba v2.0 - Kontrolni Panel");
         setSize(1350, 850);
@@ -66,8 +80,8 @@ public class MainDashboard extends JFrame {
         pnlProfile.setOpaque(false);
         pnlProfile.setBorder(new EmptyBorder(40, 10, 40, 10));
 
-        String ime = (ReferentService.getCurrentUser() != null)
-                ? ReferentService.getCurrentUser().getFirstName()
+        String ime = (session != null)
+                ? session.getReferentFirstName()
                 : "Gost";
 
         // Koristimo HTML za formatiranje teksta u labeli
@@ -77,26 +91,28 @@ public class MainDashboard extends JFrame {
         pnlSidebar.add(pnlProfile);
 
         // 2. NAVIGACIONI DUGMIĆI (Sa razmacima)
-        pnlSidebar.add(createMenuButton("📊  STATISTIKA", e -> showStatPanel()));
+        pnlSidebar.add(createMenuButton("📊  STATISTIKA", e -> showStatPanel(), () -> panels.prefetch(STATS)));
         pnlSidebar.add(Box.createVerticalStrut(10)); // Razmak
 
-        pnlSidebar.add(createMenuButton("👤  STUDENTI", e -> showStudentPanel()));
+        pnlSidebar.add(createMenuButton("👤  STUDENTI", e -> showStudentPanel(), () -> panels.prefetch(STUDENTS)));
         pnlSidebar.add(Box.createVerticalStrut(10)); // Razmak
 
-        pnlSidebar.add(createMenuButton("📚  PREDMETI", e -> showCoursePanel()));
+        pnlSidebar.add(createMenuButton("📚  PREDMETI", e -> showCoursePanel(), () -> panels.prefetch(COURSES)));
         pnlSidebar.add(Box.createVerticalStrut(10)); // Razmak
 
-        pnlSidebar.add(createMenuButton("📝  UPISI I OCJENE", e -> showEnrollmentPanel()));
+        pnlSidebar.add(createMenuButton("📝  UPISI I OCJENE", e -> showEnrollmentPanel(), () -> panels.prefetch(ENROLLMENTS)));
 
         pnlSidebar.add(Box.createVerticalGlue()); // Gura dugme za odjavu na dno
 
         // 3. ODJAVA
-        pnlSidebar.add(createMenuButton("🚪  ODJAVI SE", e -> handleLogout()));
+        pnlSidebar.add(createMenuButton("🚪  ODJAVI SE", e -> handleLogout(), null));
         pnlSidebar.add(Box.createVerticalStrut(20)); // Malo prostora od dna
 
         // --- CENTRALNI RADNI PANEL ---
-        pnlContent = new JPanel(new BorderLayout());
+        pnlContent = new JPanel();
         pnlContent.setBackground(contentBg);
+        panels = new PanelRegistry(pnlContent);
+        registerPanels();
 
         // Top bar (Naslovna traka)
         JPanel pnlTopBar = new JPanel(new BorderLayout());
@@ -119,13 +135,32 @@ public class MainDashboard extends JFrame {
         add(mainPanel);
 
         // Logika prikaza zavisno od role
-        if (ReferentService.getCurrentUser() == null) {
+        if (session == null) {
             setupStudentView();
         } else {
             showStatPanel();
+            // Studenti su najčešći sljedeći korak, pa se njihov panel priprema odmah
+            SwingUtilities.invokeLater(() -> panels.prefetch(STUDENTS));
         }
     }
 
+    /**
+     * Registruje glavne panele zajedno sa verzijama podataka koje prikazuju.
+     * Statistika zavisi od studenata, predmeta i upisa, pa prati zbir sve tri verzije.
+     * Panel upisa prima izmjene kao događaje sa magistrale, pa mu osvježavanje iz registra nije potrebno.
+     */
+    private void registerPanels() {
+        LongSupplier allData = () -> studentService.getDataVersion()
+                + courseService.getDataVersion() + enrollmentService.getDataVersion();
+
+        panels.register(STATS, () -> new StatPanel(statisticsService), allData);
+        panels.register(STUDENTS, () -> new StudentTablePanel(studentService, session, this::showStudentReport),
+                studentService::getDataVersion);
+        panels.register(COURSES, () -> new CourseTablePanel(courseService, session), courseService::getDataVersion);
+        panels.register(ENROLLMENTS, () -> new EnrollmentPanel(studentService, courseService, enrollmentService, eventBus, session),
+                () -> 0L);
+    }
+
     private void setupStudentView() {
         pnlSidebar.setVisible(false);
         lblSectionTitle.setText("  Moj Studentski Dosije");
@@ -133,8 +168,9 @@ public class MainDashboard extends JFrame {
 
     /**
      * Kreira moderno Flat dugme za meni.
+     * Akcija {@code onHover} (može biti {@code null}) se izvršava kada miš pređe preko dugmeta.
      */
-    private JButton createMenuButton(String text, java.awt.event.ActionListener action) {
+    private JButton createMenuButton(String text, java.awt.event.ActionListener action, Runnable onHover) {
         JButton btn = new JButton(text);
 
         // Dimenzije i Font
@@ -165,6 +201,7 @@ public class MainDashboard extends JFrame {
                         BorderFactory.createMatteBorder(0, 5, 0, 0, activeColor),
                         new EmptyBorder(0, 25, 0, 0) // Smanjujemo padding za širinu bordera
                 ));
+                if (onHover != null) onHover.run();
             }
 
             @Override
@@ -184,29 +221,40 @@ public class MainDashboard extends JFrame {
 
     public void showStatPanel() {
         lblSectionTitle.setText("  Pregled Statistike");
-        updateContent(new StatPanel(studentService, courseService, enrollmentService));
+        panels.show(STATS);
     }
 
     public void showStudentPanel() {
         lblSectionTitle.setText("  Upravljanje Studentima");
-        updateContent(new StudentTablePanel(studentService, enrollmentService));
+        panels.show(STUDENTS);
     }
 
     private void showCoursePanel() {
         lblSectionTitle.setText("  Upravljanje Predmetima");
-        updateContent(new CourseTablePanel(courseService));
+        panels.show(COURSES);
     }
 
     private void showEnrollmentPanel() {
         lblSectionTitle.setText("  Upis Ocjena");
-        updateContent(new EnrollmentPanel(studentService, courseService, enrollmentService));
+        panels.show(ENROLLMENTS);
     }
 
+    /**
+     * Prikazuje karton studenta. Referent se dugmetom vraća na listu studenata,
+     * dok student (bez sesije) nema navigaciju nazad.
+     *
+     * @param indexNumber Broj indeksa studenta.
+     */
+    public void showStudentReport(String indexNumber) {
+        Runnable onBack = (session != null) ? this::showStudentPanel : null;
+        updateContent(new StudentReportPanel(enrollmentService, indexNumber, onBack));
+    }
+
+    /**
+     * Prikazuje jednokratni sadržaj (npr. karton studenta) koji se ne čuva između navigacija.
+     */
     public void updateContent(Component c) {
-        pnlContent.removeAll();
-        pnlContent.add(c, BorderLayout.CENTER);
-        pnlContent.revalidate();
-        pnlContent.repaint();
+        panels.showTransient(c);
     }
 
     private void handleLogout() {
@@ -219,7 +267,7 @@ public class MainDashboard extends JFrame {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            referentService.logout();
+            referentService.logout(session);
             this.dispose();
 
         }
@@ -0,0 +1,124 @@
+package StudentManagmentSystem.ui.gui.dashboard;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Registar panela glavnog prozora. Svaki panel se kreira jednom, pri prvom prikazu ili
+ * unaprijed ({@link #prefetch(String)}), i zatim ostaje u {@link CardLayout}-u, pa prelazak
+ * između sekcija ne gradi panel iznova niti ponovo učitava podatke.
+ *
+ * Uz svaki panel se pamti verzija podataka (iz servisa) u trenutku posljednjeg učitavanja.
+ * Ako je verzija u međuvremenu promijenjena, panel se pri sljedećem prikazu osvježava.
+ * Servisi ({@code getDataVersion()}) povećavaju verziju tek nakon uspješno snimljene izmjene,
+ * pa odbijena ili neuspjela izmjena ne izaziva ponovno učitavanje; izmjene mimo servisa
+ * (npr. iz druge instance aplikacije) se ne vide u verziji.
+ * Sve metode se pozivaju sa EDT-a.
+ */
+final class PanelRegistry {
+
+    private static final String TRANSIENT_CARD = "__privremeni";
+
+    private final JPanel container;
+    private final CardLayout cards = new CardLayout();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private Component transientPanel;
+
+    /**
+     * @param container Panel u kojem se prikazuje sadržaj; registar mu postavlja {@link CardLayout}.
+     */
+    PanelRegistry(JPanel container) {
+        this.container = container;
+        container.setLayout(cards);
+    }
+
+    /**
+     * Registruje panel pod ključem. Panel se ne kreira odmah.
+     *
+     * @param key Ključ panela.
+     * @param factory Kreira panel; panel sam pokreće prvo učitavanje.
+     * @param dataVersion Trenutna verzija podataka koje panel prikazuje.
+     */
+    void register(String key, Supplier<? extends JComponent> factory, LongSupplier dataVersion) {
+        entries.put(key, new Entry(factory, dataVersion));
+    }
+
+    /**
+     * Prikazuje panel, kreirajući ga ili osvježavajući ako je potrebno.
+     *
+     * @param key Ključ registrovanog panela.
+     */
+    void show(String key) {
+        ensureCurrent(key);
+        cards.show(container, key);
+        discardTransient();
+    }
+
+    /**
+     * Priprema panel bez prikazivanja (npr. kada korisnik pređe mišem preko dugmeta),
+     * kako bi podaci već bili učitani kada se panel otvori.
+     *
+     * @param key Ključ registrovanog panela.
+     */
+    void prefetch(String key) {
+        ensureCurrent(key);
+    }
+
+    /**
+     * Prikazuje jednokratni panel (npr. karton studenta) koji se ne čuva u registru.
+     * Prethodni jednokratni panel se uklanja.
+     *
+     * @param panel Panel za prikaz.
+     */
+    void showTransient(Component panel) {
+        discardTransient();
+        transientPanel = panel;
+        container.add(panel, TRANSIENT_CARD);
+        cards.show(container, TRANSIENT_CARD);
+        container.revalidate();
+        container.repaint();
+    }
+
+    private void ensureCurrent(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            throw new IllegalArgumentException("Nepoznat panel: " + key);
+        }
+
+        // Verzija se čita prije učitavanja: izmjena tokom učitavanja izaziva još jedno osvježavanje
+        long version = entry.dataVersion.getAsLong();
+        if (entry.panel == null) {
+            entry.panel = entry.factory.get();
+            container.add(entry.panel, key);
+            entry.loadedVersion = version;
+        } else if (version != entry.loadedVersion) {
+            if (entry.panel instanceof RefreshablePanel) {
+                ((RefreshablePanel) entry.panel).refresh();
+            }
+            entry.loadedVersion = version;
+        }
+    }
+
+    private void discardTransient() {
+        if (transientPanel != null) {
+            container.remove(transientPanel);
+            transientPanel = null;
+        }
+    }
+
+    private static final class Entry {
+        private final Supplier<? extends JComponent> factory;
+        private final LongSupplier dataVersion;
+        private JComponent panel;
+        private long loadedVersion;
+
+        private Entry(Supplier<? extends JComponent> factory, LongSupplier dataVersion) {
+            this.factory = factory;
+            this.dataVersion = dataVersion;
+        }
+    }
+}
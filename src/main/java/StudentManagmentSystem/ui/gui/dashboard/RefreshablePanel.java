@@ -0,0 +1,15 @@
+package StudentManagmentSystem.ui.gui.dashboard;
+
+/**
+ * Panel koji {@link MainDashboard} drži u životu između navigacija.
+ * Umjesto ponovnog kreiranja pri svakom kliku, panel se osvježava samo kada se
+ * podaci na kojima zasniva prikaz promijene.
+ */
+public interface RefreshablePanel {
+
+    /**
+     * Ponovo učitava podatke panela, zadržavajući korisnički kontekst (npr. tekst pretrage).
+     * Poziva se sa EDT-a; samo učitavanje treba da teče u pozadini.
+     */
+    void refresh();
+}
@@ -1,33 +1,26 @@
 package StudentManagmentSystem.ui.gui.dashboard;
 
-import StudentManagmentSystem.models.Enrollment;
-import StudentManagmentSystem.services.StudentService;
-import StudentManagmentSystem.services.CourseService;
-import StudentManagmentSystem.services.EnrollmentService;
+import StudentManagmentSystem.models.SystemStatistics;
+import StudentManagmentSystem.services.StatisticsService;
+import StudentManagmentSystem.ui.gui.util.AsyncLoader;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel za prikaz globalne statistike sistema.
  * Vizuelno prikazuje broj studenata, broj predmeta i prosječnu ocjenu na nivou cijele institucije.
  */
-public class StatPanel extends JPanel {
-    private final StudentService studentService;
-    private final CourseService courseService;
-    private final EnrollmentService enrollmentService;
+public class StatPanel extends JPanel implements RefreshablePanel {
+    private final StatisticsService statisticsService;
+    private final AsyncLoader loader = new AsyncLoader(this);
 
     /**
      * Konstruktor panela.
-     * @param studentService Servis za podatke o studentima.
-     * @param courseService Servis za podatke o predmetima.
-     * @param enrollmentService Servis za podatke o upisima i ocjenama.
+     * @param statisticsService Servis koji agregatnim upitima računa brojke za prikaz.
      */
-    public StatPanel(StudentService studentService, CourseService courseService, EnrollmentService enrollmentService) {
-        this.studentService = studentService;
-        this.courseService = courseService;
-        this.enrollmentService = enrollmentService;
+    public StatPanel(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
 
         setLayout(new BorderLayout());
         setBackground(Color.WHITE);
@@ -56,47 +49,44 @@ public class StatPanel extends JPanel {
         JPanel cardsGrid = new JPanel(new GridLayout(1, 3, 25, 0));
         cardsGrid.setBackground(Color.WHITE);
 
-        // Prikupljanje podataka putem servisa
-        int totalStudents = studentService.getAllStudents().size();
-        int totalCourses = courseService.getAllCourses().size();
-
-        // Izračun prosječne ocjene svih položenih ispita
-        double averageGrade = calculateSystemAverage();
-        String avgDisplay = (averageGrade == 0) ? "0.00" : String.format("%.2f", averageGrade);
-
-        // Dodavanje kartica sa specifičnim akcentnim bojama (Plava, Zelena, Ljubičasta)
-        cardsGrid.add(createStatCard("UKUPNO STUDENATA", String.valueOf(totalStudents), new Color(37, 99, 235)));
-        cardsGrid.add(createStatCard("AKTIVNIH PREDMETA", String.valueOf(totalCourses), new Color(22, 163, 74)));
-        cardsGrid.add(createStatCard("PROSJEČNA OCJENA", avgDisplay, new Color(147, 51, 234)));
+        // Kartice se prvo prikazuju sa privremenom vrijednošću, a brojke stižu iz pozadine
+        cardsGrid.add(createStatCard("UKUPNO STUDENATA", "…", new Color(37, 99, 235)));
+        cardsGrid.add(createStatCard("AKTIVNIH PREDMETA", "…", new Color(22, 163, 74)));
+        cardsGrid.add(createStatCard("PROSJEČNA OCJENA", "…", new Color(147, 51, 234)));
 
         add(header, BorderLayout.NORTH);
         add(cardsGrid, BorderLayout.CENTER);
 
         revalidate();
         repaint();
+
+        // Prikupljanje podataka putem servisa (COUNT/AVG u bazi, bez učitavanja tabela)
+        loader.submit(statisticsService::getSystemStatistics, stats -> renderCards(cardsGrid, stats));
     }
 
     /**
-     * Izračunava prosječnu ocjenu svih studenata u sistemu.
-     * Uzimaju se u obzir samo prolazne ocjene (6-10).
-     * @return Prosječna vrijednost ili 0.0 ako nema ocjena.
+     * Ponovo iscrtava kartice sa svježim brojkama.
      */
-    private double calculateSystemAverage() {
-        List<Enrollment> allEnrollments = enrollmentService.getAllEnrollments();
-        if (allEnrollments == null || allEnrollments.isEmpty()) return 0.0;
-
-        double sum = 0;
-        int count = 0;
-
-        for (Enrollment e : allEnrollments) {
-            // Logika: Računaj samo ako je student položio ispit
-            if (e.getGrade() != null && e.getGrade() >= 6) {
-                sum += e.getGrade();
-                count++;
-            }
-        }
-
-        return (count > 0) ? sum / count : 0.0;
+    @Override
+    public void refresh() {
+        initUI();
+    }
+
+    /**
+     * Popunjava kartice stvarnim vrijednostima kada statistika stigne.
+     */
+    private void renderCards(JPanel cardsGrid, SystemStatistics stats) {
+        // Prosječna ocjena svih položenih ispita
+        double averageGrade = stats.getAverageGrade();
+        String avgDisplay = (averageGrade == 0) ? "0.00" : String.format("%.2f", averageGrade);
+
+        cardsGrid.removeAll();
+        // Dodavanje kartica sa specifičnim akcentnim bojama (Plava, Zelena, Ljubičasta)
+        cardsGrid.add(createStatCard("UKUPNO STUDENATA", String.valueOf(stats.getStudentCount()), new Color(37, 99, 235)));
+        cardsGrid.add(createStatCard("AKTIVNIH PREDMETA", String.valueOf(stats.getCourseCount()), new Color(22, 163, 74)));
+        cardsGrid.add(createStatCard("PROSJEČNA OCJENA", avgDisplay, new Color(147, 51, 234)));
+        cardsGrid.revalidate();
+        cardsGrid.repaint();
     }
 
     /**
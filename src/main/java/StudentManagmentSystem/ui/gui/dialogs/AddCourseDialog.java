@@ -2,17 +2,18 @@ package StudentManagmentSystem.ui.gui.dialogs;
 
 import StudentManagmentSystem.models.Course;
 import StudentManagmentSystem.services.CourseService;
-import StudentManagmentSystem.services.ReferentService;
+import StudentManagmentSystem.session.Session;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 
 /**
  * Modalni dijalog za unos novog akademskog predmeta.
- * Pruža validaciju numeričkih polja i automatsko povezivanje sa trenutnim referentom.
+ * Pruža validaciju numeričkih polja i povezivanje predmeta sa referentom iz sesije.
  */
 public class AddCourseDialog extends JDialog {
     private final CourseService courseService;
+    private final Session session;
     private boolean courseAdded = false; // Flag za javljanje uspjeha roditeljskom panelu
 
     private JTextField txtCode, txtName, txtEcts, txtSemester;
@@ -26,10 +27,12 @@ public class AddCourseDialog extends JDialog {
     /**
      * @param parent Roditeljski Frame (Dashboard) za pravilno centriranje.
      * @param courseService Servis za perzistenciju podataka.
+     * @param session Sesija referenta koji dodaje predmet.
      */
-    public AddCourseDialog(Frame parent, CourseService courseService) {
+    public AddCourseDialog(Frame parent, CourseService courseService, Session session) {
         super(parent, "Novi Predmet", true); // true postavlja dijalog kao modalni
         this.courseService = courseService;
+        this.session = session;
         initUI();
     }
 
@@ -141,9 +144,7 @@ public class AddCourseDialog extends JDialog {
                 throw new Exception("Šifra i naziv su obavezni!");
             }
 
-            String refId = (ReferentService.getCurrentUser() != null)
-                    ? ReferentService.getCurrentUser().getReferentId()
-                    : "SISTEM";
+            String refId = session.getReferentId();
 
             Course c = new Course(code, name, ects, semester, refId);
             courseService.addCourse(c);
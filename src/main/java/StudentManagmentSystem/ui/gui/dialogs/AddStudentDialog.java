@@ -2,7 +2,7 @@ package StudentManagmentSystem.ui.gui.dialogs;
 
 import StudentManagmentSystem.models.Student;
 import StudentManagmentSystem.services.StudentService;
-import StudentManagmentSystem.services.ReferentService;
+import StudentManagmentSystem.session.Session;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
@@ -13,6 +13,7 @@ import java.awt.*;
  */
 public class AddStudentDialog extends JDialog {
     private final StudentService studentService;
+    private final Session session;
     private boolean studentAdded = false;
 
     private JTextField txtIndex, txtPassword, txtFirstName, txtLastName, txtProgram, txtYear;
@@ -22,9 +23,15 @@ public class AddStudentDialog extends JDialog {
     private final Color COLOR_ACCENT = new Color(37, 99, 235);
     private final Color COLOR_BORDER = new Color(226, 232, 240);
 
-    public AddStudentDialog(Frame parent, StudentService studentService) {
+    /**
+     * @param parent Roditeljski Frame (Dashboard) za pravilno centriranje.
+     * @param studentService Servis za perzistenciju podataka.
+     * @param session Sesija referenta koji dodaje studenta.
+     */
+    public AddStudentDialog(Frame parent, StudentService studentService, Session session) {
         super(parent, "Novi Student", true); // Modalni prozor
         this.studentService = studentService;
+        this.session = session;
         initUI();
     }
 
@@ -133,9 +140,7 @@ public class AddStudentDialog extends JDialog {
             }
 
             int year = Integer.parseInt(yearStr);
-            String refId = (ReferentService.getCurrentUser() != null)
-                    ? ReferentService.getCurrentUser().getReferentId()
-                    : "SISTEM";
+            String refId = session.getReferentId();
 
             Student s = new Student(index, pass, name, surname, prog, year, refId);
 
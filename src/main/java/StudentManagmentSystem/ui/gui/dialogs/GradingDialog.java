@@ -2,6 +2,7 @@ package StudentManagmentSystem.ui.gui.dialogs;
 
 import StudentManagmentSystem.models.Enrollment;
 import StudentManagmentSystem.services.*;
+import StudentManagmentSystem.session.Session;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
@@ -13,6 +14,7 @@ import java.awt.*;
 public class GradingDialog extends JDialog {
     private final EnrollmentService enrollmentService;
     private final Enrollment enrollment;
+    private final Session session;
     private JComboBox<Integer> cbGrades;
     private JTextField txtReason;
     private boolean success = false;
@@ -21,11 +23,13 @@ public class GradingDialog extends JDialog {
      * @param parent Glavni Dashboard okvir.
      * @param es Servis za upravljanje ocjenama.
      * @param enr Objekat upisa koji se trenutno ocjenjuje.
+     * @param session Sesija referenta koji unosi ocjenu.
      */
-    public GradingDialog(Frame parent, EnrollmentService es, Enrollment enr) {
+    public GradingDialog(Frame parent, EnrollmentService es, Enrollment enr, Session session) {
         super(parent, "Ocjenjivanje", true);
         this.enrollmentService = es;
         this.enrollment = enr;
+        this.session = session;
 
         setSize(400, 450);
         setLocationRelativeTo(parent);
@@ -99,8 +103,8 @@ public class GradingDialog extends JDialog {
      */
     private void save() {
         try {
-            // Dohvatanje trenutnog referenta iz sesije
-            String ref = ReferentService.getCurrentUser().getReferentId();
+            // Referent iz sesije dijaloga
+            String ref = session.getReferentId();
 
             enrollmentService.enterOrUpdateGrade(
                     enrollment.getStudentIndexNumber(),
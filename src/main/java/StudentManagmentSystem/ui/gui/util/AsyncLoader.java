@@ -0,0 +1,166 @@
+package StudentManagmentSystem.ui.gui.util;
+
+import StudentManagmentSystem.concurrent.TaskExecutors;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Pokreće pozive servisa (i time SQL upite) van Event Dispatch Thread-a, a rezultat
+ * vraća na EDT. Dok traje učitavanje, korisnički interfejs ostaje responzivan.
+ *
+ * Svaki panel koristi svoju instancu vezanu za komponentu:
+ * - novo učitavanje poništava prethodno koje još nije završeno (važi samo posljednji rezultat),
+ * - kada se komponenta sakrije (npr. prelazak na drugi meni, dok panel ostaje u registru
+ *   glavnog prozora), učitavanje se prekida i ponavlja tek kada se komponenta ponovo prikaže,
+ * - kada se komponenta ukloni iz prozora, učitavanje se prekida,
+ * - dok učitavanje traje, nad komponentom se prikazuje kursor čekanja.
+ *
+ * Zadaci se izvršavaju na virtuelnim nitima kada ih JVM podržava (Java 21+),
+ * a u suprotnom na dijeljenom pool-u daemon niti.
+ */
+public class AsyncLoader {
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private final JComponent owner;
+    private Future<?> current;
+    private int generation = 0;
+    /** Posljednje pokrenuto učitavanje, za ponavljanje nakon prekida skrivanjem. */
+    private Runnable lastSubmission;
+    /** Učitavanje prekinuto skrivanjem komponente; ponavlja se pri sljedećem prikazu. */
+    private Runnable interrupted;
+
+    /**
+     * Kreira loader vezan za komponentu i registruje prekid učitavanja pri njenom skrivanju
+     * ili uklanjanju.
+     *
+     * Paneli glavnog prozora ostaju u {@link CardLayout}-u i pri navigaciji se samo sakrivaju,
+     * pa se prati i {@code SHOWING_CHANGED}, a ne samo uklanjanje iz prozora.
+     *
+     * @param owner Komponenta (panel) čiji se podaci učitavaju.
+     */
+    public AsyncLoader(JComponent owner) {
+        this.owner = owner;
+        owner.addHierarchyListener(e -> {
+            long flags = e.getChangeFlags();
+            if ((flags & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !owner.isDisplayable()) {
+                cancel();
+                interrupted = null;
+            } else if ((flags & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                if (!owner.isShowing()) {
+                    if (current != null) {
+                        Runnable pending = lastSubmission;
+                        cancel();
+                        interrupted = pending;
+                    }
+                } else if (interrupted != null) {
+                    Runnable resume = interrupted;
+                    interrupted = null;
+                    resume.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Pokreće zadatak u pozadini. Greške se prikazuju u dijalogu.
+     * Mora se pozivati sa EDT-a.
+     *
+     * @param task Poziv servisa koji dobavlja podatke.
+     * @param onSuccess Akcija koja se na EDT-u izvršava sa rezultatom.
+     * @param <T> Tip rezultata.
+     */
+    public <T> void submit(Callable<T> task, Consumer<T> onSuccess) {
+        submit(task, onSuccess, error -> JOptionPane.showMessageDialog(owner,
+                "Greška pri učitavanju podataka: " + error.getMessage(), "Greška", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Pokreće zadatak u pozadini. Mora se pozivati sa EDT-a.
+     *
+     * @param task Poziv servisa koji dobavlja podatke.
+     * @param onSuccess Akcija koja se na EDT-u izvršava sa rezultatom.
+     * @param onError Akcija koja se na EDT-u izvršava ako zadatak baci izuzetak.
+     * @param <T> Tip rezultata.
+     */
+    public <T> void submit(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        cancel();
+        lastSubmission = () -> submit(task, onSuccess, onError);
+        interrupted = null;
+        final int myGeneration = ++generation;
+        owner.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        current = EXECUTOR.submit(() -> {
+            T result;
+            try {
+                result = task.call();
+            } catch (Throwable error) {
+                publish(myGeneration, () -> onError.accept(error));
+                return;
+            }
+            publish(myGeneration, () -> onSuccess.accept(result));
+        });
+    }
+
+    /**
+     * Pokreće samostalan zadatak u pozadini, bez vezivanja za komponentu i bez poništavanja
+     * drugih zadataka. Koristi se kada više učitavanja treba da teče istovremeno
+     * (npr. stranice tabele); zastarjele rezultate tada odbacuje sam pozivalac.
+     *
+     * @param task Poziv servisa koji dobavlja podatke.
+     * @param onSuccess Akcija koja se na EDT-u izvršava sa rezultatom.
+     * @param onError Akcija koja se na EDT-u izvršava ako zadatak baci izuzetak.
+     * @param <T> Tip rezultata.
+     */
+    public static <T> void submitDetached(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        EXECUTOR.submit(() -> {
+            T result;
+            try {
+                result = task.call();
+            } catch (Throwable error) {
+                SwingUtilities.invokeLater(() -> onError.accept(error));
+                return;
+            }
+            SwingUtilities.invokeLater(() -> onSuccess.accept(result));
+        });
+    }
+
+    /**
+     * Prekida učitavanje koje je u toku; njegov rezultat se odbacuje.
+     */
+    public void cancel() {
+        generation++;
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+        owner.setCursor(null);
+    }
+
+    /**
+     * Vraća rezultat na EDT samo ako u međuvremenu nije pokrenuto novo učitavanje ili prekid.
+     */
+    private void publish(int taskGeneration, Runnable action) {
+        SwingUtilities.invokeLater(() -> {
+            if (taskGeneration != generation) return;
+            current = null;
+            owner.setCursor(null);
+            action.run();
+        });
+    }
+
+    /**
+     * Virtuelne niti ako ih JVM podržava, a inače pool daemon niti koje ne sprečavaju gašenje aplikacije.
+     */
+    private static ExecutorService createExecutor() {
+        return TaskExecutors.virtualThreadsOr(
+                () -> Executors.newCachedThreadPool(TaskExecutors.namedThreads("sms-ui-loader", true)));
+    }
+}
@@ -0,0 +1,105 @@
+package StudentManagmentSystem.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testovi za {@link Json}: čitanje ravnih objekata, odbijanje neispravnog teksta i upis vrijednosti.
+ */
+class JsonTest {
+
+    @Test
+    void parsesFlatObjectWithAllSupportedValueTypes() {
+        Map<String, Object> parsed = Json.parseObject(
+                " { \"ime\" : \"Ana\", \"godina\": 2024, \"prosjek\": -8.5e0, \"aktivan\": true," +
+                        " \"obrisan\": false, \"napomena\": null } ");
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("ime", "Ana");
+        expected.put("godina", 2024L);
+        expected.put("prosjek", -8.5);
+        expected.put("aktivan", true);
+        expected.put("obrisan", false);
+        expected.put("napomena", null);
+        assertEquals(expected, parsed);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(parsed.keySet()));
+    }
+
+    @Test
+    void parsesEmptyObject() {
+        assertEquals(Map.of(), Json.parseObject("{}"));
+        assertEquals(Map.of(), Json.parseObject("  { }  "));
+    }
+
+    @Test
+    void decodesStringEscapes() {
+        Map<String, Object> parsed = Json.parseObject(
+                "{\"s\": \"navodnik \\\" kosa \\\\ \\/ \\n\\t\\r\\b\\f \\u0161\\u0110\"}");
+
+        assertEquals("navodnik \" kosa \\ / \n\t\r\b\f šĐ", parsed.get("s"));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        for (String text : List.of(
+                "",
+                "[]",
+                "{",
+                "{\"a\" 1}",
+                "{\"a\": 1,}",
+                "{\"a\": 1} x",
+                "{a: 1}",
+                "{\"a\": \"bez kraja}",
+                "{\"a\": {\"b\": 1}}",
+                "{\"a\": [1]}",
+                "{\"a\": 1.2.3}",
+                "{\"a\": \"\\x\"}",
+                "{\"a\": \"\\u12\"}",
+                "{\"a\": \"\\uzzzz\"}",
+                "{\"a\": \"\\u+041\"}",
+                "{\"a\": nul}")) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parseObject(text), text);
+        }
+    }
+
+    @Test
+    void writesNestedValues() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("ime", "Ana");
+        value.put("ocjene", Arrays.asList(6, 10, null));
+        value.put("prosjek", 8.0);
+        value.put("aktivan", true);
+        value.put("predmet", Map.of("sifra", "P1"));
+
+        assertEquals("{\"ime\":\"Ana\",\"ocjene\":[6,10,null],\"prosjek\":8.0,\"aktivan\":true," +
+                "\"predmet\":{\"sifra\":\"P1\"}}", Json.write(value));
+    }
+
+    @Test
+    void escapesControlCharactersAndQuotes() {
+        assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", Json.write("a\"b\\c\nd\u0001"));
+    }
+
+    @Test
+    void writesNonFiniteNumbersAsNull() {
+        assertEquals("[null,null,1.5]", Json.write(List.of(Double.NaN, Float.POSITIVE_INFINITY, 1.5)));
+    }
+
+    @Test
+    void writtenFlatObjectParsesBack() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("tekst", "Hodžić \"Haris\"\n\t\u0002");
+        value.put("broj", 42L);
+        value.put("decimalni", 7.25);
+        value.put("prazno", null);
+
+        assertEquals(value, Json.parseObject(Json.write(value)));
+    }
+}
@@ -0,0 +1,197 @@
+package StudentManagmentSystem.api;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lokalni test opterećenja za API server: više radnika istovremeno, preko keep-alive
+ * konekcija, naizmjenično traži karton studenta ({@code /api/students/{index}/report})
+ * i pretragu ({@code /api/students?q=}, {@code /api/courses?q=}). Na kraju se ispisuju
+ * propusnost (zahtjeva u sekundi) i percentili trajanja.
+ *
+ * Alat za mjerenje, nije dio aplikacije, pa se nalazi među test izvorima; server se pokreće
+ * posebno ({@code ServerMain}).
+ *
+ * API zahtijeva prijavu, pa se test na početku prijavljuje kao referent ({@code POST /api/sessions})
+ * i dobijeni token šalje uz svaki zahtjev.
+ *
+ * Upotreba: {@code java -Dsms.api.user=ID -Dsms.api.password=LOZINKA StudentManagmentSystem.api.LoadTest
+ * [baseUrl] [radnika] [sekundi]}, npr. {@code http://127.0.0.1:8080 32 10}.
+ */
+public class LoadTest {
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\"token\":\"([^\"]+)\"");
+    private static final Pattern INDEX_PATTERN = Pattern.compile("\"indexNumber\":\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    /**
+     * Rezultat jednog pokretanja testa.
+     */
+    public static final class Result {
+        private final long requests;
+        private final long errors;
+        private final double seconds;
+        private final long[] latenciesMicros;
+
+        private Result(long requests, long errors, double seconds, long[] latenciesMicros) {
+            this.requests = requests;
+            this.errors = errors;
+            this.seconds = seconds;
+            this.latenciesMicros = latenciesMicros;
+        }
+
+        /** @return Ukupan broj zahtjeva. */
+        public long getRequests() { return requests; }
+
+        /** @return Broj zahtjeva koji nisu vratili status 200 ili su pali. */
+        public long getErrors() { return errors; }
+
+        /** @return Propusnost u zahtjevima po sekundi. */
+        public double getRequestsPerSecond() { return seconds == 0 ? 0 : requests / seconds; }
+
+        /**
+         * @param percentile Percentil između 0 i 1.
+         * @return Trajanje zahtjeva u milisekundama za dati percentil.
+         */
+        public double getLatencyMillis(double percentile) {
+            if (latenciesMicros.length == 0) return 0;
+            int i = (int) Math.min(latenciesMicros.length - 1, Math.ceil(latenciesMicros.length * percentile) - 1);
+            return latenciesMicros[Math.max(0, i)] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Zahtjeva: %d, grešaka: %d, %.0f req/s, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms",
+                    requests, errors, getRequestsPerSecond(),
+                    getLatencyMillis(0.50), getLatencyMillis(0.95), getLatencyMillis(0.99));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : System.getProperty("sms.api.url", "http://127.0.0.1:8080");
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        String referentId = System.getProperty("sms.api.user");
+        String password = System.getProperty("sms.api.password");
+        if (referentId == null || password == null) {
+            System.err.println("GREŠKA: potrebni su pristupni podaci referenta (-Dsms.api.user i -Dsms.api.password).");
+            return;
+        }
+
+        System.out.println("Test opterećenja: " + baseUrl + ", radnika: " + workers + ", trajanje: " + seconds + " s");
+        Result result = run(baseUrl, referentId, password, workers, Duration.ofSeconds(seconds));
+        System.out.println(result);
+    }
+
+    /**
+     * Pokreće test opterećenja.
+     *
+     * @param baseUrl Adresa servera (npr. "http://127.0.0.1:8080").
+     * @param referentId ID referenta za prijavu.
+     * @param password Lozinka referenta.
+     * @param workers Broj istovremenih radnika.
+     * @param duration Trajanje testa.
+     * @return Rezultat testa.
+     * @throws IllegalStateException Ako prijava ne uspije ili server ne vrati nijednog studenta za test.
+     */
+    public static Result run(String baseUrl, String referentId, String password, int workers, Duration duration)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String basic = Base64.getEncoder().encodeToString((referentId + ":" + password).getBytes(StandardCharsets.UTF_8));
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/sessions"))
+                        .header("Authorization", "Basic " + basic)
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher token = TOKEN_PATTERN.matcher(login.body());
+        if (login.statusCode() != 201 || !token.find()) {
+            throw new IllegalStateException("Prijava nije uspjela (status " + login.statusCode() + "): " + login.body());
+        }
+        String authorization = "Bearer " + token.group(1);
+
+        List<String> indexes = new ArrayList<>();
+        String seed = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/students?limit=100"))
+                        .header("Authorization", authorization).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher m = INDEX_PATTERN.matcher(seed);
+        while (m.find()) {
+            indexes.add(m.group(1));
+        }
+        if (indexes.isEmpty()) {
+            throw new IllegalStateException("Server nije vratio nijednog studenta; test nema nad čime raditi.");
+        }
+
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        // Svaki radnik bilježi trajanja u svoj niz; nizovi se čitaju tek nakon join()
+        List<long[][]> holders = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long started = System.nanoTime();
+
+        for (int w = 0; w < workers; w++) {
+            long[][] holder = new long[1][];
+            Thread t = new Thread(() -> {
+                long[] latencies = new long[4096];
+                int n = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String index = indexes.get(random.nextInt(indexes.size()));
+                    String path = switch (random.nextInt(3)) {
+                        case 0 -> "/api/students/" + URLEncoder.encode(index, StandardCharsets.UTF_8).replace("+", "%20") + "/report";
+                        case 1 -> "/api/students?limit=20&q=" + URLEncoder.encode(index.substring(0, Math.min(3, index.length())), StandardCharsets.UTF_8);
+                        default -> "/api/courses?limit=20&q=" + (char) ('a' + random.nextInt(26));
+                    };
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                        .header("Authorization", authorization).build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) errors.increment();
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    if (n == latencies.length) latencies = Arrays.copyOf(latencies, n * 2);
+                    latencies[n++] = (System.nanoTime() - t0) / 1_000;
+                    requests.increment();
+                }
+                holder[0] = Arrays.copyOf(latencies, n);
+            }, "sms-load-" + w);
+            threads.add(t);
+            holders.add(holder);
+            t.start();
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        int total = 0;
+        for (long[][] holder : holders) total += holder[0].length;
+        long[] all = new long[total];
+        int pos = 0;
+        for (long[][] holder : holders) {
+            System.arraycopy(holder[0], 0, all, pos, holder[0].length);
+            pos += holder[0].length;
+        }
+        Arrays.sort(all);
+        return new Result(requests.sum(), errors.sum(), elapsedSeconds, all);
+    }
+}
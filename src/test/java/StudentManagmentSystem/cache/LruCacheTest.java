@@ -0,0 +1,123 @@
+package StudentManagmentSystem.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testovi za {@link LruCache}: LRU izbacivanje, TTL, statistiku i uslovni upis nakon poništavanja.
+ */
+class LruCacheTest {
+
+    private static final long LONG_TTL = 60_000;
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        LruCache<String, Integer> cache = new LruCache<>(2, LONG_TTL);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(Optional.of(1), cache.get("a"));
+        assertEquals(Optional.empty(), cache.get("b"));
+        assertEquals(Optional.of(3), cache.get("c"));
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+    }
+
+    @Test
+    void expiredEntryIsAMiss() throws InterruptedException {
+        LruCache<String, Integer> cache = new LruCache<>(10, 1);
+        cache.put("a", 1);
+        Thread.sleep(5);
+
+        assertEquals(Optional.empty(), cache.get("a"));
+        LruCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getExpirations());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    void purgeExpiredRemovesOnlyExpiredEntries() throws InterruptedException {
+        LruCache<String, Integer> cache = new LruCache<>(10, 1);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        Thread.sleep(5);
+
+        assertEquals(2, cache.purgeExpired());
+        assertEquals(0, cache.getStats().getSize());
+        assertEquals(0, cache.purgeExpired());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        LruCache<String, Integer> cache = new LruCache<>(10, LONG_TTL);
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("a");
+        cache.get("x");
+
+        LruCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(2.0 / 3.0, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void rejectsPutOfValueReadBeforeInvalidation() {
+        LruCache<String, Integer> cache = new LruCache<>(10, LONG_TTL);
+        long stamp = cache.readStamp();
+        cache.invalidate("a");
+
+        assertFalse(cache.putIfNotInvalidatedSince("a", 1, stamp));
+        assertEquals(Optional.empty(), cache.get("a"));
+        assertTrue(cache.putIfNotInvalidatedSince("a", 2, cache.readStamp()));
+        assertEquals(Optional.of(2), cache.get("a"));
+    }
+
+    @Test
+    void invalidationOfOtherKeyDoesNotBlockPut() {
+        LruCache<String, Integer> cache = new LruCache<>(10, LONG_TTL);
+        long stamp = cache.readStamp();
+        cache.invalidate("b");
+
+        assertTrue(cache.putIfNotInvalidatedSince("a", 1, stamp));
+    }
+
+    @Test
+    void rejectsPutWhenInvalidationHistoryWasForgotten() {
+        LruCache<String, Integer> cache = new LruCache<>(2, LONG_TTL);
+        long stamp = cache.readStamp();
+        cache.invalidate("a");
+        cache.invalidate("b");
+        cache.invalidate("c");
+
+        // "a" je ispao iz istorije poništavanja, pa se ne zna da li je poništen nakon oznake
+        assertFalse(cache.putIfNotInvalidatedSince("a", 1, stamp));
+        assertFalse(cache.putIfNotInvalidatedSince("z", 1, stamp));
+    }
+
+    @Test
+    void clearRejectsPutsOfEarlierReads() {
+        LruCache<String, Integer> cache = new LruCache<>(10, LONG_TTL);
+        cache.put("a", 1);
+        long stamp = cache.readStamp();
+        cache.clear();
+
+        assertEquals(0, cache.getStats().getSize());
+        assertFalse(cache.putIfNotInvalidatedSince("a", 1, stamp));
+    }
+
+    @Test
+    void rejectsNonPositiveSizeOrTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, Integer>(0, LONG_TTL));
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, Integer>(1, 0));
+    }
+}
@@ -0,0 +1,225 @@
+package StudentManagmentSystem.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testovi za {@link EventBus}: redoslijed isporuke, spajanje događaja za isti zapis i
+ * ponašanje pri punom redu. Isporuka ide kroz ručni izvršilac, pa su testovi deterministični.
+ */
+class EventBusTest {
+
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private final Executor manual = tasks::add;
+
+    @Test
+    void deliversEventsInPublishOrder() {
+        try (EventBus bus = new EventBus(100)) {
+            Recorder recorder = new Recorder();
+            bus.subscribe(TestEvent.class, recorder, manual);
+
+            for (int i = 1; i <= 5; i++) {
+                bus.publish(new TestEvent(null, "e" + i));
+            }
+            assertTrue(recorder.received.isEmpty(), "isporuka ide tek kroz izvršilac");
+            runAll();
+
+            assertEquals(List.of("e1", "e2", "e3", "e4", "e5"), recorder.received);
+        }
+    }
+
+    @Test
+    void newerEventForSameKeyReplacesPendingOne() {
+        try (EventBus bus = new EventBus(100)) {
+            Recorder recorder = new Recorder();
+            EventBus.Subscription<TestEvent> subscription = bus.subscribe(TestEvent.class, recorder, manual);
+
+            bus.publish(new TestEvent("a", "a1"));
+            bus.publish(new TestEvent("a", "a2"));
+            runAll();
+
+            assertEquals(List.of("a2"), recorder.received);
+            assertEquals(1, subscription.getCoalescedCount());
+        }
+    }
+
+    @Test
+    void coalescedEventStaysBehindEventsPublishedBeforeIt() {
+        try (EventBus bus = new EventBus(100)) {
+            Recorder recorder = new Recorder();
+            bus.subscribe(TestEvent.class, recorder, manual);
+
+            bus.publish(new TestEvent("a", "a1"));
+            bus.publish(new TestEvent("b", "b1"));
+            bus.publish(new TestEvent("a", "a2"));
+            runAll();
+
+            assertEquals(List.of("b1", "a2"), recorder.received);
+        }
+    }
+
+    @Test
+    void overflowDropsQueueAndNotifiesSubscriberOnce() {
+        try (EventBus bus = new EventBus(3)) {
+            Recorder recorder = new Recorder();
+            EventBus.Subscription<TestEvent> subscription = bus.subscribe(TestEvent.class, recorder, manual);
+
+            for (int i = 1; i <= 5; i++) {
+                bus.publish(new TestEvent(null, "e" + i));
+            }
+            runAll();
+
+            assertEquals(List.of(), recorder.received);
+            assertEquals(1, recorder.dropNotifications);
+            assertEquals(5, subscription.getDroppedCount());
+
+            bus.publish(new TestEvent(null, "after"));
+            runAll();
+            assertEquals(List.of("after"), recorder.received);
+        }
+    }
+
+    @Test
+    void coalescingKeepsQueueWithinCapacity() {
+        try (EventBus bus = new EventBus(2)) {
+            Recorder recorder = new Recorder();
+            bus.subscribe(TestEvent.class, recorder, manual);
+
+            // Naizmjenični ključevi ostavljaju zamijenjena mjesta u redu; ona se ne broje u kapacitet
+            for (int i = 0; i < 100; i++) {
+                bus.publish(new TestEvent(i % 2 == 0 ? "a" : "b", "v" + i));
+            }
+            runAll();
+
+            assertEquals(0, recorder.dropNotifications);
+            assertEquals(List.of("v98", "v99"), recorder.received);
+        }
+    }
+
+    @Test
+    void deliversOnlyMatchingTypes() {
+        try (EventBus bus = new EventBus(100)) {
+            Recorder recorder = new Recorder();
+            bus.subscribe(TestEvent.class, recorder, manual);
+
+            bus.publish(new OtherEvent());
+            bus.publish(new TestEvent(null, "e1"));
+            runAll();
+
+            assertEquals(List.of("e1"), recorder.received);
+        }
+    }
+
+    @Test
+    void failingSubscriberDoesNotStopDelivery() {
+        try (EventBus bus = new EventBus(100)) {
+            List<String> received = new ArrayList<>();
+            bus.subscribe(TestEvent.class, event -> {
+                received.add(event.label);
+                if (event.label.equals("e1")) throw new IllegalStateException("test");
+            }, manual);
+
+            bus.publish(new TestEvent(null, "e1"));
+            bus.publish(new TestEvent(null, "e2"));
+            runAll();
+
+            assertEquals(List.of("e1", "e2"), received);
+        }
+    }
+
+    @Test
+    void largeBacklogIsDeliveredInSeveralBatches() {
+        try (EventBus bus = new EventBus(10_000)) {
+            Recorder recorder = new Recorder();
+            bus.subscribe(TestEvent.class, recorder, manual);
+
+            for (int i = 0; i < 1_000; i++) {
+                bus.publish(new TestEvent(null, "e" + i));
+            }
+            int runs = runAll();
+
+            assertEquals(1_000, recorder.received.size());
+            assertEquals("e999", recorder.received.get(999));
+            assertTrue(runs > 1, "isporuka treba ustupiti izvršilac između dijelova");
+        }
+    }
+
+    @Test
+    void closedSubscriptionReceivesNothing() {
+        try (EventBus bus = new EventBus(100)) {
+            Recorder recorder = new Recorder();
+            EventBus.Subscription<TestEvent> subscription = bus.subscribe(TestEvent.class, recorder, manual);
+
+            bus.publish(new TestEvent(null, "e1"));
+            subscription.close();
+            bus.publish(new TestEvent(null, "e2"));
+            runAll();
+
+            assertEquals(List.of(), recorder.received);
+        }
+    }
+
+    @Test
+    void subscribeAfterCloseFails() {
+        EventBus bus = new EventBus(100);
+        bus.close();
+
+        assertThrows(IllegalStateException.class, () -> bus.subscribe(TestEvent.class, new Recorder(), manual));
+    }
+
+    /**
+     * Izvršava zakazane isporuke dok ih ima.
+     *
+     * @return Broj izvršenih isporuka.
+     */
+    private int runAll() {
+        int runs = 0;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+            runs++;
+        }
+        return runs;
+    }
+
+    private static final class TestEvent extends DomainEvent {
+        private final String key;
+        private final String label;
+
+        private TestEvent(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        @Override
+        public Object coalesceKey() {
+            return key;
+        }
+    }
+
+    private static final class OtherEvent extends DomainEvent {
+    }
+
+    private static final class Recorder implements EventSubscriber<TestEvent> {
+        private final List<String> received = new ArrayList<>();
+        private int dropNotifications;
+
+        @Override
+        public void onEvent(TestEvent event) {
+            received.add(event.label);
+        }
+
+        @Override
+        public void onEventsDropped() {
+            dropNotifications++;
+        }
+    }
+}
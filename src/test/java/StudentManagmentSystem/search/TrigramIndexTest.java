@@ -0,0 +1,156 @@
+package StudentManagmentSystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testovi za {@link TrigramIndex}: poklapanja po podstringu i na početku riječi, presjek
+ * dugih i kratkih lista (galopirajuće spajanje) i obrisane zapise prije i nakon sažimanja.
+ */
+class TrigramIndexTest {
+
+    @Test
+    void findsSubstringIgnoringCaseAndDiacritics() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put("IB1", "IB1", "Haris", "Hodžić");
+        index.put("IB2", "IB2", "Ana", "Mehić");
+
+        assertEquals(List.of("IB1"), index.search("odzi", 10));
+        assertEquals(List.of("IB1"), index.search("HODZIC", 10));
+        assertEquals(List.of("IB2"), index.search("mehić", 10));
+        assertEquals(List.of(), index.search("xyz", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void wordStartMatchesComeFirst() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put("inside", "Kahana");
+        index.put("start", "Hana");
+
+        assertEquals(List.of("start", "inside"), index.search("han", 10));
+        assertEquals(List.of("start"), index.search("han", 1));
+    }
+
+    @Test
+    void shortQueryScansTexts() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put("a", "Edin");
+        index.put("b", "Medina");
+
+        assertEquals(List.of("a", "b"), index.search("ed", 10));
+        assertEquals(List.of("b"), index.search("me", 10));
+    }
+
+    @Test
+    void trigramsMustBeConsecutive() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        // Sadrži trigrame "abc" i "bcd", ali ne i "abcd"
+        index.put("k", "abcxbcd");
+
+        assertEquals(List.of(), index.search("abcd", 10));
+    }
+
+    @Test
+    void intersectionOfRareAndCommonTrigramsMatchesBruteForce() {
+        TrigramIndex<Integer> index = new TrigramIndex<>();
+        Map<Integer, String> texts = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            // Skoro svi tekstovi dijele "ana", a "zrk" je rijedak, pa se kratka lista spaja sa dugom
+            String text = "ana" + randomWord(random, 6) + (i % 997 == 0 ? " zrkana" : "");
+            texts.put(i, text);
+            index.put(i, text);
+        }
+
+        for (String query : List.of("zrkana", "rkan", "ana", "kan", "zrk")) {
+            List<Integer> expected = bruteForce(texts, query);
+            List<Integer> actual = index.search(query, Integer.MAX_VALUE);
+            assertEquals(sorted(expected), sorted(actual), query);
+        }
+    }
+
+    @Test
+    void removedAndReplacedEntriesAreNotReturned() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put("a", "Amra");
+        index.put("b", "Amela");
+        index.remove("a");
+        index.remove("missing");
+        index.put("b", "Lejla");
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.search("amr", 10));
+        assertEquals(List.of(), index.search("ame", 10));
+        assertEquals(List.of("b"), index.search("lejl", 10));
+    }
+
+    @Test
+    void searchStaysCorrectAcrossCompaction() {
+        TrigramIndex<Integer> index = new TrigramIndex<>();
+        Map<Integer, String> texts = new LinkedHashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 3_000; i++) {
+            String text = randomWord(random, 8);
+            texts.put(i, text);
+            index.put(i, text);
+        }
+        // Više obrisanih nego živih (i više od praga), pa se liste ponovo grade
+        for (int i = 0; i < 2_000; i++) {
+            index.remove(i);
+            texts.remove(i);
+        }
+        for (int i = 2_000; i < 2_100; i++) {
+            String text = randomWord(random, 8);
+            texts.put(i, text);
+            index.put(i, text);
+        }
+
+        assertEquals(texts.size(), index.size());
+        for (String text : new ArrayList<>(texts.values()).subList(0, 50)) {
+            String query = text.substring(2, 6);
+            assertEquals(sorted(bruteForce(texts, query)), sorted(index.search(query, Integer.MAX_VALUE)), query);
+        }
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put("a", "Amra");
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertTrue(index.search("amr", 10).isEmpty());
+    }
+
+    private static List<Integer> bruteForce(Map<Integer, String> texts, String query) {
+        List<Integer> result = new ArrayList<>();
+        String q = TextNormalizer.normalize(query);
+        texts.forEach((key, text) -> {
+            if (TextNormalizer.normalize(text).contains(q)) result.add(key);
+        });
+        return result;
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        List<Integer> copy = new ArrayList<>(values);
+        copy.sort(null);
+        return copy;
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+}
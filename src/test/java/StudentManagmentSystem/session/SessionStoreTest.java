@@ -0,0 +1,118 @@
+package StudentManagmentSystem.session;
+
+import StudentManagmentSystem.models.Referent;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testovi za {@link SessionStore}: pronalaženje, isticanje nakon neaktivnosti, odjava i čišćenje.
+ */
+class SessionStoreTest {
+
+    private static final Referent REFERENT = new Referent("ref1", "tajna", "Amra", "Hadžić");
+
+    @Test
+    void findsCreatedSessionByToken() {
+        SessionStore store = new SessionStore(60_000);
+        Session session = store.create(REFERENT);
+
+        assertSame(session, store.find(session.getToken()).orElseThrow());
+        assertEquals(Optional.empty(), store.find("nepostojeci"));
+        assertEquals(Optional.empty(), store.find(null));
+    }
+
+    @Test
+    void sessionKeepsOnlyReferentIdAndName() {
+        Referent referent = new Referent("ref2", "tajna", "Amra", "Hadžić");
+        Session session = new SessionStore(60_000).create(referent);
+        referent.setFirstName("Promijenjeno");
+
+        assertEquals("ref2", session.getReferentId());
+        assertEquals("Amra", session.getReferentFirstName());
+        assertEquals("Hadžić", session.getReferentLastName());
+    }
+
+    @Test
+    void tokensAreUnique() {
+        SessionStore store = new SessionStore(60_000);
+        Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            tokens.add(store.create(REFERENT).getToken());
+        }
+
+        assertEquals(1_000, tokens.size());
+    }
+
+    @Test
+    void sessionExpiresAfterIdleTimeout() throws InterruptedException {
+        SessionStore store = new SessionStore(50);
+        Session session = store.create(REFERENT);
+        Thread.sleep(120);
+
+        assertEquals(Optional.empty(), store.find(session.getToken()));
+        assertTrue(session.isInvalidated());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void accessExtendsSession() throws InterruptedException {
+        SessionStore store = new SessionStore(300);
+        Session session = store.create(REFERENT);
+
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(150);
+            assertTrue(store.find(session.getToken()).isPresent(), "pristup " + i);
+        }
+        assertFalse(session.isInvalidated());
+    }
+
+    @Test
+    void invalidatedSessionIsNotFound() {
+        SessionStore store = new SessionStore(60_000);
+        Session session = store.create(REFERENT);
+        store.invalidate(session);
+
+        assertTrue(session.isInvalidated());
+        assertEquals(Optional.empty(), store.find(session.getToken()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void invalidatingTransientSessionOnlyMarksIt() {
+        SessionStore store = new SessionStore(60_000);
+        Session session = Session.transientFor(REFERENT);
+        store.invalidate(session);
+        store.invalidate(null);
+
+        assertNull(session.getToken());
+        assertTrue(session.isInvalidated());
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredSessions() throws InterruptedException {
+        SessionStore store = new SessionStore(100);
+        store.create(REFERENT);
+        store.create(REFERENT);
+        Thread.sleep(200);
+        Session fresh = store.create(REFERENT);
+
+        assertEquals(2, store.purgeExpired());
+        assertEquals(1, store.size());
+        assertTrue(store.find(fresh.getToken()).isPresent());
+    }
+
+    @Test
+    void rejectsNonPositiveTimeout() {
+        assertThrows(IllegalArgumentException.class, () -> new SessionStore(0));
+    }
+}
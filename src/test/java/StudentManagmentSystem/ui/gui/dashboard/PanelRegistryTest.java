@@ -0,0 +1,137 @@
+package StudentManagmentSystem.ui.gui.dashboard;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testovi za {@link PanelRegistry}: panel se kreira jednom i osvježava samo kada se verzija
+ * podataka promijeni. Koriste se samo lake Swing komponente, pa testovi rade i bez ekrana.
+ */
+class PanelRegistryTest {
+
+    private final JPanel container = new JPanel();
+    private final PanelRegistry registry = new PanelRegistry(container);
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger created = new AtomicInteger();
+    private CountingPanel panel;
+
+    @Test
+    void createsPanelOnFirstShowOnly() {
+        register();
+        assertEquals(0, created.get());
+
+        registry.show("studenti");
+        registry.show("studenti");
+
+        assertEquals(1, created.get());
+        assertEquals(0, panel.refreshes);
+        assertSame(panel, container.getComponent(0));
+        assertTrue(panel.isVisible());
+    }
+
+    @Test
+    void refreshesOnlyAfterDataVersionChanges() {
+        register();
+        registry.show("studenti");
+
+        version.incrementAndGet();
+        registry.show("studenti");
+        registry.show("studenti");
+        assertEquals(1, panel.refreshes);
+
+        version.addAndGet(5);
+        registry.show("studenti");
+        assertEquals(2, panel.refreshes);
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void prefetchLoadsPanelWithoutShowingIt() {
+        register();
+        registry.register("prazno", JPanel::new, () -> 0);
+        registry.show("prazno");
+
+        registry.prefetch("studenti");
+        assertEquals(1, created.get());
+        assertFalse(panel.isVisible());
+
+        registry.show("studenti");
+        assertEquals(0, panel.refreshes);
+        assertTrue(panel.isVisible());
+    }
+
+    @Test
+    void changeDuringCreationTriggersRefreshOnNextShow() {
+        registry.register("studenti", () -> {
+            panel = new CountingPanel();
+            version.incrementAndGet();
+            return panel;
+        }, version::get);
+
+        registry.show("studenti");
+        registry.show("studenti");
+
+        assertEquals(1, panel.refreshes);
+    }
+
+    @Test
+    void panelWithoutRefreshIsKeptOnVersionChange() {
+        JPanel plain = new JPanel();
+        registry.register("plain", () -> plain, version::get);
+        registry.show("plain");
+
+        version.incrementAndGet();
+        registry.show("plain");
+
+        assertEquals(1, container.getComponentCount());
+    }
+
+    @Test
+    void transientPanelIsReplacedAndRemovedOnShow() {
+        register();
+        registry.show("studenti");
+
+        registry.showTransient(new JLabel("karton 1"));
+        JLabel second = new JLabel("karton 2");
+        registry.showTransient(second);
+        assertEquals(2, container.getComponentCount());
+        assertTrue(second.isVisible());
+
+        registry.show("studenti");
+        assertEquals(1, container.getComponentCount());
+        assertEquals(0, panel.refreshes);
+    }
+
+    @Test
+    void unknownKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> registry.show("nepostojeci"));
+        assertThrows(IllegalArgumentException.class, () -> registry.prefetch("nepostojeci"));
+    }
+
+    private void register() {
+        registry.register("studenti", () -> {
+            created.incrementAndGet();
+            panel = new CountingPanel();
+            return panel;
+        }, version::get);
+    }
+
+    private static final class CountingPanel extends JPanel implements RefreshablePanel {
+        private int refreshes;
+
+        @Override
+        public void refresh() {
+            refreshes++;
+        }
+    }
+}